@@ -0,0 +1,142 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.DefaultDeploymentConfiguration;
+import com.vaadin.flow.server.DependencyFilter;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinServlet;
+import com.vaadin.flow.server.VaadinServletService;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Creates the service, session and UI instances used by the benchmarks
+ * without a servlet container.
+ * <p>
+ * The created session is locked by the calling thread, so benchmarks using
+ * it must run in a single thread.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+public final class BenchmarkEnvironment {
+
+    private static class BenchmarkService extends VaadinServletService {
+
+        private BenchmarkService(DeploymentConfiguration configuration) {
+            super(new VaadinServlet(), configuration);
+        }
+
+        @Override
+        public Iterable<DependencyFilter> getDependencyFilters() {
+            return Collections.emptyList();
+        }
+    }
+
+    private static class BenchmarkSession extends VaadinSession {
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private BenchmarkSession(VaadinService service) {
+            super(service);
+        }
+
+        @Override
+        public Lock getLockInstance() {
+            return lock;
+        }
+    }
+
+    private BenchmarkEnvironment() {
+        // Only static helpers
+    }
+
+    /**
+     * Creates a UI in a new production mode session which is locked by the
+     * current thread.
+     *
+     * @return the new UI
+     */
+    public static UI createUI() {
+        Properties initParameters = new Properties();
+        initParameters.setProperty("productionMode", "true");
+        DeploymentConfiguration configuration = new DefaultDeploymentConfiguration(
+                BenchmarkEnvironment.class, initParameters);
+
+        VaadinSession session = new BenchmarkSession(
+                new BenchmarkService(configuration));
+        session.setConfiguration(configuration);
+        session.lock();
+
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+        UI.setCurrent(ui);
+        VaadinSession.setCurrent(session);
+        return ui;
+    }
+
+    /**
+     * Appends a tree of elements to the given parent. Each element has an
+     * attribute, a property and a text node.
+     *
+     * @param parent
+     *            the element to add the children to
+     * @param count
+     *            the total number of elements to add
+     * @param fanOut
+     *            the number of children of each element
+     */
+    public static void appendElements(Element parent, int count, int fanOut) {
+        Element[] elements = new Element[count];
+        for (int i = 0; i < count; i++) {
+            Element element = new Element("div");
+            element.setAttribute("class", "item-" + i);
+            element.setProperty("index", i);
+            element.setText("Item " + i);
+            elements[i] = element;
+            if (i < fanOut) {
+                parent.appendChild(element);
+            } else {
+                elements[i / fanOut - 1].appendChild(element);
+            }
+        }
+    }
+
+    /**
+     * Creates a request which only provides the given service.
+     *
+     * @param service
+     *            the service of the request
+     * @return a request instance
+     */
+    public static VaadinRequest createRequest(VaadinService service) {
+        return (VaadinRequest) Proxy.newProxyInstance(
+                BenchmarkEnvironment.class.getClassLoader(),
+                new Class<?>[] { VaadinRequest.class },
+                (proxy, method, args) -> "getService".equals(method.getName())
+                        ? service
+                        : null);
+    }
+}
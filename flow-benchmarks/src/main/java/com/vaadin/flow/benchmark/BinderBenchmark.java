@@ -0,0 +1,143 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.AbstractField;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.data.binder.ValidationException;
+import com.vaadin.flow.data.converter.StringToIntegerConverter;
+
+/**
+ * Benchmarks reading a bean into the fields of a {@link Binder} and writing
+ * the validated and converted field values back to the bean.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinderBenchmark {
+
+    /**
+     * Bean edited in the benchmark.
+     */
+    public static class Person {
+        private String firstName = "John";
+        private String lastName = "Doe";
+        private String email = "john.doe@example.com";
+        private int age = 42;
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+
+    /**
+     * Text field without any client side counterpart.
+     */
+    @Tag("input")
+    public static class TextField extends AbstractField<TextField, String> {
+        public TextField() {
+            super("");
+        }
+
+        @Override
+        protected void setPresentationValue(String newPresentationValue) {
+            getElement().setProperty("value", newPresentationValue);
+        }
+    }
+
+    private final Person person = new Person();
+    private Binder<Person> binder;
+
+    @Setup
+    public void createBinder() {
+        BenchmarkEnvironment.createUI();
+        binder = new Binder<>();
+        binder.forField(new TextField())
+                .withValidator(value -> !value.isEmpty(), "Required")
+                .bind(Person::getFirstName, Person::setFirstName);
+        binder.forField(new TextField())
+                .withValidator(value -> !value.isEmpty(), "Required")
+                .bind(Person::getLastName, Person::setLastName);
+        binder.forField(new TextField())
+                .withValidator(value -> value.contains("@"), "Invalid email")
+                .bind(Person::getEmail, Person::setEmail);
+        binder.forField(new TextField())
+                .withConverter(new StringToIntegerConverter("Not a number"))
+                .bind(Person::getAge, Person::setAge);
+        // The fields must be valid for writeBean
+        binder.readBean(person);
+    }
+
+    @Benchmark
+    public Binder<Person> readBean() {
+        binder.readBean(person);
+        return binder;
+    }
+
+    @Benchmark
+    public Person writeBean() throws ValidationException {
+        binder.writeBean(person);
+        return person;
+    }
+}
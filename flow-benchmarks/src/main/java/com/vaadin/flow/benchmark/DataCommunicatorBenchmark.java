@@ -0,0 +1,127 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.ArrayUpdater;
+import com.vaadin.flow.data.provider.DataCommunicator;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateTree;
+
+import elemental.json.JsonValue;
+
+/**
+ * Benchmarks a full flush of the requested range of a
+ * {@link DataCommunicator} backed by an in-memory data provider.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataCommunicatorBenchmark {
+
+    @Param({ "10000" })
+    private int itemCount;
+
+    @Param({ "50", "500" })
+    private int pageSize;
+
+    private DataCommunicator<String> dataCommunicator;
+    private StateTree stateTree;
+    private long sentItemCount;
+
+    private class CountingUpdater implements ArrayUpdater {
+        @Override
+        public Update startUpdate(int sizeChange) {
+            return new Update() {
+                @Override
+                public void clear(int start, int length) {
+                    // Nothing is rendered
+                }
+
+                @Override
+                public void set(int start, List<JsonValue> items) {
+                    sentItemCount += items.size();
+                }
+
+                @Override
+                public void commit(int updateId) {
+                    // Nothing is rendered
+                }
+            };
+        }
+
+        @Override
+        public void initialize() {
+            // Nothing to initialize
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createCommunicator() {
+        UI ui = BenchmarkEnvironment.createUI();
+        Element element = new Element("div");
+        ui.getElement().appendChild(element);
+        stateTree = ui.getInternals().getStateTree();
+
+        List<String> items = IntStream.range(0, itemCount)
+                .mapToObj(i -> "Item " + i).collect(Collectors.toList());
+        dataCommunicator = new DataCommunicator<>(
+                (item, json) -> json.put("name", item), new CountingUpdater(),
+                data -> {
+                }, element.getNode());
+        dataCommunicator.setDataProvider(DataProvider.ofCollection(items),
+                null);
+        dataCommunicator.setRequestedRange(0, pageSize);
+        stateTree.runExecutionsBeforeClientResponse();
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        // Makes the next flush send the whole requested range again
+        dataCommunicator.reset();
+    }
+
+    @Benchmark
+    public long flush() {
+        stateTree.runExecutionsBeforeClientResponse();
+        return sentItemCount;
+    }
+}
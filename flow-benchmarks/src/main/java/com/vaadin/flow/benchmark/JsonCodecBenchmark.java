@@ -0,0 +1,99 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JsonCodec;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * Benchmarks encoding the typical value types of JavaScript invocation
+ * parameters with {@link JsonCodec#encodeWithTypeInfo(Object)}.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private final String string = "Lorem ipsum dolor sit amet";
+    private final Double number = Double.valueOf(42.5);
+    private JsonObject object;
+    private JsonArray array;
+    private Element element;
+
+    @Setup
+    public void createValues() {
+        object = Json.createObject();
+        array = Json.createArray();
+        for (int i = 0; i < 20; i++) {
+            object.put("key" + i, "value" + i);
+            array.set(i, i);
+        }
+
+        UI ui = BenchmarkEnvironment.createUI();
+        element = new Element("div");
+        ui.getElement().appendChild(element);
+    }
+
+    @Benchmark
+    public JsonValue encodeString() {
+        return JsonCodec.encodeWithTypeInfo(string);
+    }
+
+    @Benchmark
+    public JsonValue encodeNumber() {
+        return JsonCodec.encodeWithTypeInfo(number);
+    }
+
+    @Benchmark
+    public JsonValue encodeJsonObject() {
+        return JsonCodec.encodeWithTypeInfo(object);
+    }
+
+    @Benchmark
+    public JsonValue encodeJsonArray() {
+        return JsonCodec.encodeWithTypeInfo(array);
+    }
+
+    @Benchmark
+    public JsonValue encodeElement() {
+        return JsonCodec.encodeWithTypeInfo(element);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.communication.ServerRpcHandler;
+import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
+import com.vaadin.flow.server.communication.ServerRpcHandler.RpcRequest;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+/**
+ * Benchmarks decoding and handling a client message containing DOM event
+ * invocations.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerRpcHandlerBenchmark {
+
+    @Param({ "1", "100" })
+    private int invocationCount;
+
+    private final ServerRpcHandler rpcHandler = new ServerRpcHandler();
+    private UI ui;
+    private VaadinRequest request;
+    private Element element;
+    private String message;
+    private int eventCount;
+
+    @Setup(Level.Trial)
+    public void createUI() {
+        ui = BenchmarkEnvironment.createUI();
+        request = BenchmarkEnvironment
+                .createRequest(ui.getSession().getService());
+        element = new Element("button");
+        element.addEventListener("click", event -> eventCount++);
+        ui.getElement().appendChild(element);
+        // Attach the listener so that the events are accepted
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+    }
+
+    @Setup(Level.Invocation)
+    public void createMessage() {
+        JsonArray invocations = Json.createArray();
+        for (int i = 0; i < invocationCount; i++) {
+            JsonObject invocation = Json.createObject();
+            invocation.put(JsonConstants.RPC_TYPE,
+                    JsonConstants.RPC_TYPE_EVENT);
+            invocation.put(JsonConstants.RPC_NODE, element.getNode().getId());
+            invocation.put(JsonConstants.RPC_EVENT_TYPE, "click");
+            invocation.put(JsonConstants.RPC_EVENT_DATA, Json.createObject());
+            invocations.set(i, invocation);
+        }
+
+        JsonObject json = Json.createObject();
+        json.put(ApplicationConstants.CSRF_TOKEN, ui.getCsrfToken());
+        json.put(ApplicationConstants.SERVER_SYNC_ID,
+                ui.getInternals().getServerSyncId());
+        json.put(ApplicationConstants.CLIENT_TO_SERVER_ID,
+                ui.getInternals().getLastProcessedClientToServerId() + 1);
+        json.put(ApplicationConstants.RPC_INVOCATIONS, invocations);
+        message = json.toJson();
+    }
+
+    @Benchmark
+    public RpcRequest parseRequest() {
+        return new RpcRequest(message, request);
+    }
+
+    @Benchmark
+    public int handleRpc()
+            throws IOException, InvalidUIDLSecurityKeyException {
+        rpcHandler.handleRpc(ui, new StringReader(message), request);
+        return eventCount;
+    }
+}
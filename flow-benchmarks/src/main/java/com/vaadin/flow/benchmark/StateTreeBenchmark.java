@@ -0,0 +1,92 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateTree;
+
+/**
+ * Benchmarks collecting the changes of a state tree after every element has
+ * been modified.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateTreeBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    private int elementCount;
+
+    private StateTree stateTree;
+    private List<Element> elements;
+    private int round;
+
+    @Setup(Level.Trial)
+    public void createTree() {
+        UI ui = BenchmarkEnvironment.createUI();
+        BenchmarkEnvironment.appendElements(ui.getElement(), elementCount, 10);
+        stateTree = ui.getInternals().getStateTree();
+        // Initial changes are not part of the measurement
+        stateTree.collectChanges(change -> {
+        });
+
+        elements = new ArrayList<>(elementCount);
+        ui.getElement().getChildren().forEach(this::collectElements);
+    }
+
+    private void collectElements(Element element) {
+        elements.add(element);
+        element.getChildren().forEach(this::collectElements);
+    }
+
+    @Setup(Level.Invocation)
+    public void modifyElements() {
+        round++;
+        for (Element element : elements) {
+            element.setAttribute("title", "round-" + round);
+        }
+    }
+
+    @Benchmark
+    public void collectChanges(Blackhole blackhole) {
+        stateTree.collectChanges(blackhole::consume);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.benchmark.BenchmarkEnvironment;
+import com.vaadin.flow.component.UI;
+
+/**
+ * Compares the node registry of {@link StateTree} with the
+ * <code>HashMap&lt;Integer, StateNode&gt;</code> that it replaced. Run with
+ * <code>-prof gc</code>: the normalized allocation of the
+ * <code>register</code> benchmarks is the memory used by a registry of all
+ * nodes.
+ * <p>
+ * The benchmark is in the same package as {@link StateNodeRegistry} since the
+ * registry is package private.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateNodeRegistryBenchmark {
+
+    @Param({ "1000", "50000" })
+    private int nodeCount;
+
+    private List<StateNode> nodes;
+    private Map<Integer, StateNode> hashMap;
+    private StateNodeRegistry registry;
+
+    @Setup(Level.Trial)
+    public void createNodes() {
+        UI ui = BenchmarkEnvironment.createUI();
+        BenchmarkEnvironment.appendElements(ui.getElement(), nodeCount, 10);
+
+        nodes = new ArrayList<>(nodeCount + 1);
+        ui.getElement().getNode().visitNodeTree(nodes::add);
+
+        hashMap = registerInHashMap();
+        registry = registerInRegistry();
+    }
+
+    @Benchmark
+    public Map<Integer, StateNode> hashMapRegister() {
+        return registerInHashMap();
+    }
+
+    @Benchmark
+    public StateNodeRegistry registryRegister() {
+        return registerInRegistry();
+    }
+
+    @Benchmark
+    public void hashMapLookup(Blackhole blackhole) {
+        for (StateNode node : nodes) {
+            blackhole.consume(hashMap.get(node.getId()));
+        }
+    }
+
+    @Benchmark
+    public void registryLookup(Blackhole blackhole) {
+        for (StateNode node : nodes) {
+            blackhole.consume(registry.get(node.getId()));
+        }
+    }
+
+    private Map<Integer, StateNode> registerInHashMap() {
+        Map<Integer, StateNode> map = new HashMap<>();
+        for (StateNode node : nodes) {
+            map.put(node.getId(), node);
+        }
+        return map;
+    }
+
+    private StateNodeRegistry registerInRegistry() {
+        StateNodeRegistry nodeRegistry = new StateNodeRegistry();
+        for (StateNode node : nodes) {
+            nodeRegistry.put(node.getId(), node);
+        }
+        return nodeRegistry;
+    }
+}
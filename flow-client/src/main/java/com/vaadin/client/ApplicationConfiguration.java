@@ -36,6 +36,7 @@ public class ApplicationConfiguration {
 
     private boolean productionMode;
     private boolean requestTiming;
+    private boolean compactRpc;
     private boolean webComponentMode;
 
     private String servletVersion;
@@ -293,6 +294,29 @@ public class ApplicationConfiguration {
         this.requestTiming = requestTiming;
     }
 
+    /**
+     * Checks if RPC invocations should be sent to the server in the compact
+     * positional format.
+     *
+     * @return {@code true} if the compact format is used, {@code false}
+     *         otherwise
+     */
+    public boolean isCompactRpc() {
+        return compactRpc;
+    }
+
+    /**
+     * Sets whether RPC invocations should be sent to the server in the compact
+     * positional format.
+     *
+     * @param compactRpc
+     *            {@code true} to use the compact format, {@code false} to send
+     *            the invocations as JSON objects
+     */
+    public void setCompactRpc(boolean compactRpc) {
+        this.compactRpc = compactRpc;
+    }
+
     /**
      * Sets the exported web components.
      *
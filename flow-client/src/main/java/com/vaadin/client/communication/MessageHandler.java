@@ -467,8 +467,15 @@ public class MessageHandler {
 
     private void processChanges(JsonObject json) {
         StateTree tree = registry.getStateTree();
-        JsSet<StateNode> updatedNodes = TreeChangeProcessor.processChanges(tree,
-                json.getArray("changes"));
+        JsSet<StateNode> updatedNodes;
+        if (json.hasKey(JsonConstants.UIDL_KEY_CHANGE_KEYS)) {
+            updatedNodes = TreeChangeProcessor.processCompactChanges(tree,
+                    json.getArray("changes"),
+                    json.getArray(JsonConstants.UIDL_KEY_CHANGE_KEYS));
+        } else {
+            updatedNodes = TreeChangeProcessor.processChanges(tree,
+                    json.getArray("changes"));
+        }
 
         if (!registry.getApplicationConfiguration().isProductionMode()) {
             try {
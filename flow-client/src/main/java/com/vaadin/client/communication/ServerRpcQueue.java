@@ -18,9 +18,12 @@ package com.vaadin.client.communication;
 import com.google.gwt.core.client.Scheduler;
 import com.vaadin.client.Console;
 import com.vaadin.client.Registry;
+import com.vaadin.flow.shared.CompactRpcCodec;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 /**
@@ -56,6 +59,10 @@ public class ServerRpcQueue {
 
     /**
      * Adds an explicit RPC method invocation to the send queue.
+     * <p>
+     * The invocation is encoded in the compact format of
+     * {@link CompactRpcCodec} if it is enabled in the application
+     * configuration.
      *
      * @param invocation
      *            RPC method invocation
@@ -66,6 +73,10 @@ public class ServerRpcQueue {
                     "Trying to invoke method on not yet started or stopped application");
             return;
         }
+        if (invocation.getType() == JsonType.OBJECT && registry
+                .getApplicationConfiguration().isCompactRpc()) {
+            invocation = CompactRpcCodec.encode((JsonObject) invocation);
+        }
         pendingInvocations.set(pendingInvocations.length(), invocation);
     }
 
@@ -27,6 +27,7 @@ import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 /**
@@ -86,6 +87,140 @@ public class TreeChangeProcessor {
 
     }
 
+    /**
+     * Update a state tree based on a JSON array of changes in the compact
+     * format, where each change is an array starting with the node id and a
+     * numeric change type, and map keys are indices into a key table. Changes
+     * without a compact format are JSON objects as in
+     * {@link #processChanges(StateTree, JsonArray)}.
+     *
+     * @param tree
+     *            the tree to update
+     * @param changes
+     *            the JSON array of compact changes
+     * @param keys
+     *            the map keys referenced by the changes
+     * @return a set of updated nodes addressed by the {@code changes}
+     */
+    public static JsSet<StateNode> processCompactChanges(StateTree tree,
+            JsonArray changes, JsonArray keys) {
+        assert !tree
+                .isUpdateInProgress() : "Previous tree change processing has not completed";
+        try {
+            tree.setUpdateInProgress(true);
+            int length = changes.length();
+
+            JsSet<StateNode> nodes = JsCollections.set();
+
+            // Attach all nodes before doing anything else
+            for (int i = 0; i < length; i++) {
+                if (isCompactAttach(changes, i)) {
+                    int nodeId = changes.get(i).getType() == JsonType.ARRAY
+                            ? (int) changes.getArray(i).getNumber(0)
+                            : (int) changes.getObject(i)
+                                    .getNumber(JsonConstants.CHANGE_NODE);
+                    StateNode node = new StateNode(nodeId, tree);
+                    tree.registerNode(node);
+                    nodes.add(node);
+                }
+            }
+
+            // Then process all non-attach changes
+            for (int i = 0; i < length; i++) {
+                if (isCompactAttach(changes, i)) {
+                    continue;
+                }
+                if (changes.get(i).getType() == JsonType.ARRAY) {
+                    nodes.add(processCompactChange(tree, changes.getArray(i),
+                            keys));
+                } else {
+                    // A change type without a compact format
+                    nodes.add(processChange(tree, changes.getObject(i)));
+                }
+            }
+            return nodes;
+        } finally {
+            tree.setUpdateInProgress(false);
+        }
+    }
+
+    private static boolean isCompactAttach(JsonArray changes, int index) {
+        if (changes.get(index).getType() != JsonType.ARRAY) {
+            return isAttach(changes.getObject(index));
+        }
+        return (int) changes.getArray(index)
+                .getNumber(1) == JsonConstants.CHANGE_COMPACT_ATTACH;
+    }
+
+    /**
+     * Update a state tree based on a JSON change in the compact format. This
+     * method is public for testing purposes.
+     *
+     * @param tree
+     *            the tree to update
+     * @param change
+     *            the compact JSON change
+     * @param keys
+     *            the map keys referenced by the change
+     * @return the updated node addressed by the provided {@code change}
+     */
+    public static StateNode processCompactChange(StateTree tree,
+            JsonArray change, JsonArray keys) {
+        int type = (int) change.getNumber(1);
+
+        StateNode node = tree.getNode((int) change.getNumber(0));
+        assert node != null;
+
+        if (type == JsonConstants.CHANGE_COMPACT_DETACH) {
+            processDetachChange(node);
+            return node;
+        }
+
+        int featureId = (int) change.getNumber(2);
+        switch (type) {
+        case JsonConstants.CHANGE_COMPACT_NOOP:
+            if (change.getBoolean(3)) {
+                node.getList(featureId);
+            } else {
+                node.getMap(featureId);
+            }
+            break;
+        case JsonConstants.CHANGE_COMPACT_PUT:
+            setValue(getCompactProperty(change, node, keys), change.get(4));
+            break;
+        case JsonConstants.CHANGE_COMPACT_PUT_NODE:
+            setNodeValue(getCompactProperty(change, node, keys), node,
+                    (int) change.getNumber(4));
+            break;
+        case JsonConstants.CHANGE_COMPACT_REMOVE:
+            getCompactProperty(change, node, keys).removeValue();
+            break;
+        case JsonConstants.CHANGE_COMPACT_SPLICE_ADD:
+            spliceValues(node.getList(featureId), (int) change.getNumber(3), 0,
+                    change.getArray(4));
+            break;
+        case JsonConstants.CHANGE_COMPACT_SPLICE_ADD_NODES:
+            spliceNodes(node, node.getList(featureId),
+                    (int) change.getNumber(3), 0, change.getArray(4));
+            break;
+        case JsonConstants.CHANGE_COMPACT_SPLICE_REMOVE:
+            node.getList(featureId).splice((int) change.getNumber(3), 1);
+            break;
+        case JsonConstants.CHANGE_COMPACT_CLEAR:
+            node.getList(featureId).clear();
+            break;
+        default:
+            assert false : "Unsupported compact change type: " + type;
+        }
+        return node;
+    }
+
+    private static MapProperty getCompactProperty(JsonArray change,
+            StateNode node, JsonArray keys) {
+        NodeMap map = node.getMap((int) change.getNumber(2));
+        return map.getProperty(keys.getString((int) change.getNumber(3)));
+    }
+
     private static boolean isAttach(JsonObject change) {
         return JsonConstants.CHANGE_TYPE_ATTACH
                 .equals(change.getString(JsonConstants.CHANGE_TYPE));
@@ -154,23 +289,30 @@ public class TreeChangeProcessor {
         MapProperty property = findProperty(change, node);
 
         if (change.hasKey(JsonConstants.CHANGE_PUT_VALUE)) {
-            JsonValue jsonValue = change.get(JsonConstants.CHANGE_PUT_VALUE);
-            Object value = ClientJsonCodec.decodeWithoutTypeInfo(jsonValue);
-            property.setValue(value);
+            setValue(property, change.get(JsonConstants.CHANGE_PUT_VALUE));
         } else if (change.hasKey(JsonConstants.CHANGE_PUT_NODE_VALUE)) {
-            int childId = (int) change
-                    .getNumber(JsonConstants.CHANGE_PUT_NODE_VALUE);
-            StateNode child = node.getTree().getNode(childId);
-            assert child != null;
-            child.setParent(node);
-
-            property.setValue(child);
+            setNodeValue(property, node, (int) change
+                    .getNumber(JsonConstants.CHANGE_PUT_NODE_VALUE));
         } else {
             assert false : "Change should have either value or nodeValue property: "
                     + WidgetUtil.stringify(change);
         }
     }
 
+    private static void setValue(MapProperty property, JsonValue jsonValue) {
+        Object value = ClientJsonCodec.decodeWithoutTypeInfo(jsonValue);
+        property.setValue(value);
+    }
+
+    private static void setNodeValue(MapProperty property, StateNode node,
+            int childId) {
+        StateNode child = node.getTree().getNode(childId);
+        assert child != null;
+        child.setParent(node);
+
+        property.setValue(child);
+    }
+
     private static void processRemoveChange(JsonObject change, StateNode node) {
         MapProperty property = findProperty(change, node);
 
@@ -199,33 +341,40 @@ public class TreeChangeProcessor {
         }
 
         if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD)) {
-            JsonArray addJson = change
-                    .getArray(JsonConstants.CHANGE_SPLICE_ADD);
+            spliceValues(list, index, remove,
+                    change.getArray(JsonConstants.CHANGE_SPLICE_ADD));
+        } else if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
+            spliceNodes(node, list, index, remove,
+                    change.getArray(JsonConstants.CHANGE_SPLICE_ADD_NODES));
+        } else {
+            list.splice(index, remove);
+        }
+    }
 
-            JsArray<Object> add = ClientJsonCodec.jsonArrayAsJsArray(addJson);
+    private static void spliceValues(NodeList list, int index, int remove,
+            JsonArray addJson) {
+        JsArray<Object> add = ClientJsonCodec.jsonArrayAsJsArray(addJson);
 
-            list.splice(index, remove, add);
-        } else if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
-            JsonArray addNodes = change
-                    .getArray(JsonConstants.CHANGE_SPLICE_ADD_NODES);
-            int length = addNodes.length();
+        list.splice(index, remove, add);
+    }
 
-            JsArray<StateNode> add = JsCollections.array();
+    private static void spliceNodes(StateNode node, NodeList list, int index,
+            int remove, JsonArray addNodes) {
+        int length = addNodes.length();
 
-            StateTree tree = node.getTree();
-            for (int i = 0; i < length; i++) {
-                int childId = (int) addNodes.getNumber(i);
-                StateNode child = tree.getNode(childId);
-                assert child != null : "No child node found with id " + childId;
-                child.setParent(node);
+        JsArray<StateNode> add = JsCollections.array();
 
-                add.set(i, child);
-            }
+        StateTree tree = node.getTree();
+        for (int i = 0; i < length; i++) {
+            int childId = (int) addNodes.getNumber(i);
+            StateNode child = tree.getNode(childId);
+            assert child != null : "No child node found with id " + childId;
+            child.setParent(node);
 
-            list.splice(index, remove, add);
-        } else {
-            list.splice(index, remove);
+            add.set(i, child);
         }
+
+        list.splice(index, remove, add);
     }
 
     private static void processClearChange(JsonObject change, StateNode node) {
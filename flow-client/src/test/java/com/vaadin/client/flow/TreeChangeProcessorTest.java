@@ -316,6 +316,91 @@ public class TreeChangeProcessorTest {
         Assert.assertNull(child.getParent());
     }
 
+    @Test
+    public void testCompactChanges() {
+        int childId = 2;
+        JsonArray keys = toArray(Json.create(myKey));
+        JsonArray changes = toArray(
+                toArray(Json.create(rootId),
+                        Json.create(JsonConstants.CHANGE_COMPACT_PUT_NODE),
+                        Json.create(ns), Json.create(0),
+                        Json.create(childId)),
+                toArray(Json.create(childId),
+                        Json.create(JsonConstants.CHANGE_COMPACT_ATTACH)),
+                toArray(Json.create(childId),
+                        Json.create(JsonConstants.CHANGE_COMPACT_PUT),
+                        Json.create(ns), Json.create(0),
+                        Json.create(myValue)),
+                toArray(Json.create(rootId),
+                        Json.create(JsonConstants.CHANGE_COMPACT_SPLICE_ADD),
+                        Json.create(1), Json.create(0),
+                        toArray(Json.create("foo"), Json.create("bar"))));
+
+        JsSet<StateNode> updatedNodes = TreeChangeProcessor
+                .processCompactChanges(tree, changes, keys);
+
+        StateNode child = tree.getNode(childId);
+        Assert.assertEquals(2, updatedNodes.size());
+        Assert.assertTrue(updatedNodes.has(tree.getRootNode()));
+        Assert.assertTrue(updatedNodes.has(child));
+
+        Assert.assertSame(child,
+                tree.getRootNode().getMap(ns).getProperty(myKey).getValue());
+        Assert.assertSame(tree.getRootNode(), child.getParent());
+        Assert.assertEquals(myValue,
+                child.getMap(ns).getProperty(myKey).getValue());
+
+        NodeList list = tree.getRootNode().getList(1);
+        Assert.assertEquals(2, list.length());
+        Assert.assertEquals("foo", list.get(0));
+        Assert.assertEquals("bar", list.get(1));
+    }
+
+    @Test
+    public void testCompactChanges_objectChangesAccepted() {
+        int childId = 2;
+        JsonArray changes = toArray(attachChange(childId),
+                toArray(Json.create(rootId),
+                        Json.create(JsonConstants.CHANGE_COMPACT_PUT_NODE),
+                        Json.create(ns), Json.create(0),
+                        Json.create(childId)),
+                putChange(childId, ns, myKey, Json.create(myValue)));
+
+        JsSet<StateNode> updatedNodes = TreeChangeProcessor
+                .processCompactChanges(tree, changes,
+                        toArray(Json.create(myKey)));
+
+        StateNode child = tree.getNode(childId);
+        Assert.assertEquals(2, updatedNodes.size());
+        Assert.assertSame(child,
+                tree.getRootNode().getMap(ns).getProperty(myKey).getValue());
+        Assert.assertEquals(myValue,
+                child.getMap(ns).getProperty(myKey).getValue());
+    }
+
+    @Test
+    public void testCompactRemoveAndDetach() {
+        StateNode child = new StateNode(2, tree);
+        tree.registerNode(child);
+        MapProperty property = tree.getRootNode().getMap(ns).getProperty(myKey);
+        property.setValue(child);
+        child.setParent(tree.getRootNode());
+
+        JsonArray changes = toArray(
+                toArray(Json.create(rootId),
+                        Json.create(JsonConstants.CHANGE_COMPACT_REMOVE),
+                        Json.create(ns), Json.create(0)),
+                toArray(Json.create(child.getId()),
+                        Json.create(JsonConstants.CHANGE_COMPACT_DETACH)));
+
+        TreeChangeProcessor.processCompactChanges(tree, changes,
+                toArray(Json.create(myKey)));
+
+        Assert.assertFalse(property.hasValue());
+        Assert.assertNull(child.getParent());
+        Assert.assertNull(tree.getNode(child.getId()));
+    }
+
     private static JsonArray toArray(JsonValue... changes) {
         return Arrays.stream(changes).collect(JsonUtils.asArray());
     }
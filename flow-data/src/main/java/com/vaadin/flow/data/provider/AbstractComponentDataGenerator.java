@@ -15,6 +15,8 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,7 +26,11 @@ import com.vaadin.flow.dom.Element;
 /**
  * Abstract class used as base for DataGenerators that need to manage the
  * lifecycle of components, according to what items are requested or destroyed.
- * 
+ * <p>
+ * Components of destroyed items can optionally be kept in a bounded pool and
+ * reused for newly requested items through
+ * {@link #updateComponent(Component, Object)}, see
+ * {@link #setComponentPoolSize(int)}.
  * 
  * @author Vaadin Ltd
  * @since 1.0.
@@ -37,6 +43,11 @@ public abstract class AbstractComponentDataGenerator<T>
 
     private final Map<String, Component> renderedComponents = new HashMap<>();
 
+    private final Deque<Component> componentPool = new ArrayDeque<>();
+    private int componentPoolSize;
+    private long createdComponentCount;
+    private long reusedComponentCount;
+
     @Override
     public void refreshData(T item) {
         String itemKey = getItemKey(item);
@@ -58,17 +69,129 @@ public abstract class AbstractComponentDataGenerator<T>
         String itemKey = getItemKey(item);
         Component renderedComponent = renderedComponents.remove(itemKey);
         if (renderedComponent != null) {
-            renderedComponent.getElement().removeFromParent();
+            release(renderedComponent);
         }
     }
 
     @Override
     public void destroyAllData() {
-        renderedComponents.values().forEach(
-                component -> component.getElement().removeFromParent());
+        renderedComponents.values().forEach(this::release);
         renderedComponents.clear();
     }
 
+    /**
+     * Sets the maximum number of components of destroyed items to keep for
+     * reuse. A pooled component stays attached to the container, so its
+     * element subtree doesn't need to be rebuilt on the server or the client
+     * when it is reused for another item with
+     * {@link #updateComponent(Component, Object)}. Reuse is only useful if
+     * {@link #updateComponent(Component, Object)} returns the same instance
+     * it is given, so pooling is disabled and the pool size reset to
+     * <code>0</code> the first time it returns another instance for a pooled
+     * component. A size of <code>0</code>, which is the default, disables
+     * pooling.
+     *
+     * @param componentPoolSize
+     *            the maximum number of pooled components, not negative
+     */
+    public void setComponentPoolSize(int componentPoolSize) {
+        if (componentPoolSize < 0) {
+            throw new IllegalArgumentException(
+                    "The component pool size cannot be negative");
+        }
+        this.componentPoolSize = componentPoolSize;
+        while (componentPool.size() > componentPoolSize) {
+            componentPool.pop().getElement().removeFromParent();
+        }
+    }
+
+    /**
+     * Gets the maximum number of components of destroyed items to keep for
+     * reuse.
+     *
+     * @return the maximum number of pooled components, <code>0</code> if
+     *         pooling is disabled
+     */
+    public int getComponentPoolSize() {
+        return componentPoolSize;
+    }
+
+    /**
+     * Gets the number of components currently in the pool.
+     *
+     * @return the number of pooled components
+     */
+    public int getPooledComponentCount() {
+        return componentPool.size();
+    }
+
+    /**
+     * Gets the number of components created for newly requested items.
+     *
+     * @return the number of created components
+     */
+    public long getCreatedComponentCount() {
+        return createdComponentCount;
+    }
+
+    /**
+     * Gets the number of pooled components reused for newly requested items.
+     *
+     * @return the number of reused components
+     */
+    public long getReusedComponentCount() {
+        return reusedComponentCount;
+    }
+
+    /**
+     * Gets the share of components for newly requested items that were reused
+     * from the pool instead of being created.
+     *
+     * @return the reuse rate between <code>0</code> and <code>1</code>
+     */
+    public double getComponentReuseRate() {
+        long total = createdComponentCount + reusedComponentCount;
+        return total == 0 ? 0 : (double) reusedComponentCount / total;
+    }
+
+    /**
+     * Gets a component for a newly requested item. A pooled component is
+     * reused if available and {@link #updateComponent(Component, Object)}
+     * returns the same instance for it, otherwise a component is created with
+     * {@link #createComponent(Object)}. If
+     * {@link #updateComponent(Component, Object)} doesn't update a pooled
+     * component in place, pooling is disabled so that later items don't pay
+     * for a reuse attempt that cannot succeed.
+     *
+     * @param item
+     *            the data item, possibly <code>null</code>
+     * @return a {@link Component} which represents the provided item
+     */
+    protected Component createOrReuseComponent(T item) {
+        Component pooled = componentPool.poll();
+        if (pooled != null) {
+            Component updated = updateComponent(pooled, item);
+            if (updated == pooled) {
+                reusedComponentCount++;
+                return pooled;
+            }
+            pooled.getElement().removeFromParent();
+            setComponentPoolSize(0);
+            createdComponentCount++;
+            return updated;
+        }
+        createdComponentCount++;
+        return createComponent(item);
+    }
+
+    private void release(Component component) {
+        if (componentPool.size() < componentPoolSize) {
+            componentPool.push(component);
+        } else {
+            component.getElement().removeFromParent();
+        }
+    }
+
     /**
      * Gets the element where the generated components will be attached to.
      * 
@@ -125,7 +248,10 @@ public abstract class AbstractComponentDataGenerator<T>
             Component component) {
 
         Element element = component.getElement();
-        getContainer().appendChild(element);
+        // Pooled components are still attached to the container
+        if (!getContainer().equals(element.getParent())) {
+            getContainer().appendChild(element);
+        }
         renderedComponents.put(itemKey, component);
     }
 
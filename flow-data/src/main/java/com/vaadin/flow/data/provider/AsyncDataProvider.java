@@ -0,0 +1,90 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * A data provider that queries its back end asynchronously.
+ * <p>
+ * {@link DataCommunicator} does not hold the session lock while waiting for
+ * the queries of an asynchronous data provider. The results are applied
+ * through {@link com.vaadin.flow.component.UI#access(com.vaadin.flow.server.Command)
+ * UI.access} when the returned futures complete, so server push or polling
+ * should be enabled for the results to reach the client without waiting for
+ * the next request. A query that is no longer needed, e.g. because the client
+ * has scrolled past the requested range or the filter has changed, is
+ * cancelled by cancelling its future.
+ *
+ * @param <T>
+ *            data provider data type
+ * @param <F>
+ *            data provider filter type
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+public interface AsyncDataProvider<T, F> extends DataProvider<T, F> {
+
+    /**
+     * Starts fetching the data items matching the given query.
+     *
+     * @param query
+     *            the query that defines sorting, filtering and paging for
+     *            fetching the data
+     * @return a future for the result of the query, not <code>null</code>
+     * @see #fetch(Query)
+     */
+    CompletableFuture<Stream<T>> fetchAsync(Query<T, F> query);
+
+    /**
+     * Starts counting the data items matching the given query.
+     *
+     * @param query
+     *            the query that defines filtering
+     * @return a future for the number of items matching the query, not
+     *         <code>null</code>
+     * @see #size(Query)
+     */
+    CompletableFuture<Integer> sizeAsync(Query<T, F> query);
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default implementation waits for the result of
+     * {@link #fetchAsync(Query)}.
+     */
+    @Override
+    default Stream<T> fetch(Query<T, F> query) {
+        return fetchAsync(query).join();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default implementation waits for the result of
+     * {@link #sizeAsync(Query)}.
+     */
+    @Override
+    default int size(Query<T, F> query) {
+        return sizeAsync(query).join().intValue();
+    }
+
+    @Override
+    default boolean isInMemory() {
+        return false;
+    }
+}
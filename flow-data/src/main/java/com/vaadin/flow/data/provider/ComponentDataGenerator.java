@@ -46,7 +46,8 @@ public class ComponentDataGenerator<T>
     private Element container;
 
     /**
-     * Creates a new generator.
+     * Creates a new generator. The component pool size of the generator is
+     * initialized from the renderer.
      * 
      * @param componentRenderer
      *            the renderer used to produce components based on data items
@@ -58,6 +59,7 @@ public class ComponentDataGenerator<T>
             ValueProvider<T, String> keyMapper) {
         this.componentRenderer = componentRenderer;
         this.keyMapper = keyMapper;
+        setComponentPoolSize(componentRenderer.getComponentPoolSize());
     }
 
     @Override
@@ -80,7 +82,7 @@ public class ComponentDataGenerator<T>
         if (oldRenderedComponent != null) {
             nodeId = oldRenderedComponent.getElement().getNode().getId();
         } else {
-            Component renderedComponent = createComponent(item);
+            Component renderedComponent = createOrReuseComponent(item);
             registerRenderedComponent(itemKey, renderedComponent);
 
             nodeId = renderedComponent.getElement().getNode().getId();
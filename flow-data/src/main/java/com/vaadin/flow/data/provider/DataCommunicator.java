@@ -24,6 +24,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -31,6 +33,7 @@ import java.util.stream.Stream;
 
 import org.slf4j.LoggerFactory;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.data.provider.ArrayUpdater.Update;
 import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
 import com.vaadin.flow.function.SerializableComparator;
@@ -84,6 +87,9 @@ public class DataCommunicator<T> implements Serializable {
     // Keys that can be discarded once some specific update id gets confirmed
     private final HashMap<Integer, Set<String>> passivatedByUpdate = new HashMap<>();
 
+    // The update id in passivatedByUpdate for each passivated key
+    private final HashMap<String, Integer> passivatedUpdateByKey = new HashMap<>();
+
     // Update ids that have been confirmed since the last flush
     private final HashSet<Integer> confirmedUpdates = new HashSet<>();
 
@@ -96,11 +102,55 @@ public class DataCommunicator<T> implements Serializable {
     private final ArrayList<QuerySortOrder> backEndSorting = new ArrayList<>();
 
     private Registration dataProviderUpdateRegistration;
+    private Registration dataKeyCounterRegistration;
     private HashSet<T> updatedData = new HashSet<>();
 
+    // Items fetched around the requested range, null if nothing is buffered
+    private int readAhead;
+    private Range readAheadRange;
+    private List<T> readAheadItems;
+
+    // Queries of an AsyncDataProvider that are still running
+    private transient AsyncFetch pendingFetch;
+    // The result of the latest asynchronous size query, not yet used
+    private Integer asyncSize;
+
     private SerializableConsumer<ExecutionContext> flushRequest;
     private SerializableConsumer<ExecutionContext> flushUpdatedDataRequest;
 
+    private class AsyncFetch {
+        private final Range range;
+        private final CompletableFuture<Integer> size;
+        private final CompletableFuture<Stream<T>> items;
+        private volatile boolean cancelled;
+
+        private AsyncFetch(Range range, CompletableFuture<Integer> size,
+                CompletableFuture<Stream<T>> items) {
+            this.range = range;
+            this.size = size;
+            this.items = items;
+        }
+
+        private CompletableFuture<Void> whenDone() {
+            if (size == null) {
+                return CompletableFuture.allOf(items);
+            } else if (items == null) {
+                return CompletableFuture.allOf(size);
+            }
+            return CompletableFuture.allOf(size, items);
+        }
+
+        private void cancel() {
+            cancelled = true;
+            if (size != null) {
+                size.cancel(true);
+            }
+            if (items != null) {
+                items.cancel(true);
+            }
+        }
+    }
+
     private static class SizeVerifier<T> implements Consumer<T>, Serializable {
 
         private int size;
@@ -171,6 +221,9 @@ public class DataCommunicator<T> implements Serializable {
      */
     public void reset() {
         resendEntireRange = true;
+        clearReadAheadBuffer();
+        cancelAsyncFetch();
+        asyncSize = null;
         dataGenerator.destroyAllData();
         updatedData.clear();
         requestFlush();
@@ -186,11 +239,47 @@ public class DataCommunicator<T> implements Serializable {
         Objects.requireNonNull(data,
                 "DataCommunicator can not refresh null object");
         getKeyMapper().refresh(data);
+        clearReadAheadBuffer();
         dataGenerator.refreshData(data);
         updatedData.add(data);
         requestFlushUpdatedData();
     }
 
+    /**
+     * Sets the number of items to fetch from the data provider before and
+     * after the requested range. The extra items are buffered and used for
+     * subsequent requests within the fetched range, so that scrolling to an
+     * adjacent range does not require a new query to the data provider.
+     * <p>
+     * The buffer only contains the latest fetched range, and it is cleared
+     * when the data is {@link #reset() reset}, an item is
+     * {@link #refresh(Object) refreshed} or the filter or sorting is changed.
+     * The default value is {@code 0}, which disables read-ahead.
+     *
+     * @param readAhead
+     *            the number of items to fetch on each side of the requested
+     *            range, not negative
+     */
+    public void setReadAhead(int readAhead) {
+        if (readAhead < 0) {
+            throw new IllegalArgumentException(
+                    "Read-ahead cannot be negative: " + readAhead);
+        }
+        this.readAhead = readAhead;
+        clearReadAheadBuffer();
+    }
+
+    /**
+     * Gets the number of items fetched from the data provider before and after
+     * the requested range.
+     *
+     * @return the read-ahead item count, {@code 0} if read-ahead is disabled
+     * @see #setReadAhead(int)
+     */
+    public int getReadAhead() {
+        return readAhead;
+    }
+
     /**
      * Confirm update with the given {@code updateId}.
      *
@@ -390,6 +479,13 @@ public class DataCommunicator<T> implements Serializable {
     }
 
     private void handleAttach() {
+        stateNode.runWhenAttached(ui -> {
+            if (dataKeyCounterRegistration == null) {
+                dataKeyCounterRegistration = ui.getInternals()
+                        .addDataKeyCounter(this::getDataKeyCount);
+            }
+        });
+
         dataProviderUpdateRegistration = getDataProvider()
                 .addDataProviderListener(event -> {
                     if (event instanceof DataRefreshEvent) {
@@ -407,7 +503,17 @@ public class DataCommunicator<T> implements Serializable {
         refresh (event.getItem());
     }
 
+    private int getDataKeyCount() {
+        return activeKeyOrder.size() + passivatedUpdateByKey.size();
+    }
+
     private void handleDetach() {
+        clearReadAheadBuffer();
+        cancelAsyncFetch();
+        if (dataKeyCounterRegistration != null) {
+            dataKeyCounterRegistration.remove();
+            dataKeyCounterRegistration = null;
+        }
         dataGenerator.destroyAllData();
         if (dataProviderUpdateRegistration != null) {
             dataProviderUpdateRegistration.remove();
@@ -422,7 +528,7 @@ public class DataCommunicator<T> implements Serializable {
                     reset();
                     arrayUpdater.initialize();
                 }
-                flush();
+                flush(context.getUI());
                 flushRequest = null;
             };
             stateNode.runWhenAttached(ui -> ui.getInternals().getStateTree()
@@ -441,7 +547,13 @@ public class DataCommunicator<T> implements Serializable {
         }
     }
 
-    private void flush() {
+    private void flush(UI ui) {
+        if (getDataProvider() instanceof AsyncDataProvider
+                && !isAsyncDataAvailable(ui)) {
+            // Flushed again once the queries have completed
+            return;
+        }
+
         Set<String> oldActive = new HashSet<>(activeKeyOrder);
 
         Range effectiveRequested;
@@ -450,7 +562,7 @@ public class DataCommunicator<T> implements Serializable {
 
         // Phase 1: Find all items that the client should have
         if (resendEntireRange) {
-            assumedSize = getDataProviderSize();
+            assumedSize = getSizeForFlush();
         }
         effectiveRequested = requestedRange
                 .restrictTo(Range.withLength(0, assumedSize));
@@ -464,7 +576,7 @@ public class DataCommunicator<T> implements Serializable {
         // If the returned stream from the DataProvider is smaller than it
         // should, a new query for the actual size needs to be done
         if (activation.isSizeRecheckNeeded()) {
-            assumedSize = getDataProviderSize();
+            assumedSize = getSizeForFlush();
             effectiveRequested = requestedRange
                     .restrictTo(Range.withLength(0, assumedSize));
         }
@@ -511,6 +623,7 @@ public class DataCommunicator<T> implements Serializable {
         Set<String> passivated = passivatedByUpdate.remove(updateId);
         if (passivated != null) {
             passivated.forEach(key -> {
+                passivatedUpdateByKey.remove(key);
                 T item = keyMapper.get(key);
                 if (item != null) {
                     dataGenerator.destroyData(item);
@@ -535,7 +648,14 @@ public class DataCommunicator<T> implements Serializable {
             // Finally clear any passivated items that have now been confirmed
             oldActive.removeAll(activeKeyOrder);
             if (!oldActive.isEmpty()) {
-                passivatedByUpdate.put(Integer.valueOf(updateId), oldActive);
+                Integer id = Integer.valueOf(updateId);
+                passivatedByUpdate.put(id, oldActive);
+                oldActive.forEach(key -> {
+                    Integer previous = passivatedUpdateByKey.put(key, id);
+                    if (previous != null) {
+                        passivatedByUpdate.get(previous).remove(key);
+                    }
+                });
             }
         }
     }
@@ -639,14 +759,16 @@ public class DataCommunicator<T> implements Serializable {
 
         // XXX Explicitly refresh anything that is updated
         List<String> activeKeys = new ArrayList<>(range.length());
-        fetchFromProvider(range.getStart(), range.length()).forEach(bean -> {
+        fetch(range).forEach(bean -> {
             boolean mapperHasKey = keyMapper.has(bean);
             String key = keyMapper.key(bean);
             if (mapperHasKey) {
                 // Ensure latest instance from provider is used
                 keyMapper.refresh(bean);
-                passivatedByUpdate.values().stream()
-                        .forEach(set -> set.remove(key));
+                Integer updateId = passivatedUpdateByKey.remove(key);
+                if (updateId != null) {
+                    passivatedByUpdate.get(updateId).remove(key);
+                }
             }
             activeKeys.add(key);
         });
@@ -654,6 +776,144 @@ public class DataCommunicator<T> implements Serializable {
         return new Activation(activeKeys, needsSizeRecheck);
     }
 
+    private Stream<T> fetch(Range range) {
+        if (readAhead == 0
+                && !(getDataProvider() instanceof AsyncDataProvider)) {
+            return fetchFromProvider(range.getStart(), range.length());
+        }
+        if (readAheadRange == null || !range.isSubsetOf(readAheadRange)) {
+            Range window = range.expand(Math.min(readAhead, range.getStart()),
+                    readAhead).restrictTo(Range.withLength(0, assumedSize));
+            readAheadItems = fetchFromProvider(window.getStart(),
+                    window.length()).collect(Collectors.toList());
+            readAheadRange = window;
+        }
+        int from = range.getStart() - readAheadRange.getStart();
+        int to = Math.min(from + range.length(), readAheadItems.size());
+        if (from >= to) {
+            return Stream.empty();
+        }
+        return readAheadItems.subList(from, to).stream();
+    }
+
+    private void clearReadAheadBuffer() {
+        readAheadRange = null;
+        readAheadItems = null;
+    }
+
+    private int getSizeForFlush() {
+        if (asyncSize != null) {
+            int size = asyncSize.intValue();
+            asyncSize = null;
+            return size;
+        }
+        if (getDataProvider() instanceof AsyncDataProvider
+                && readAheadRange != null
+                && readAheadItems.size() < readAheadRange.length()
+                && (!readAheadItems.isEmpty()
+                        || readAheadRange.getStart() == 0)) {
+            // The buffer ends where the data ends
+            return readAheadRange.getStart() + readAheadItems.size();
+        }
+        return getDataProviderSize();
+    }
+
+    private boolean isBuffered(Range range) {
+        if (range.isEmpty()) {
+            return true;
+        }
+        return readAheadRange != null
+                && range.getStart() >= readAheadRange.getStart()
+                && (range.getEnd() <= readAheadRange.getEnd()
+                        || readAheadItems.size() < readAheadRange.length());
+    }
+
+    /**
+     * Checks whether the size and the items needed for flushing are available
+     * and starts the needed queries if they are not. Queries that are running
+     * for data which is no longer needed are cancelled.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private boolean isAsyncDataAvailable(UI ui) {
+        boolean sizeNeeded = resendEntireRange && asyncSize == null;
+        boolean itemsNeeded = !isBuffered(requestedRange)
+                && (resendEntireRange || !requestedRange.isSubsetOf(
+                        Range.withLength(activeStart, activeKeyOrder.size())));
+        if (!sizeNeeded && !itemsNeeded) {
+            return true;
+        }
+
+        if (pendingFetch != null) {
+            boolean sizePending = !sizeNeeded || pendingFetch.size != null;
+            boolean itemsPending = !itemsNeeded || (pendingFetch.range != null
+                    && requestedRange.isSubsetOf(pendingFetch.range));
+            if (sizePending && itemsPending) {
+                return false;
+            }
+            cancelAsyncFetch();
+        }
+
+        AsyncDataProvider provider = (AsyncDataProvider) getDataProvider();
+        Range window = null;
+        CompletableFuture<Stream<T>> items = null;
+        if (itemsNeeded) {
+            window = requestedRange.expand(
+                    Math.min(readAhead, requestedRange.getStart()), readAhead);
+            items = provider.fetchAsync(new Query(window.getStart(),
+                    window.length(), backEndSorting, inMemorySorting, filter));
+        }
+        CompletableFuture<Integer> size = sizeNeeded
+                ? provider.sizeAsync(new Query(filter))
+                : null;
+
+        AsyncFetch fetch = new AsyncFetch(window, size, items);
+        CompletableFuture<Void> done = fetch.whenDone();
+        if (done.isDone()) {
+            applyAsyncFetch(fetch);
+            return true;
+        }
+
+        pendingFetch = fetch;
+        done.whenComplete((result, error) -> {
+            if (fetch.cancelled) {
+                return;
+            }
+            ui.access(() -> {
+                // Ignore results of superseded queries
+                if (pendingFetch == fetch) {
+                    pendingFetch = null;
+                    applyAsyncFetch(fetch);
+                    requestFlush();
+                }
+            });
+        });
+        return false;
+    }
+
+    private void applyAsyncFetch(AsyncFetch fetch) {
+        try {
+            if (fetch.size != null) {
+                asyncSize = fetch.size.join();
+            }
+            if (fetch.items != null) {
+                readAheadItems = fetch.items.join()
+                        .collect(Collectors.toList());
+                readAheadRange = fetch.range;
+            }
+        } catch (CompletionException e) {
+            throw new IllegalStateException(
+                    "Fetching data from the data provider failed",
+                    e.getCause());
+        }
+    }
+
+    private void cancelAsyncFetch() {
+        if (pendingFetch != null) {
+            pendingFetch.cancel();
+            pendingFetch = null;
+        }
+    }
+
     private JsonValue generateJson(T item) {
         JsonObject json = Json.createObject();
         json.put("key", getKeyMapper().key(item));
@@ -13,17 +13,23 @@
  * License for the specific language governing permissions and limitations under
  * the License.
  */
-
 package com.vaadin.flow.data.provider;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Objects;
 
 import com.vaadin.flow.function.ValueProvider;
+import com.vaadin.flow.internal.ReflectionCache;
 
 /**
  * <code>KeyMapper</code> is the simple two-way map for generating textual keys
  * for objects and retrieving the objects later with the key.
+ * <p>
+ * The mappings are stored in one flat table of entries, indexed both by the
+ * object identifier and by the key through open addressing. Unless
+ * {@link #createKey()} is overridden, keys are generated and looked up as
+ * ints, and each key is rendered as a string once when it is first returned
+ * from {@link #key(Object)}.
  *
  * @param <V>
  *            the type of mapped objects
@@ -33,11 +39,28 @@ import com.vaadin.flow.function.ValueProvider;
  */
 public class KeyMapper<V> implements DataKeyMapper<V> {
 
+    @SuppressWarnings("rawtypes")
+    private static final ReflectionCache<KeyMapper, Boolean> customKeys = new ReflectionCache<>(
+            KeyMapper::overridesCreateKey);
+
+    private static final int INITIAL_CAPACITY = 16;
+
     private int lastKey = 0;
 
-    private final HashMap<Object, String> objectIdKeyMap = new HashMap<>();
+    private final boolean intKeys = !customKeys.get(getClass()).booleanValue();
+
+    // Entries, the first size slots of each array are in use
+    private Object[] ids = new Object[INITIAL_CAPACITY];
+    private int[] idHashes = new int[INITIAL_CAPACITY];
+    private Object[] objects = new Object[INITIAL_CAPACITY];
+    private int[] keys;
+    // Rendered lazily for int keys
+    private String[] stringKeys = new String[INITIAL_CAPACITY];
+    private int size;
 
-    private final HashMap<String, V> keyObjectMap = new HashMap<>();
+    // Entry index + 1 by identifier and by key, 0 for a free slot
+    private int[] idIndex = new int[INITIAL_CAPACITY * 2];
+    private int[] keyIndex = new int[INITIAL_CAPACITY * 2];
 
     private ValueProvider<V, Object> identifierGetter;
 
@@ -52,6 +75,9 @@ public class KeyMapper<V> implements DataKeyMapper<V> {
      */
     public KeyMapper(ValueProvider<V, Object> identifierGetter) {
         this.identifierGetter = identifierGetter;
+        if (intKeys) {
+            keys = new int[INITIAL_CAPACITY];
+        }
     }
 
     /**
@@ -76,16 +102,18 @@ public class KeyMapper<V> implements DataKeyMapper<V> {
 
         // If the object is already mapped, use existing key
         Object id = identifierGetter.apply(o);
-        String key = objectIdKeyMap.get(id);
-        if (key != null) {
-            return key;
+        int hash = hash(Objects.hashCode(id));
+        int entry = findById(id, hash);
+        if (entry < 0) {
+            // If the object is not yet mapped, map it
+            entry = add(id, hash, o);
         }
 
-        // If the object is not yet mapped, map it
-        key = createKey();
-        objectIdKeyMap.put(id, key);
-        keyObjectMap.put(key, o);
-
+        String key = stringKeys[entry];
+        if (key == null) {
+            key = Integer.toString(keys[entry]);
+            stringKeys[entry] = key;
+        }
         return key;
     }
 
@@ -102,7 +130,8 @@ public class KeyMapper<V> implements DataKeyMapper<V> {
 
     @Override
     public boolean has(V o) {
-        return objectIdKeyMap.containsKey(identifierGetter.apply(o));
+        Object id = identifierGetter.apply(o);
+        return findById(id, hash(Objects.hashCode(id))) >= 0;
     }
 
     /**
@@ -113,8 +142,10 @@ public class KeyMapper<V> implements DataKeyMapper<V> {
      * @return the object with the key.
      */
     @Override
+    @SuppressWarnings("unchecked")
     public V get(String key) {
-        return keyObjectMap.get(key);
+        int entry = findByKey(key);
+        return entry < 0 ? null : (V) objects[entry];
     }
 
     /**
@@ -125,10 +156,10 @@ public class KeyMapper<V> implements DataKeyMapper<V> {
      */
     @Override
     public void remove(V removeobj) {
-        final String key = objectIdKeyMap
-                .remove(identifierGetter.apply(removeobj));
-        if (key != null) {
-            keyObjectMap.remove(key);
+        Object id = identifierGetter.apply(removeobj);
+        int entry = findById(id, hash(Objects.hashCode(id)));
+        if (entry >= 0) {
+            removeEntry(entry);
         }
     }
 
@@ -137,8 +168,12 @@ public class KeyMapper<V> implements DataKeyMapper<V> {
      */
     @Override
     public void removeAll() {
-        objectIdKeyMap.clear();
-        keyObjectMap.clear();
+        Arrays.fill(ids, 0, size, null);
+        Arrays.fill(objects, 0, size, null);
+        Arrays.fill(stringKeys, 0, size, null);
+        Arrays.fill(idIndex, 0);
+        Arrays.fill(keyIndex, 0);
+        size = 0;
     }
 
     /**
@@ -150,27 +185,205 @@ public class KeyMapper<V> implements DataKeyMapper<V> {
      *         <code>false</code> otherwise
      */
     public boolean containsKey(String key) {
-        return keyObjectMap.containsKey(key);
+        return findByKey(key) >= 0;
     }
 
     @Override
     public void refresh(V dataObject) {
         Object id = identifierGetter.apply(dataObject);
-        String key = objectIdKeyMap.get(id);
-        if (key != null) {
-            keyObjectMap.put(key, dataObject);
+        int entry = findById(id, hash(Objects.hashCode(id)));
+        if (entry >= 0) {
+            objects[entry] = dataObject;
         }
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void setIdentifierGetter(ValueProvider<V, Object> identifierGetter) {
         if (this.identifierGetter != identifierGetter) {
             this.identifierGetter = identifierGetter;
-            objectIdKeyMap.clear();
-            for (Map.Entry<String, V> entry : keyObjectMap.entrySet()) {
-                objectIdKeyMap.put(identifierGetter.apply(entry.getValue()),
-                        entry.getKey());
+            Arrays.fill(idIndex, 0);
+            for (int entry = 0; entry < size; entry++) {
+                Object id = identifierGetter.apply((V) objects[entry]);
+                ids[entry] = id;
+                idHashes[entry] = hash(Objects.hashCode(id));
+                insert(idIndex, idHashes[entry], entry);
+            }
+        }
+    }
+
+    private int add(Object id, int hash, V object) {
+        String stringKey = intKeys ? null : createKey();
+        if (size == ids.length) {
+            grow();
+        }
+        int entry = size++;
+        ids[entry] = id;
+        idHashes[entry] = hash;
+        objects[entry] = object;
+        if (intKeys) {
+            keys[entry] = ++lastKey;
+        }
+        stringKeys[entry] = stringKey;
+        insert(idIndex, hash, entry);
+        insert(keyIndex, keyHash(entry), entry);
+        return entry;
+    }
+
+    private void removeEntry(int entry) {
+        delete(idIndex, slotOf(idIndex, idHashes[entry], entry), true);
+        delete(keyIndex, slotOf(keyIndex, keyHash(entry), entry), false);
+
+        // Move the last entry to the freed position to keep entries dense
+        int last = --size;
+        if (entry != last) {
+            idIndex[slotOf(idIndex, idHashes[last], last)] = entry + 1;
+            keyIndex[slotOf(keyIndex, keyHash(last), last)] = entry + 1;
+            ids[entry] = ids[last];
+            idHashes[entry] = idHashes[last];
+            objects[entry] = objects[last];
+            if (intKeys) {
+                keys[entry] = keys[last];
+            }
+            stringKeys[entry] = stringKeys[last];
+        }
+        ids[last] = null;
+        objects[last] = null;
+        stringKeys[last] = null;
+    }
+
+    private int findById(Object id, int hash) {
+        int mask = idIndex.length - 1;
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            int entry = idIndex[slot] - 1;
+            if (entry < 0) {
+                return -1;
+            }
+            if (idHashes[entry] == hash && Objects.equals(ids[entry], id)) {
+                return entry;
+            }
+        }
+    }
+
+    private int findByKey(String key) {
+        if (key == null) {
+            return -1;
+        }
+        int mask = keyIndex.length - 1;
+        if (intKeys) {
+            int intKey = parseKey(key);
+            if (intKey <= 0) {
+                return -1;
+            }
+            for (int slot = hash(intKey) & mask;; slot = (slot + 1) & mask) {
+                int entry = keyIndex[slot] - 1;
+                if (entry < 0 || keys[entry] == intKey) {
+                    return entry;
+                }
+            }
+        }
+        for (int slot = hash(key.hashCode()) & mask;; slot = (slot
+                + 1) & mask) {
+            int entry = keyIndex[slot] - 1;
+            if (entry < 0 || key.equals(stringKeys[entry])) {
+                return entry;
+            }
+        }
+    }
+
+    private int keyHash(int entry) {
+        return hash(intKeys ? keys[entry] : stringKeys[entry].hashCode());
+    }
+
+    private static void insert(int[] index, int hash, int entry) {
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = entry + 1;
+    }
+
+    private static int slotOf(int[] index, int hash, int entry) {
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] != entry + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /*
+     * Deletes the slot and shifts back any following slots of the same probe
+     * sequence so that lookups don't need tombstones.
+     */
+    private void delete(int[] index, int slot, boolean byId) {
+        int mask = index.length - 1;
+        int hole = slot;
+        for (int i = (slot + 1) & mask; index[i] != 0; i = (i + 1) & mask) {
+            int entry = index[i] - 1;
+            int home = (byId ? idHashes[entry] : keyHash(entry)) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                index[hole] = index[i];
+                hole = i;
+            }
+        }
+        index[hole] = 0;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        idHashes = Arrays.copyOf(idHashes, capacity);
+        objects = Arrays.copyOf(objects, capacity);
+        if (intKeys) {
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        stringKeys = Arrays.copyOf(stringKeys, capacity);
+
+        idIndex = new int[capacity * 2];
+        keyIndex = new int[capacity * 2];
+        for (int entry = 0; entry < size; entry++) {
+            insert(idIndex, idHashes[entry], entry);
+            insert(keyIndex, keyHash(entry), entry);
+        }
+    }
+
+    private static int hash(int hashCode) {
+        int hash = hashCode * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /*
+     * Parses a key in the format rendered by Integer.toString, returns 0 for
+     * anything else since generated keys are always positive.
+     */
+    private static int parseKey(String key) {
+        int length = key.length();
+        if (length == 0 || length > 10 || key.charAt(0) == '0') {
+            return 0;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value > Integer.MAX_VALUE ? 0 : (int) value;
+    }
+
+    private static boolean overridesCreateKey(Class<?> type) {
+        for (Class<?> current = type; current != KeyMapper.class; current = current
+                .getSuperclass()) {
+            try {
+                current.getDeclaredMethod("createKey");
+                return true;
+            } catch (NoSuchMethodException e) { // NOSONAR
+                // Check the super class
             }
         }
+        return false;
     }
 }
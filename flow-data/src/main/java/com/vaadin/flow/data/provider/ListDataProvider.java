@@ -15,10 +15,13 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.function.SerializableComparator;
@@ -26,6 +29,16 @@ import com.vaadin.flow.function.SerializablePredicate;
 
 /**
  * {@link DataProvider} wrapper for {@link Collection}s.
+ * <p>
+ * The filtered and sorted items of the latest query without a query filter
+ * are cached and reused by subsequent {@link #fetch(Query)} and
+ * {@link #size(Query)} calls with the same in-memory sorting. Queries with a
+ * query filter are evaluated lazily without caching, since such filters are
+ * usually created anew for each query. The cache is cleared by
+ * {@link #refreshAll()}, {@link #refreshItem(Object)} and when the filter or
+ * the sort order of this data provider is changed. A change in the size of
+ * the backing collection is also detected, but other modifications of the
+ * collection or its items should be followed by a refresh.
  *
  * @param <T>
  *            data type
@@ -35,12 +48,42 @@ public class ListDataProvider<T>
         extends AbstractDataProvider<T, SerializablePredicate<T>>
         implements InMemoryDataProvider<T> {
 
+    /**
+     * The minimum number of items for which sorting is done in parallel when
+     * {@link #setParallelSorting(boolean) parallel sorting} is enabled.
+     */
+    public static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+
     private SerializableComparator<T> sortOrder = null;
 
     private SerializablePredicate<T> filter;
 
     private final Collection<T> backend;
 
+    private boolean parallelSorting;
+
+    private transient volatile View<T> view;
+
+    /**
+     * The items matching the filter of this data provider, and optionally
+     * those items sorted with a query sorting. Instances are not modified
+     * after creation so that they can be shared between threads.
+     */
+    private static final class View<T> {
+        private final int backendSize;
+        private final List<T> filtered;
+        private final Comparator<T> querySorting;
+        private final List<T> sorted;
+
+        private View(int backendSize, List<T> filtered,
+                Comparator<T> querySorting, List<T> sorted) {
+            this.backendSize = backendSize;
+            this.filtered = filtered;
+            this.querySorting = querySorting;
+            this.sorted = sorted;
+        }
+    }
+
     /**
      * Constructs a new ListDataProvider.
      * <p>
@@ -66,25 +109,130 @@ public class ListDataProvider<T>
         return backend;
     }
 
+    /**
+     * Sets whether the items are sorted in parallel when there are at least
+     * {@value #PARALLEL_SORT_THRESHOLD} items to sort. Parallel sorting uses
+     * the common fork-join pool, so the comparators must be thread safe. By
+     * default, the items are sorted in the calling thread.
+     *
+     * @param parallelSorting
+     *            {@code true} to sort large collections in parallel,
+     *            {@code false} to always sort in the calling thread
+     */
+    public void setParallelSorting(boolean parallelSorting) {
+        this.parallelSorting = parallelSorting;
+    }
+
+    /**
+     * Gets whether large collections are sorted in parallel.
+     *
+     * @return {@code true} if large collections are sorted in parallel,
+     *         {@code false} otherwise
+     * @see #setParallelSorting(boolean)
+     */
+    public boolean isParallelSorting() {
+        return parallelSorting;
+    }
+
     @Override
     public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
-        Stream<T> stream = getFilteredStream(query);
-
-        Optional<Comparator<T>> comparing = Stream
-                .of(query.getInMemorySorting(), sortOrder)
-                .filter(Objects::nonNull)
-                .reduce((c1, c2) -> c1.thenComparing(c2));
+        if (!isCacheable(query)) {
+            Stream<T> stream = getFilteredStream(query);
+            Comparator<T> comparator = getComparator(
+                    query.getInMemorySorting());
+            if (comparator != null) {
+                stream = stream.sorted(comparator);
+            }
+            return stream.skip(query.getOffset()).limit(query.getLimit());
+        }
+        List<T> items = getView(query, true);
+        long offset = query.getOffset();
+        long limit = query.getLimit();
+        int from = (int) Math.min(offset, items.size());
+        int to = (int) Math.min(offset + limit, items.size());
+        return items.subList(from, to).stream();
+    }
 
-        if (comparing.isPresent()) {
-            stream = stream.sorted(comparing.get());
+    @Override
+    public int size(Query<T, SerializablePredicate<T>> query) {
+        if (!isCacheable(query)) {
+            return (int) getFilteredStream(query).count();
         }
+        return getView(query, false).size();
+    }
 
-        return stream.skip(query.getOffset()).limit(query.getLimit());
+    @Override
+    public void refreshAll() {
+        view = null;
+        super.refreshAll();
     }
 
     @Override
-    public int size(Query<T, SerializablePredicate<T>> query) {
-        return (int) getFilteredStream(query).count();
+    public void refreshItem(T item) {
+        view = null;
+        super.refreshItem(item);
+    }
+
+    @Override
+    public void refreshItem(T item, boolean refreshChildren) {
+        view = null;
+        super.refreshItem(item, refreshChildren);
+    }
+
+    /**
+     * Checks whether the query can use the cached view, which is only built
+     * for queries without a filter of their own. The filter of this data
+     * provider is always applied.
+     */
+    private boolean isCacheable(Query<T, SerializablePredicate<T>> query) {
+        SerializablePredicate<T> queryFilter = query.getFilter().orElse(null);
+        return queryFilter == null || queryFilter == filter;
+    }
+
+    private List<T> getView(Query<T, SerializablePredicate<T>> query,
+            boolean sorted) {
+        int backendSize = backend.size();
+
+        View<T> current = view;
+        if (current == null || current.backendSize != backendSize) {
+            List<T> filtered = Collections.unmodifiableList(
+                    getFilteredStream(query).collect(Collectors.toList()));
+            current = new View<>(backendSize, filtered, null, null);
+            view = current;
+        }
+        if (!sorted) {
+            return current.filtered;
+        }
+
+        Comparator<T> querySorting = query.getInMemorySorting();
+        if (querySorting == null && sortOrder == null) {
+            return current.filtered;
+        }
+        if (current.sorted == null || current.querySorting != querySorting) {
+            current = new View<>(current.backendSize,
+                    current.filtered, querySorting,
+                    sort(current.filtered, querySorting));
+            view = current;
+        }
+        return current.sorted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> sort(List<T> items, Comparator<T> querySorting) {
+        Comparator<T> comparator = getComparator(querySorting);
+
+        T[] array = (T[]) items.toArray();
+        if (parallelSorting && array.length >= PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(array, comparator);
+        } else {
+            Arrays.sort(array, comparator);
+        }
+        return Collections.unmodifiableList(Arrays.asList(array));
+    }
+
+    private Comparator<T> getComparator(Comparator<T> querySorting) {
+        return Stream.of(querySorting, sortOrder).filter(Objects::nonNull)
+                .reduce((c1, c2) -> c1.thenComparing(c2)).orElse(null);
     }
 
     private Stream<T> getFilteredStream(
@@ -155,6 +155,7 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         }
 
         if (getHierarchyMapper() != null) {
+            getHierarchyMapper().invalidateIndex();
             HierarchicalUpdate update = arrayUpdater
                     .startUpdate(getHierarchyMapper().getRootSize());
             update.enqueue("$connector.ensureHierarchy");
@@ -165,6 +166,7 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
     @Override
     protected void handleDataRefreshEvent(DataChangeEvent.DataRefreshEvent<T> event) {
         if (event.isRefreshChildren()) {
+            mapper.invalidateIndex();
             T item = event.getItem();
             if (isExpanded(item)) {
                 String parentKey = uniqueKeyProviderSupplier.get().apply(item);
@@ -39,6 +39,13 @@ import com.vaadin.flow.internal.Range;
  * Keeps track of the expanded nodes, and size of of the subtrees for each
  * expanded node.
  * <p>
+ * The visible expanded nodes are kept in an index where the children of each
+ * node are weighted by the size of their visible subtree. Converting between
+ * items and their flat indexes and updating the index on expand and collapse
+ * takes logarithmic time per level of the hierarchy. The index is built when
+ * first needed and discarded when the filter or the sorting changes or
+ * {@link #invalidateIndex()} is called.
+ * <p>
  * This class is framework internal implementation details, and can be changed /
  * moved at any point. This means that you should not directly use this for
  * anything.
@@ -65,6 +72,79 @@ public class HierarchyMapper<T, F> implements Serializable {
 
     private Set<Object> expandedItemIds = new HashSet<>();
 
+    // Visible expanded nodes, rootNode is null when the index is not built
+    private ExpandedNode<T> rootNode;
+    private Map<Object, ExpandedNode<T>> indexedNodes = new HashMap<>();
+
+    /**
+     * The children of a visible expanded node or of the root. Each child has
+     * the weight of one plus the size of its visible subtree. The weights are
+     * kept in a Fenwick tree for finding the flat offset of a child and the
+     * child at a flat offset.
+     */
+    private static class ExpandedNode<T> implements Serializable {
+        private final ExpandedNode<T> parent;
+        private final int indexInParent;
+        private final List<T> children;
+        private final Map<Object, Integer> positions;
+        private final ExpandedNode<T>[] expandedChildren;
+        private final int[] tree;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        private ExpandedNode(ExpandedNode<T> parent, int indexInParent,
+                List<T> children) {
+            this.parent = parent;
+            this.indexInParent = indexInParent;
+            this.children = children;
+            int count = children.size();
+            positions = new HashMap<>(count * 2);
+            expandedChildren = new ExpandedNode[count];
+            tree = new int[count + 1];
+        }
+
+        private void initWeights(int[] weights) {
+            for (int i = 1; i < tree.length; i++) {
+                tree[i] += weights[i - 1];
+                size += weights[i - 1];
+                int next = i + (i & -i);
+                if (next < tree.length) {
+                    tree[next] += tree[i];
+                }
+            }
+        }
+
+        private void addWeight(int position, int delta) {
+            for (int i = position + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+            size += delta;
+        }
+
+        // The flat offset of the child at the given position
+        private int offsetOf(int position) {
+            int offset = 0;
+            for (int i = position; i > 0; i -= i & -i) {
+                offset += tree[i];
+            }
+            return offset;
+        }
+
+        // The position of the child whose subtree contains the flat offset
+        private int positionAt(int offset) {
+            int position = 0;
+            for (int step = Integer.highestOneBit(children.size()); step > 0;
+                    step >>= 1) {
+                int next = position + step;
+                if (next < tree.length && tree[next] <= offset) {
+                    position = next;
+                    offset -= tree[next];
+                }
+            }
+            return position;
+        }
+    }
+
     /**
      * Constructs a new HierarchyMapper.
      *
@@ -81,7 +161,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the amount of available data
      */
     public int getTreeSize() {
-        return (int) getHierarchy(null).count();
+        return getRootNode().size;
     }
 
     /**
@@ -103,8 +183,8 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getParentIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(getParentOfItem(item));
+        T parent = getParentOfItem(item);
+        return parent == null ? -1 : getFlatIndex(parent);
     }
 
     /**
@@ -116,8 +196,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(item);
+        return item == null ? -1 : getFlatIndex(item);
     }
 
     /**
@@ -158,8 +237,11 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public Range expand(T item, Integer position) {
         if (doExpand(item) && position != null) {
+            getRootNode();
+            ExpandedNode<T> node = indexedNodes
+                    .get(getDataProvider().getId(item));
             return Range.withLength(position + 1,
-                    (int) getHierarchy(item, false).count());
+                    node == null ? 0 : node.size);
         }
 
         return Range.withLength(0, 0);
@@ -179,6 +261,9 @@ public class HierarchyMapper<T, F> implements Serializable {
         if (!isExpanded(item) && hasChildren(item)) {
             expandedItemIds.add(getDataProvider().getId(item));
             expanded = true;
+            if (rootNode != null) {
+                addToIndex(item);
+            }
         }
         return expanded;
     }
@@ -194,7 +279,9 @@ public class HierarchyMapper<T, F> implements Serializable {
             return false;
         }
         if (isExpanded(item)) {
-            expandedItemIds.remove(getDataProvider().getId(item));
+            Object id = getDataProvider().getId(item);
+            removeFromIndex(id);
+            expandedItemIds.remove(id);
             return true;
         }
         return false;
@@ -213,11 +300,15 @@ public class HierarchyMapper<T, F> implements Serializable {
     public Range collapse(T item, Integer position) {
         Range removedRows = Range.withLength(0, 0);
         if (isExpanded(item)) {
+            Object id = getDataProvider().getId(item);
             if (position != null) {
+                getRootNode();
+                ExpandedNode<T> node = indexedNodes.get(id);
                 removedRows = Range.withLength(position + 1,
-                        (int) getHierarchy(item, false).count());
+                        node == null ? 0 : node.size);
             }
-            expandedItemIds.remove(getDataProvider().getId(item));
+            removeFromIndex(id);
+            expandedItemIds.remove(id);
         }
         return removedRows;
     }
@@ -241,6 +332,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setInMemorySorting(Comparator<T> inMemorySorting) {
         this.inMemorySorting = inMemorySorting;
+        invalidateIndex();
     }
 
     /**
@@ -261,6 +353,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setBackEndSorting(List<QuerySortOrder> backEndSorting) {
         this.backEndSorting = backEndSorting;
+        invalidateIndex();
     }
 
     /**
@@ -281,6 +374,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setFilter(Object filter) {
         this.filter = (F) filter;
+        invalidateIndex();
     }
 
     /**
@@ -315,7 +409,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(Range range) {
-        return getHierarchy(null).skip(range.getStart()).limit(range.length());
+        return fetchIndexedItems(getRootNode(), range);
     }
 
     /**
@@ -329,8 +423,14 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(T parent, Range range) {
-        return getHierarchy(parent, false).skip(range.getStart())
-                .limit(range.length());
+        ExpandedNode<T> node = parent == null ? getRootNode()
+                : indexedNodes.get(getDataProvider().getId(parent));
+        if (node == null) {
+            // Not visible, so not indexed
+            return getHierarchy(parent, false).skip(range.getStart())
+                    .limit(range.length());
+        }
+        return fetchIndexedItems(node, range);
     }
 
     /**
@@ -428,6 +528,8 @@ public class HierarchyMapper<T, F> implements Serializable {
      *            the item id
      */
     protected void removeChildren(Object id) {
+        removeFromIndex(id);
+
         // Clean up removed nodes from child map
         Iterator<Entry<T, Set<T>>> iterator = childMap.entrySet().iterator();
         Set<T> invalidatedChildren = new HashSet<>();
@@ -460,21 +562,167 @@ public class HierarchyMapper<T, F> implements Serializable {
             return Optional.empty();
         }
 
-        final List<Object> collect = getHierarchy(null).map(provider::getId)
-                .collect(Collectors.toList());
-        int index = collect.indexOf(getDataProvider().getId(target));
+        int index = getFlatIndex(target);
         return Optional.ofNullable(index < 0 ? null : index);
     }
 
     /**
-     * Gets the full hierarchy tree starting from given node.
+     * Discards the index of the visible hierarchy. The index is built again
+     * from the data provider when it is needed. This should be called when
+     * the hierarchy in the data provider has changed.
+     */
+    public void invalidateIndex() {
+        rootNode = null;
+        indexedNodes.clear();
+    }
+
+    private ExpandedNode<T> getRootNode() {
+        if (rootNode == null) {
+            rootNode = buildNode(null, null, -1);
+        }
+        return rootNode;
+    }
+
+    /**
+     * Fetches the children of the item and builds the index for them and for
+     * their expanded descendants.
      *
-     * @param parent
-     *            the parent node to start from
-     * @return the flattened hierarchy as a stream
+     * @return the indexed node, or {@code null} if a non-root item has no
+     *         children
+     */
+    private ExpandedNode<T> buildNode(T item, ExpandedNode<T> parent,
+            int indexInParent) {
+        List<T> children = doFetchDirectChildren(item)
+                .collect(Collectors.toList());
+        if (children.isEmpty()) {
+            removeChildren(item == null ? null : getDataProvider().getId(item));
+            if (item != null) {
+                return null;
+            }
+        } else {
+            registerChildren(item, children);
+        }
+
+        ExpandedNode<T> node = new ExpandedNode<>(parent, indexInParent,
+                children);
+        int[] weights = new int[children.size()];
+        for (int i = 0; i < weights.length; i++) {
+            T child = children.get(i);
+            node.positions.put(getDataProvider().getId(child), i);
+            weights[i] = 1;
+            if (isExpanded(child)) {
+                ExpandedNode<T> childNode = buildNode(child, node, i);
+                if (childNode != null) {
+                    node.expandedChildren[i] = childNode;
+                    weights[i] += childNode.size;
+                }
+            }
+        }
+        node.initWeights(weights);
+        if (item != null) {
+            indexedNodes.put(getDataProvider().getId(item), node);
+        }
+        return node;
+    }
+
+    private void addToIndex(T item) {
+        Object id = getDataProvider().getId(item);
+        ExpandedNode<T> parent = getIndexedParent(id);
+        Integer position = parent == null ? null : parent.positions.get(id);
+        if (position == null || indexedNodes.containsKey(id)) {
+            // Not visible, indexed when an ancestor is expanded
+            return;
+        }
+        ExpandedNode<T> node = buildNode(item, parent, position);
+        if (node != null) {
+            parent.expandedChildren[position] = node;
+            addWeight(parent, position, node.size);
+        }
+    }
+
+    private void removeFromIndex(Object id) {
+        if (rootNode == null) {
+            return;
+        }
+        if (id == null) {
+            invalidateIndex();
+            return;
+        }
+        ExpandedNode<T> node = indexedNodes.get(id);
+        if (node != null) {
+            node.parent.expandedChildren[node.indexInParent] = null;
+            addWeight(node.parent, node.indexInParent, -node.size);
+            removeIndexedDescendants(node);
+            indexedNodes.remove(id);
+        }
+    }
+
+    private void removeIndexedDescendants(ExpandedNode<T> node) {
+        for (int i = 0; i < node.expandedChildren.length; i++) {
+            ExpandedNode<T> child = node.expandedChildren[i];
+            if (child != null) {
+                removeIndexedDescendants(child);
+                indexedNodes.remove(
+                        getDataProvider().getId(node.children.get(i)));
+            }
+        }
+    }
+
+    private void addWeight(ExpandedNode<T> node, int position, int delta) {
+        while (node != null) {
+            node.addWeight(position, delta);
+            position = node.indexInParent;
+            node = node.parent;
+        }
+    }
+
+    private ExpandedNode<T> getIndexedParent(Object id) {
+        ExpandedNode<T> root = getRootNode();
+        T parentItem = parentIdMap.get(id);
+        if (parentItem == null) {
+            return root;
+        }
+        return indexedNodes.get(getDataProvider().getId(parentItem));
+    }
+
+    /**
+     * Gets the flat index of the item in the visible hierarchy.
+     *
+     * @return the index, or {@code -1} if the item is not visible
      */
-    private Stream<T> getHierarchy(T parent) {
-        return getHierarchy(parent, true);
+    private int getFlatIndex(T item) {
+        Object id = getDataProvider().getId(item);
+        ExpandedNode<T> node = getIndexedParent(id);
+        Integer position = node == null ? null : node.positions.get(id);
+        if (position == null) {
+            return -1;
+        }
+        int index = node.offsetOf(position);
+        while (node.parent != null) {
+            index += node.parent.offsetOf(node.indexInParent) + 1;
+            node = node.parent;
+        }
+        return index;
+    }
+
+    private Stream<T> fetchIndexedItems(ExpandedNode<T> node, Range range) {
+        Range available = range.restrictTo(Range.withLength(0, node.size));
+        if (available.isEmpty()) {
+            return Stream.empty();
+        }
+        return available.stream().mapToObj(offset -> getItemAt(node, offset));
+    }
+
+    private T getItemAt(ExpandedNode<T> node, int offset) {
+        while (true) {
+            int position = node.positionAt(offset);
+            int local = offset - node.offsetOf(position);
+            if (local == 0) {
+                return node.children.get(position);
+            }
+            node = node.expandedChildren[position];
+            offset = local - 1;
+        }
     }
 
     /**
@@ -614,6 +862,7 @@ public class HierarchyMapper<T, F> implements Serializable {
     }
 
     public void destroyAllData() {
+        invalidateIndex();
         childMap.clear();
         parentIdMap.clear();
         expandedItemIds.clear();
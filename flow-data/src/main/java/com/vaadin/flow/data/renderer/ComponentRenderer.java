@@ -54,6 +54,7 @@ public class ComponentRenderer<COMPONENT extends Component, SOURCE>
     private SerializableBiFunction<Component, SOURCE, Component> componentUpdateFunction;
     private SerializableBiConsumer<COMPONENT, SOURCE> itemConsumer;
     private String componentRendererTag = "flow-component-renderer";
+    private int componentPoolSize;
 
     /**
      * Creates a new ComponentRenderer that uses the componentSupplier to
@@ -188,6 +189,40 @@ public class ComponentRenderer<COMPONENT extends Component, SOURCE>
         this.componentRendererTag = componentRendererTag;
     }
 
+    /**
+     * Sets the maximum number of components of items that are no longer
+     * rendered to keep for reuse for newly rendered items. A pooled component
+     * is reused through {@link #updateComponent(Component, Object)}, so
+     * pooling is only useful when the renderer has an update function that
+     * updates and returns the component it is given. Otherwise pooling is
+     * disabled for a rendering as soon as a pooled component could not be
+     * reused. The size applies to
+     * renderings created after it is set. A size of <code>0</code>, which is
+     * the default, disables pooling.
+     *
+     * @param componentPoolSize
+     *            the maximum number of pooled components per rendering, not
+     *            negative
+     * @see ComponentDataGenerator#setComponentPoolSize(int)
+     */
+    public void setComponentPoolSize(int componentPoolSize) {
+        if (componentPoolSize < 0) {
+            throw new IllegalArgumentException(
+                    "The component pool size cannot be negative");
+        }
+        this.componentPoolSize = componentPoolSize;
+    }
+
+    /**
+     * Gets the maximum number of components to keep for reuse per rendering.
+     *
+     * @return the maximum number of pooled components, <code>0</code> if
+     *         pooling is disabled
+     */
+    public int getComponentPoolSize() {
+        return componentPoolSize;
+    }
+
     private void setupTemplateWhenAttached(UI ui, Element owner,
             ComponentRendering rendering, DataKeyMapper<SOURCE> keyMapper) {
         String appId = ui.getInternals().getAppId();
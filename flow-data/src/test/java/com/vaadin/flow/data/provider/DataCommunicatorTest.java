@@ -17,6 +17,7 @@ package com.vaadin.flow.data.provider;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.IntStream;
@@ -342,6 +343,113 @@ public class DataCommunicatorTest {
         Mockito.verify(dataProvider, Mockito.times(1)).fetch(Mockito.any());
     }
 
+    @Test
+    public void readAhead_adjacentRangeServedFromBuffer() {
+        AbstractDataProvider<Item, Object> dataProvider = Mockito
+                .spy(createDataProvider());
+        dataCommunicator.setDataProvider(dataProvider, null);
+        dataCommunicator.setReadAhead(20);
+
+        dataCommunicator.setRequestedRange(0, 10);
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(0, 10), lastSet);
+
+        dataCommunicator.setRequestedRange(5, 10);
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(10, 5), lastSet);
+
+        Mockito.verify(dataProvider, Mockito.times(1)).fetch(Mockito.any());
+
+        dataCommunicator.setRequestedRange(40, 10);
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(40, 10), lastSet);
+
+        Mockito.verify(dataProvider, Mockito.times(2)).fetch(Mockito.any());
+    }
+
+    @Test
+    public void readAhead_reset_bufferCleared() {
+        AbstractDataProvider<Item, Object> dataProvider = Mockito
+                .spy(createDataProvider());
+        dataCommunicator.setDataProvider(dataProvider, null);
+        dataCommunicator.setReadAhead(20);
+
+        dataCommunicator.setRequestedRange(0, 10);
+        fakeClientCommunication();
+
+        dataCommunicator.reset();
+        fakeClientCommunication();
+
+        Mockito.verify(dataProvider, Mockito.times(2)).fetch(Mockito.any());
+    }
+
+    @Test
+    public void asyncDataProvider_completedQueries_itemsSent() {
+        AsyncItemDataProvider dataProvider = Mockito
+                .spy(new AsyncItemDataProvider());
+        dataCommunicator.setDataProvider(dataProvider, null);
+
+        dataCommunicator.setRequestedRange(0, 10);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.withLength(0, 10), lastSet);
+        Mockito.verify(dataProvider, Mockito.never()).fetch(Mockito.any());
+        Mockito.verify(dataProvider, Mockito.never()).size(Mockito.any());
+    }
+
+    @Test
+    public void asyncDataProvider_rangeChangedWhileQueryRunning_queryCancelled() {
+        AsyncItemDataProvider dataProvider = new AsyncItemDataProvider();
+        dataProvider.complete = false;
+        dataCommunicator.setDataProvider(dataProvider, null);
+
+        dataCommunicator.setRequestedRange(0, 10);
+        fakeClientCommunication();
+
+        Assert.assertNull(lastSet);
+        Assert.assertEquals(1, dataProvider.fetches.size());
+
+        dataCommunicator.setRequestedRange(50, 10);
+        fakeClientCommunication();
+
+        Assert.assertNull(lastSet);
+        Assert.assertEquals(2, dataProvider.fetches.size());
+        Assert.assertTrue(dataProvider.fetches.get(0).isCancelled());
+        Assert.assertFalse(dataProvider.fetches.get(1).isCancelled());
+    }
+
+    public static class AsyncItemDataProvider
+            extends AbstractDataProvider<Item, Object>
+            implements AsyncDataProvider<Item, Object> {
+
+        private boolean complete = true;
+        private final List<CompletableFuture<Stream<Item>>> fetches = new ArrayList<>();
+
+        @Override
+        public CompletableFuture<Stream<Item>> fetchAsync(
+                Query<Item, Object> query) {
+            CompletableFuture<Stream<Item>> future = new CompletableFuture<>();
+            if (complete) {
+                future.complete(IntStream
+                        .range(query.getOffset(),
+                                query.getOffset() + query.getLimit())
+                        .mapToObj(Item::new));
+            }
+            fetches.add(future);
+            return future;
+        }
+
+        @Override
+        public CompletableFuture<Integer> sizeAsync(
+                Query<Item, Object> query) {
+            CompletableFuture<Integer> future = new CompletableFuture<>();
+            if (complete) {
+                future.complete(100);
+            }
+            return future;
+        }
+    }
+
     private void fakeClientCommunication() {
         ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
         ui.getInternals().getStateTree().collectChanges(ignore -> {
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KeyMapperTest {
+
+    private static class Bean {
+        private final int id;
+
+        private Bean(int id) {
+            this.id = id;
+        }
+    }
+
+    @Test
+    public void key_sameIdentifier_sameKey() {
+        KeyMapper<Bean> mapper = new KeyMapper<>(bean -> bean.id);
+        Bean bean = new Bean(1);
+        String key = mapper.key(bean);
+
+        Bean updated = new Bean(1);
+        Assert.assertEquals(key, mapper.key(updated));
+        Assert.assertSame(bean, mapper.get(key));
+
+        mapper.refresh(updated);
+        Assert.assertSame(updated, mapper.get(key));
+    }
+
+    @Test
+    public void manyObjects_removeSome_remainingMapped_keysNotReused() {
+        KeyMapper<Integer> mapper = new KeyMapper<>();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            keys.add(mapper.key(i));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            mapper.remove(i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            String key = keys.get(i);
+            if (i % 2 == 0) {
+                Assert.assertFalse(mapper.has(i));
+                Assert.assertNull(mapper.get(key));
+            } else {
+                Assert.assertTrue(mapper.has(i));
+                Assert.assertEquals(Integer.valueOf(i), mapper.get(key));
+                Assert.assertSame(key, mapper.key(i));
+            }
+        }
+
+        Assert.assertFalse(keys.contains(mapper.key(0)));
+    }
+
+    @Test
+    public void get_unknownKey_returnsNull() {
+        KeyMapper<String> mapper = new KeyMapper<>();
+        String key = mapper.key("foo");
+
+        Assert.assertNull(mapper.get("0" + key));
+        Assert.assertNull(mapper.get("foo"));
+        Assert.assertNull(mapper.get(""));
+        Assert.assertNull(mapper.get(null));
+        Assert.assertFalse(mapper.containsKey("99999999999"));
+    }
+
+    @Test
+    public void customKeys_usedForMapping() {
+        KeyMapper<String> mapper = new KeyMapper<String>() {
+            @Override
+            protected String createKey() {
+                return "custom-" + super.createKey();
+            }
+        };
+        String key = mapper.key("foo");
+
+        Assert.assertEquals("custom-1", key);
+        Assert.assertEquals("foo", mapper.get(key));
+        Assert.assertNull(mapper.get("1"));
+
+        mapper.remove("foo");
+        Assert.assertFalse(mapper.containsKey(key));
+    }
+
+    @Test
+    public void setIdentifierGetter_existingMappingsKept() {
+        KeyMapper<Bean> mapper = new KeyMapper<>();
+        Bean bean = new Bean(1);
+        String key = mapper.key(bean);
+
+        mapper.setIdentifierGetter(item -> item.id);
+
+        Assert.assertTrue(mapper.has(new Bean(1)));
+        Assert.assertEquals(key, mapper.key(new Bean(1)));
+        Assert.assertSame(bean, mapper.get(key));
+    }
+}
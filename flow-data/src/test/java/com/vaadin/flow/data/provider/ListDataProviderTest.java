@@ -15,9 +15,11 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.SerializationUtils;
@@ -25,6 +27,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.vaadin.flow.function.SerializableComparator;
+import com.vaadin.flow.function.SerializablePredicate;
 
 public class ListDataProviderTest
         extends DataProviderTestBase<ListDataProvider<StrBean>> {
@@ -250,4 +253,89 @@ public class ListDataProviderTest
         SerializationUtils.serialize(provider);
     }
 
+    @Test
+    public void sizeAndFetch_providerFilter_filteredOnce() {
+        AtomicInteger filterCalls = new AtomicInteger();
+        SerializablePredicate<StrBean> filter = item -> {
+            filterCalls.incrementAndGet();
+            return item.getValue().equals("Foo");
+        };
+        Comparator<StrBean> sorting = Comparator.comparing(StrBean::getId);
+        dataProvider.setFilter(filter);
+
+        Assert.assertEquals(36, dataProvider.size(new Query<>()));
+        List<StrBean> page = dataProvider
+                .fetch(new Query<>(10, 5, Collections.emptyList(), sorting,
+                        null))
+                .collect(Collectors.toList());
+        List<StrBean> nextPage = dataProvider
+                .fetch(new Query<>(15, 5, Collections.emptyList(), sorting,
+                        null))
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(data.size(), filterCalls.get());
+
+        List<StrBean> expected = data.stream().filter(filter)
+                .sorted(sorting).collect(Collectors.toList());
+        Assert.assertEquals(expected.subList(10, 15), page);
+        Assert.assertEquals(expected.subList(15, 20), nextPage);
+    }
+
+    @Test
+    public void convertedFilter_notCached_cachedViewKept() {
+        AtomicInteger filterCalls = new AtomicInteger();
+        dataProvider.setFilter(item -> {
+            filterCalls.incrementAndGet();
+            return true;
+        });
+        DataProvider<StrBean, String> converted = dataProvider
+                .withConvertedFilter(
+                        text -> item -> item.getValue().equals(text));
+
+        Assert.assertEquals(100, sizeWithUnfilteredQuery());
+        Assert.assertEquals(100, filterCalls.get());
+
+        Assert.assertEquals(36, converted.size(new Query<>("Foo")));
+        Assert.assertEquals(36, converted.size(new Query<>("Foo")));
+        Assert.assertEquals(300, filterCalls.get());
+
+        // The view of the unfiltered query is not replaced
+        Assert.assertEquals(100, sizeWithUnfilteredQuery());
+        Assert.assertEquals(300, filterCalls.get());
+    }
+
+    @Test
+    public void refreshAll_modifiedCollectionUsed() {
+        Assert.assertEquals(100, sizeWithUnfilteredQuery());
+
+        StrBean replacement = new StrBean("Replacement", 1000, 0);
+        data.set(0, replacement);
+        dataProvider.refreshAll();
+
+        Assert.assertEquals(replacement,
+                dataProvider.fetch(new Query<>()).findFirst().get());
+
+        data.remove(1);
+        Assert.assertEquals("Size change should be detected without refresh",
+                99, sizeWithUnfilteredQuery());
+    }
+
+    @Test
+    public void parallelSorting_sameOrderAsSequential() {
+        List<StrBean> items = StrBean
+                .generateRandomBeans(ListDataProvider.PARALLEL_SORT_THRESHOLD);
+        ListDataProvider<StrBean> sequential = new ListDataProvider<>(items);
+        ListDataProvider<StrBean> parallel = new ListDataProvider<>(items);
+        parallel.setParallelSorting(true);
+
+        Comparator<StrBean> sorting = Comparator
+                .comparing(StrBean::getRandomNumber);
+        Query<StrBean, SerializablePredicate<StrBean>> query = new Query<>(0,
+                Integer.MAX_VALUE, Collections.emptyList(), sorting, null);
+
+        Assert.assertEquals(
+                sequential.fetch(query).collect(Collectors.toList()),
+                parallel.fetch(query).collect(Collectors.toList()));
+    }
+
 }
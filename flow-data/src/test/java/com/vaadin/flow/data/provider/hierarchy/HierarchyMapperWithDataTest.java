@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -224,6 +225,48 @@ public class HierarchyMapperWithDataTest {
         verifyFetchIsCorrect(expectedResult, range);
     }
 
+    @Test
+    public void expandAndCollapseNestedNodes_indexesUpdated() {
+        Node root = roots.get(1);
+        Node parent = testData.get(testData.indexOf(root) + 1);
+        Node leaf = testData.get(testData.indexOf(parent) + 1);
+
+        expand(root);
+        expand(parent);
+        assertEquals(Integer.valueOf(1), mapper.getIndexOf(root).get());
+        assertEquals(Integer.valueOf(3), mapper.getIndexOf(leaf).get());
+        assertEquals(Integer.valueOf(2), mapper.getParentIndex(leaf));
+
+        expand(roots.get(0));
+        assertEquals(Integer.valueOf(1 + PARENT_COUNT),
+                mapper.getIndexOf(root).get());
+        assertEquals(Integer.valueOf(3 + PARENT_COUNT),
+                mapper.getIndexOf(leaf).get());
+
+        collapse(root);
+        assertEquals(Optional.empty(), mapper.getIndexOf(leaf));
+        assertEquals(Integer.valueOf(2 + PARENT_COUNT),
+                mapper.getIndexOf(roots.get(2)).get());
+        checkMapSize();
+
+        // The expanded state of the nested parent is kept
+        expand(root);
+        assertEquals(Integer.valueOf(3 + PARENT_COUNT),
+                mapper.getIndexOf(leaf).get());
+        checkMapSize();
+    }
+
+    @Test
+    public void invalidateIndex_changedDataUsed() {
+        expand(roots.get(0));
+        int size = mapper.getTreeSize();
+
+        data.addItem(roots.get(0), new Node(1000, roots.get(0)));
+        mapper.invalidateIndex();
+
+        assertEquals(size + 1, mapper.getTreeSize());
+    }
+
     private void expand(Node node) {
         insertRows(mapper.expand(node, mapper.getIndexOf(node).orElse(null)));
     }
@@ -213,4 +213,97 @@ public class ComponentRendererTest {
                 updatedComponent);
     }
 
+    @Test
+    public void componentPool_destroyedComponentReusedThroughUpdate() {
+        AtomicInteger createInvocations = new AtomicInteger();
+        ComponentRenderer<TestLabel, String> renderer = new ComponentRenderer<>(
+                item -> {
+                    createInvocations.incrementAndGet();
+                    return new TestLabel();
+                }, (component, item) -> component);
+        renderer.setComponentPoolSize(1);
+
+        ComponentDataGenerator<String> generator = new ComponentDataGenerator<>(
+                renderer, item -> item);
+        Element container = new Element("div");
+        generator.setContainer(container);
+        generator.setNodeIdPropertyName("nodeId");
+
+        JsonObject first = Json.createObject();
+        generator.generateData("first", first);
+        generator.destroyData("first");
+
+        Assert.assertEquals(1, generator.getPooledComponentCount());
+        Assert.assertEquals("Pooled component should stay attached", 1,
+                container.getChildCount());
+
+        JsonObject second = Json.createObject();
+        generator.generateData("second", second);
+
+        Assert.assertEquals(1, createInvocations.get());
+        Assert.assertEquals(first.getNumber("nodeId"),
+                second.getNumber("nodeId"), 0);
+        Assert.assertEquals(0, generator.getPooledComponentCount());
+        Assert.assertEquals(1, generator.getCreatedComponentCount());
+        Assert.assertEquals(1, generator.getReusedComponentCount());
+        Assert.assertEquals(0.5, generator.getComponentReuseRate(), 0);
+        Assert.assertEquals(1, container.getChildCount());
+    }
+
+    @Test
+    public void componentPool_full_destroyedComponentRemoved() {
+        ComponentRenderer<TestLabel, String> renderer = new ComponentRenderer<>(
+                item -> new TestLabel(), (component, item) -> component);
+        renderer.setComponentPoolSize(1);
+
+        ComponentDataGenerator<String> generator = new ComponentDataGenerator<>(
+                renderer, item -> item);
+        Element container = new Element("div");
+        generator.setContainer(container);
+        generator.setNodeIdPropertyName("nodeId");
+
+        generator.generateData("first", Json.createObject());
+        generator.generateData("second", Json.createObject());
+        generator.destroyAllData();
+
+        Assert.assertEquals(1, generator.getPooledComponentCount());
+        Assert.assertEquals(1, container.getChildCount());
+    }
+
+    @Test
+    public void componentPool_noUpdateFunction_poolingDisabled() {
+        AtomicInteger createInvocations = new AtomicInteger();
+        ComponentRenderer<TestLabel, String> renderer = new ComponentRenderer<>(
+                item -> {
+                    createInvocations.incrementAndGet();
+                    return new TestLabel();
+                });
+        renderer.setComponentPoolSize(2);
+
+        ComponentDataGenerator<String> generator = new ComponentDataGenerator<>(
+                renderer, item -> item);
+        Element container = new Element("div");
+        generator.setContainer(container);
+        generator.setNodeIdPropertyName("nodeId");
+
+        generator.generateData("first", Json.createObject());
+        generator.generateData("second", Json.createObject());
+        generator.destroyAllData();
+        Assert.assertEquals(2, generator.getPooledComponentCount());
+
+        generator.generateData("third", Json.createObject());
+
+        Assert.assertEquals(0, generator.getComponentPoolSize());
+        Assert.assertEquals(0, generator.getPooledComponentCount());
+        Assert.assertEquals(3, createInvocations.get());
+        Assert.assertEquals(0, generator.getReusedComponentCount());
+        Assert.assertEquals("Pooled components should be detached", 1,
+                container.getChildCount());
+
+        generator.destroyData("third");
+        generator.generateData("fourth", Json.createObject());
+
+        Assert.assertEquals(4, createInvocations.get());
+        Assert.assertEquals(1, container.getChildCount());
+    }
 }
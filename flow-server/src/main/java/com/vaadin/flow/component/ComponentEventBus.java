@@ -384,19 +384,45 @@ public class ComponentEventBus implements Serializable {
      *            The component which is the source of the event
      * @return an event object of type <code>eventType</code>
      */
+    @SuppressWarnings("unchecked")
     private <T extends ComponentEvent<?>> T createEventForDomEvent(
             Class<T> eventType, DomEvent domEvent, Component source) {
+        DomEventFactory factory = ComponentEventBusUtil
+                .getDomEventFactory(eventType);
+        if (factory == null) {
+            return createEventWithReflection(eventType, domEvent, source);
+        }
+
+        checkSourceType(eventType, factory.getSourceType(), source);
+        try {
+            return (T) factory.create(source, domEvent.getEventData());
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) { // NOSONAR
+            throw new IllegalArgumentException(
+                    "Unable to create an event object of type "
+                            + eventType.getName(),
+                    e);
+        }
+    }
+
+    private static void checkSourceType(Class<?> eventType,
+            Class<?> definedSourceType, Component source) {
+        if (!definedSourceType.isAssignableFrom(source.getClass())) {
+            throw new IllegalArgumentException(String.format(
+                    "The event type %s define the source type to be %s, which is not compatible with the used source of type %s",
+                    eventType.getName(), definedSourceType.getName(),
+                    source.getClass().getName()));
+        }
+    }
+
+    private <T extends ComponentEvent<?>> T createEventWithReflection(
+            Class<T> eventType, DomEvent domEvent, Component source) {
         try {
             Constructor<T> c = ComponentEventBusUtil
                     .getEventConstructor(eventType);
             // Make sure that the source component type is ok
-            if (!c.getParameterTypes()[0].isAssignableFrom(source.getClass())) {
-                Class<?> definedSourceType = c.getParameterTypes()[0];
-                throw new IllegalArgumentException(String.format(
-                        "The event type %s define the source type to be %s, which is not compatible with the used source of type %s",
-                        eventType.getName(), definedSourceType.getName(),
-                        source.getClass().getName()));
-            }
+            checkSourceType(eventType, c.getParameterTypes()[0], source);
 
             List<Object> eventData = createEventDataObjects(domEvent,
                     eventType);
@@ -21,6 +21,8 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 
+import org.slf4j.LoggerFactory;
+
 import com.vaadin.flow.dom.DomEvent;
 import com.vaadin.flow.internal.ReflectTools;
 import com.vaadin.flow.internal.ReflectionCache;
@@ -47,10 +49,13 @@ public class ComponentEventBusUtil {
     private static class EventTypeInfo {
         private final LinkedHashMap<String, Class<?>> dataExpressions;
         private final Constructor<? extends ComponentEvent<?>> eventConstructor;
+        private final DomEventFactory domEventFactory;
 
         public EventTypeInfo(Class<? extends ComponentEvent<?>> type) {
             eventConstructor = findEventConstructor(type);
             dataExpressions = findEventDataExpressions(eventConstructor);
+            domEventFactory = createDomEventFactory(eventConstructor,
+                    dataExpressions);
         }
     }
 
@@ -76,6 +81,32 @@ public class ComponentEventBusUtil {
         return cache.get(eventType).dataExpressions;
     }
 
+    /**
+     * Gets the factory for creating events of the given type from DOM events.
+     *
+     * @param eventType
+     *            the component event type
+     * @return the factory, or <code>null</code> if the event constructor can
+     *         only be invoked through reflection
+     */
+    static DomEventFactory getDomEventFactory(
+            Class<? extends ComponentEvent<?>> eventType) {
+        return cache.get(eventType).domEventFactory;
+    }
+
+    private static DomEventFactory createDomEventFactory(
+            Constructor<? extends ComponentEvent<?>> eventConstructor,
+            LinkedHashMap<String, Class<?>> dataExpressions) {
+        try {
+            return new DomEventFactory(eventConstructor, dataExpressions);
+        } catch (IllegalAccessException e) {
+            LoggerFactory.getLogger(ComponentEventBusUtil.class).debug(
+                    "Using reflection for creating events with {}",
+                    eventConstructor, e);
+            return null;
+        }
+    }
+
     /**
      * Scans the event type and forms a map of event data expression (for
      * {@link com.vaadin.flow.dom.DomListenerRegistration#addEventData(String)}
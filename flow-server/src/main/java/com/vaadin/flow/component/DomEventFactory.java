@@ -0,0 +1,198 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Map;
+
+import com.vaadin.flow.internal.JsonCodec;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
+
+/**
+ * Creates component events of one type from the data of DOM events.
+ * <p>
+ * The event constructor is compiled once into a method handle which decodes
+ * each {@link EventData} value directly from the event data JSON into the
+ * corresponding constructor parameter, so firing an event doesn't allocate
+ * parameter arrays or box primitive event data values.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+class DomEventFactory {
+
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(
+            ComponentEvent.class, Component.class, boolean.class,
+            JsonObject.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Class<?> sourceType;
+    private final MethodHandle factory;
+
+    /**
+     * Creates a factory for the given DOM event constructor.
+     *
+     * @param constructor
+     *            the DOM event constructor, not <code>null</code>
+     * @param dataExpressions
+     *            the event data expressions and their types in the
+     *            constructor parameter order, not <code>null</code>
+     * @throws IllegalAccessException
+     *             if the constructor is not accessible
+     */
+    DomEventFactory(Constructor<? extends ComponentEvent<?>> constructor,
+            Map<String, Class<?>> dataExpressions)
+            throws IllegalAccessException {
+        sourceType = constructor.getParameterTypes()[0];
+
+        MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+
+        // Replace each event data parameter with a decoder of the value
+        int index = 2;
+        for (Map.Entry<String, Class<?>> entry : dataExpressions.entrySet()) {
+            handle = MethodHandles.filterArguments(handle, index,
+                    createDecoder(entry.getKey(), entry.getValue()));
+            index++;
+        }
+
+        // Pass the same event data object to all decoders
+        int[] reorder = new int[index];
+        reorder[0] = 0;
+        reorder[1] = 1;
+        for (int i = 2; i < index; i++) {
+            reorder[i] = 2;
+        }
+        factory = MethodHandles.permuteArguments(
+                handle.asType(handle.type()
+                        .changeReturnType(ComponentEvent.class)
+                        .changeParameterType(0, Component.class)),
+                FACTORY_TYPE, reorder);
+    }
+
+    /**
+     * Gets the source component type that the event constructor accepts.
+     *
+     * @return the source type
+     */
+    Class<?> getSourceType() {
+        return sourceType;
+    }
+
+    /**
+     * Creates an event from the client.
+     *
+     * @param source
+     *            the source component, compatible with the
+     *            {@link #getSourceType() source type}
+     * @param eventData
+     *            the event data of the DOM event, not <code>null</code>
+     * @return the created event
+     * @throws Throwable
+     *             if the event constructor or decoding the event data throws
+     */
+    ComponentEvent<?> create(Component source, JsonObject eventData)
+            throws Throwable {
+        return (ComponentEvent<?>) factory.invokeExact(source, true,
+                eventData);
+    }
+
+    private static MethodHandle createDecoder(String expression,
+            Class<?> type) throws IllegalAccessException {
+        MethodHandle decoder;
+        try {
+            if (type == boolean.class) {
+                decoder = findDecoder("decodeBoolean", boolean.class);
+            } else if (type == int.class) {
+                decoder = findDecoder("decodeInt", int.class);
+            } else if (type == double.class) {
+                decoder = findDecoder("decodeDouble", double.class);
+            } else if (type == String.class) {
+                decoder = findDecoder("decodeString", String.class);
+            } else if (JsonValue.class.isAssignableFrom(type)) {
+                decoder = findDecoder("decodeJson", JsonValue.class);
+            } else {
+                // Boxed types and types JsonCodec doesn't support
+                decoder = MethodHandles.insertArguments(
+                        findDecoder("decodeAs", Object.class, Class.class),
+                        2, type);
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+        decoder = MethodHandles.insertArguments(decoder, 1, expression);
+        return decoder.asType(decoder.type().changeReturnType(type));
+    }
+
+    private static MethodHandle findDecoder(String name, Class<?> returnType,
+            Class<?>... extraParameters)
+            throws NoSuchMethodException, IllegalAccessException {
+        MethodType type = MethodType
+                .methodType(returnType, JsonObject.class, String.class)
+                .appendParameterTypes(extraParameters);
+        return LOOKUP.findStatic(DomEventFactory.class, name, type);
+    }
+
+    private static JsonValue getValue(JsonObject eventData,
+            String expression) {
+        JsonValue value = eventData.get(expression);
+        return value == null ? Json.createNull() : value;
+    }
+
+    private static boolean decodeBoolean(JsonObject eventData,
+            String expression) {
+        return getValue(eventData, expression).asBoolean();
+    }
+
+    private static int decodeInt(JsonObject eventData, String expression) {
+        return (int) getValue(eventData, expression).asNumber();
+    }
+
+    private static double decodeDouble(JsonObject eventData,
+            String expression) {
+        return getValue(eventData, expression).asNumber();
+    }
+
+    private static String decodeString(JsonObject eventData,
+            String expression) {
+        JsonValue value = eventData.get(expression);
+        if (value == null || value.getType() == JsonType.NULL) {
+            return null;
+        }
+        return value.asString();
+    }
+
+    private static JsonValue decodeJson(JsonObject eventData,
+            String expression) {
+        JsonValue value = eventData.get(expression);
+        if (value == null || value.getType() == JsonType.NULL) {
+            return null;
+        }
+        return value;
+    }
+
+    private static Object decodeAs(JsonObject eventData, String expression,
+            Class<?> type) {
+        return JsonCodec.decodeAs(getValue(eventData, expression), type);
+    }
+}
@@ -39,6 +39,7 @@ import com.vaadin.flow.component.internal.ComponentMetaData.DependencyInfo;
 import com.vaadin.flow.component.page.ExtendedClientDetails;
 import com.vaadin.flow.component.page.Page;
 import com.vaadin.flow.dom.impl.BasicElementStateProvider;
+import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.StateTree;
@@ -152,6 +153,8 @@ public class UIInternals implements Serializable {
 
     private List<PendingJavaScriptInvocation> pendingJsInvocations = new ArrayList<>();
 
+    private List<SerializableSupplier<Integer>> dataKeyCounters;
+
     /**
      * The related UI.
      */
@@ -581,6 +584,53 @@ public class UIInternals implements Serializable {
                 .filter(invocation -> !invocation.isCanceled());
     }
 
+    /**
+     * Gets the number of JavaScript invocations that are waiting to be sent to
+     * the client.
+     *
+     * @return the number of pending invocations
+     */
+    public int getPendingJavaScriptInvocationCount() {
+        return pendingJsInvocations.size();
+    }
+
+    /**
+     * Adds a counter for the item keys that a data communicator of this UI
+     * keeps for the client side. The counters are used when estimating the
+     * memory footprint of the UI.
+     *
+     * @param counter
+     *            the supplier of the current number of keys, not
+     *            <code>null</code>
+     * @return a registration for removing the counter
+     */
+    public Registration addDataKeyCounter(
+            SerializableSupplier<Integer> counter) {
+        assert counter != null;
+        if (dataKeyCounters == null) {
+            dataKeyCounters = new ArrayList<>();
+        }
+        dataKeyCounters.add(counter);
+        return () -> dataKeyCounters.remove(counter);
+    }
+
+    /**
+     * Gets the total number of item keys kept by the data communicators of
+     * this UI.
+     *
+     * @return the number of data keys
+     */
+    public int getDataKeyCount() {
+        if (dataKeyCounters == null) {
+            return 0;
+        }
+        int count = 0;
+        for (SerializableSupplier<Integer> counter : dataKeyCounters) {
+            count += counter.get().intValue();
+        }
+        return count;
+    }
+
     /**
      * Records the page title set with {@link Page#setTitle(String)}.
      * <p>
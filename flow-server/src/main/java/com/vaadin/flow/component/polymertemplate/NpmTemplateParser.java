@@ -18,10 +18,8 @@ package com.vaadin.flow.component.polymertemplate;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.jsoup.UncheckedIOException;
@@ -30,17 +28,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.dependency.JsModule;
-import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.Pair;
 import com.vaadin.flow.server.DependencyFilter;
 import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.frontend.FrontendManifest;
 import com.vaadin.flow.server.frontend.FrontendUtils;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
 
-import elemental.json.JsonObject;
-
 /**
  * Npm template parser implementation.
  * <p>
@@ -61,10 +57,6 @@ public class NpmTemplateParser implements TemplateParser {
 
     private static final TemplateParser INSTANCE = new NpmTemplateParser();
 
-    private final HashMap<String, String> cache = new HashMap<>();
-    private final ReentrantLock lock = new ReentrantLock();
-    private JsonObject jsonStats;
-
     /**
      * The default constructor. Protected in order to prevent direct instantiation,
      * but not private in order to allow mocking/overrides for testing purposes.
@@ -180,63 +172,30 @@ public class NpmTemplateParser implements TemplateParser {
 
     private String getSourcesFromStats(VaadinService service, String url)
             throws IOException {
-        try {
-            lock.lock();
-            if (isStatsFileReadNeeded(service)) {
-                String content = FrontendUtils.getStatsContent(service);
-                if (content != null) {
-                    resetCache(content);
-                }
-            }
-        } finally {
-            lock.unlock();
-        }
-        if (!cache.containsKey(url) && jsonStats != null) {
-            cache.put(url,
-                    BundleParser.getSourceFromStatistics(url, jsonStats));
-        }
-        return cache.get(url);
+        FrontendManifest manifest = FrontendManifest.get(service);
+        return manifest == null ? null : manifest.getModuleSource(url);
     }
 
     /**
      * Check status to see if stats.json needs to be loaded and parsed.
-     * <p>
-     * Always load if jsonStats is null, never load again when we have a bundle
-     * as it never changes, always load a new stats if the hash has changed and
-     * we do not have a bundle.
      *
      * @param service
      *            the Vaadin service.
      * @return {@code true} if we need to re-load and parse stats.json, else
      *         {@code false}
+     * @throws IOException
+     *             if requesting the stats hash from the dev server fails
+     * @deprecated stats.json is loaded and cached by
+     *             {@link FrontendManifest}, which is shared by all template
+     *             parsers of the service. This method is no longer called by
+     *             the parser, use
+     *             {@link FrontendManifest#isLoadNeeded(VaadinService)}
+     *             instead.
      */
+    @Deprecated
     protected boolean isStatsFileReadNeeded(VaadinService service)
             throws IOException {
-        DeploymentConfiguration config = service.getDeploymentConfiguration();
-        if (jsonStats == null) {
-            return true;
-        } else if (usesBundleFile(config)) {
-            return false;
-        }
-        return !jsonStats.get("hash").asString()
-                .equals(FrontendUtils.getStatsHash(service));
-    }
-
-    /**
-     * Check if we are running in a mode without dev server and using a pre-made
-     * bundle file.
-     *
-     * @param config
-     *            deployment configuration
-     * @return true if production mode or disabled dev server
-     */
-    private boolean usesBundleFile(DeploymentConfiguration config) {
-        return config.isProductionMode() && !config.enableDevServer();
-    }
-
-    private void resetCache(String fileContents) {
-        cache.clear();
-        jsonStats = BundleParser.parseJsonStatistics(fileContents);
+        return FrontendManifest.isLoadNeeded(service);
     }
 
     private Logger getLogger() {
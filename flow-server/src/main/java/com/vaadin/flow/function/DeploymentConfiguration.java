@@ -273,6 +273,140 @@ public interface DeploymentConfiguration extends Serializable {
         return getBooleanProperty(Constants.SERVLET_PARAMETER_BROTLI, false);
     }
 
+    /**
+     * Checks whether UIDL responses and push messages should be streamed
+     * directly to the client instead of first being built as a JSON tree in
+     * memory.
+     *
+     * @return <code>true</code> to stream UIDL messages, <code>false</code>
+     *         to build the full message before sending it
+     */
+    default boolean isStreamingUidl() {
+        return getBooleanProperty(Constants.SERVLET_PARAMETER_STREAMING_UIDL,
+                false);
+    }
+
+    /**
+     * Gets the maximum number of characters of inline dependency contents to
+     * cache per service. A value of <code>0</code> disables the cache.
+     *
+     * @return the maximum size of the inline dependency cache
+     */
+    default int getInlineDependencyCacheSize() {
+        return getApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_INLINE_DEPENDENCY_CACHE_SIZE,
+                Constants.DEFAULT_INLINE_DEPENDENCY_CACHE_SIZE,
+                Integer::parseInt);
+    }
+
+    /**
+     * Checks whether a push connection should wait for the previous message
+     * to be delivered before sending the next one. Pushes made while a
+     * message is in flight are merged into one message which is sent once
+     * the previous message has been delivered.
+     *
+     * @return <code>true</code> to keep at most one push message in flight
+     *         per connection, <code>false</code> to send each push right
+     *         away
+     */
+    default boolean isPushBackpressure() {
+        return getBooleanProperty(Constants.SERVLET_PARAMETER_PUSH_BACKPRESSURE,
+                false);
+    }
+
+    /**
+     * Gets the number of milliseconds that session access tasks submitted
+     * from threads not holding the session lock are collected before they
+     * are run. All tasks collected for a session are run with one lock
+     * acquisition, producing one push for the session. A value of
+     * <code>0</code> runs each task as soon as the session lock is available.
+     *
+     * @return the access coalescing window in milliseconds
+     */
+    default int getAccessCoalescingWindow() {
+        return getApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_ACCESS_COALESCING_WINDOW, 0,
+                Integer::parseInt);
+    }
+
+    /**
+     * Checks whether the estimated memory footprint of each session is
+     * tracked at the end of each request and published through JMX.
+     *
+     * @return <code>true</code> to track session memory footprints,
+     *         <code>false</code> otherwise
+     */
+    default boolean isSessionMemoryAccounting() {
+        return getBooleanProperty(
+                Constants.SERVLET_PARAMETER_SESSION_MEMORY_ACCOUNTING, false);
+    }
+
+    /**
+     * Gets the estimated number of bytes that a session may use before the
+     * session memory limit listeners are notified. Only used when session
+     * memory accounting is enabled. A value of <code>0</code> means that
+     * there is no limit.
+     *
+     * @return the soft memory limit of a session in bytes
+     */
+    default long getSessionMemoryLimit() {
+        return getApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_SESSION_MEMORY_LIMIT, 0L,
+                Long::parseLong);
+    }
+
+    /**
+     * Checks whether state changes should be sent to the client as positional
+     * arrays with numeric change types and a key table per message, instead of
+     * as one JSON object per change.
+     *
+     * @return <code>true</code> to use the compact change format,
+     *         <code>false</code> to use the default format
+     */
+    default boolean isCompactChanges() {
+        return getBooleanProperty(Constants.SERVLET_PARAMETER_COMPACT_CHANGES,
+                false);
+    }
+
+    /**
+     * Checks whether UIDL responses should be gzip compressed by the framework
+     * for clients accepting it. Enable this when the container or a proxy does
+     * not compress the responses.
+     *
+     * @return <code>true</code> to compress UIDL responses,
+     *         <code>false</code> otherwise
+     */
+    default boolean isUidlCompression() {
+        return getBooleanProperty(Constants.SERVLET_PARAMETER_UIDL_COMPRESSION,
+                false);
+    }
+
+    /**
+     * Gets the minimum size in bytes of a UIDL response to compress when UIDL
+     * compression is enabled. Smaller responses are sent as is.
+     *
+     * @return the compression threshold in bytes
+     */
+    default int getUidlCompressionThreshold() {
+        return getApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD,
+                Constants.DEFAULT_UIDL_COMPRESSION_THRESHOLD,
+                Integer::parseInt);
+    }
+
+    /**
+     * Checks whether the client should send RPC invocations to the server as
+     * positional arrays with numeric invocation types instead of as JSON
+     * objects. The server accepts both formats regardless of this setting.
+     *
+     * @return <code>true</code> to use the compact invocation format,
+     *         <code>false</code> to use the default format
+     */
+    default boolean isCompactRpc() {
+        return getBooleanProperty(Constants.SERVLET_PARAMETER_COMPACT_RPC,
+                false);
+    }
+
     default String getCompiledWebComponentsPath() {
         return getStringProperty(Constants.COMPILED_WEB_COMPONENTS_PATH,
                 "vaadin-web-components");
@@ -16,8 +16,8 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 import elemental.json.Json;
 import elemental.json.JsonObject;
@@ -31,9 +31,17 @@ import elemental.json.JsonObject;
  */
 public class ConstantPool implements Serializable {
 
-    private Set<String> knownValues = new HashSet<>();
+    /*
+     * Open addressing hash set of the hashes of the known constants. The
+     * hashes are the first 64 bits of a SHA-256 digest, so they can be used as
+     * is without further mixing. 0 marks an empty slot and is tracked
+     * separately.
+     */
+    private long[] knownHashes = new long[16];
+    private int knownCount;
+    private boolean knownZero;
 
-    private Set<ConstantPoolKey> newKeys = new HashSet<>();
+    private List<ConstantPoolKey> newKeys = new ArrayList<>();
 
     /**
      * Gets the id of a given constant, registering the constant with this
@@ -48,13 +56,11 @@ public class ConstantPool implements Serializable {
     public String getConstantId(ConstantPoolKey constant) {
         assert constant != null;
 
-        String id = constant.getId();
-
-        if (knownValues.add(id)) {
+        if (addKnownHash(constant.getHash())) {
             newKeys.add(constant);
         }
 
-        return id;
+        return constant.getId();
     }
 
     /**
@@ -83,4 +89,43 @@ public class ConstantPool implements Serializable {
         return json;
     }
 
+    private boolean addKnownHash(long hash) {
+        if (hash == 0) {
+            boolean added = !knownZero;
+            knownZero = true;
+            return added;
+        }
+
+        int mask = knownHashes.length - 1;
+        int index = (int) (hash ^ (hash >>> 32)) & mask;
+        while (knownHashes[index] != 0) {
+            if (knownHashes[index] == hash) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        knownHashes[index] = hash;
+        knownCount++;
+
+        // Keep the load factor at most 0.5
+        if (knownCount * 2 > knownHashes.length) {
+            rehash(knownHashes.length * 2);
+        }
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldHashes = knownHashes;
+        knownHashes = new long[capacity];
+        int mask = capacity - 1;
+        for (long hash : oldHashes) {
+            if (hash != 0) {
+                int index = (int) (hash ^ (hash >>> 32)) & mask;
+                while (knownHashes[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                knownHashes[index] = hash;
+            }
+        }
+    }
 }
@@ -16,9 +16,12 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import elemental.json.JsonObject;
 import elemental.json.JsonValue;
@@ -36,7 +39,16 @@ import elemental.json.JsonValue;
  * @since 1.0
  */
 public class ConstantPoolKey implements Serializable {
+    /*
+     * Keys by their JSON string. An entry is removed when its key is no longer
+     * referenced, since the JSON string map key is only strongly referenced by
+     * the constant pool key itself.
+     */
+    private static final Map<String, WeakReference<ConstantPoolKey>> internedKeys = new WeakHashMap<>();
+
     private final JsonValue json;
+    private final String jsonString;
+    private final long hash;
     private final String id;
 
     /**
@@ -46,12 +58,48 @@ public class ConstantPoolKey implements Serializable {
      *
      * @param json
      *            the JSON constant, not <code>null</code>
+     * @see #intern(JsonValue)
      */
     public ConstantPoolKey(JsonValue json) {
+        this(json, json.toJson());
+    }
+
+    private ConstantPoolKey(JsonValue json, String jsonString) {
         assert json != null;
         this.json = json;
+        this.jsonString = jsonString;
 
-        id = calculateHash(json);
+        hash = calculateHash(jsonString);
+        id = encodeId(hash);
+    }
+
+    /**
+     * Gets a constant pool key for the given JSON value, reusing the existing
+     * key instance if a key for an identical JSON value is still in use
+     * anywhere in the application. The hash of each distinct value is thus
+     * only calculated once for as long as the value is in use.
+     * <p>
+     * The value should not be modified after this method has been called since
+     * it might cause the constant pool value to be inconsistent.
+     *
+     * @param json
+     *            the JSON constant, not <code>null</code>
+     * @return a constant pool key for the JSON value, not <code>null</code>
+     */
+    public static ConstantPoolKey intern(JsonValue json) {
+        assert json != null;
+        String jsonString = json.toJson();
+
+        synchronized (internedKeys) {
+            WeakReference<ConstantPoolKey> reference = internedKeys
+                    .get(jsonString);
+            ConstantPoolKey key = reference == null ? null : reference.get();
+            if (key == null) {
+                key = new ConstantPoolKey(json, jsonString);
+                internedKeys.put(key.jsonString, new WeakReference<>(key));
+            }
+            return key;
+        }
     }
 
     /**
@@ -63,6 +111,15 @@ public class ConstantPoolKey implements Serializable {
         return id;
     }
 
+    /**
+     * Gets the 64 bit hash that the id of this key is an encoding of.
+     *
+     * @return the hash of the referenced JSON constant
+     */
+    public long getHash() {
+        return hash;
+    }
+
     /**
      * Exports the this key into a JSON object to send to the client. This
      * method should be called only by the {@link ConstantPool} instance that
@@ -73,27 +130,31 @@ public class ConstantPoolKey implements Serializable {
      *            <code>null</code>
      */
     public void export(JsonObject clientConstantPoolUpdate) {
-        assert id.equals(calculateHash(json)) : "Json value has been changed";
+        assert jsonString.equals(json.toJson()) : "Json value has been changed";
 
         clientConstantPoolUpdate.put(id, json);
     }
 
     /**
-     * Calculates the key of a JSON value by Base 64 encoding the first 64 bits
-     * of the SHA-256 digest of the JSON's string representation.
+     * Calculates the hash of a JSON value by taking the first 64 bits of the
+     * SHA-256 digest of the JSON's string representation.
      *
-     * @param json
-     *            the JSON to get a hash of, not <code>null</code>
-     * @return the key uniquely identifying the given JSON value
+     * @param jsonString
+     *            the string representation of the JSON, not <code>null</code>
+     * @return the hash uniquely identifying the given JSON value
      */
-    private static String calculateHash(JsonValue json) {
-        byte[] digest = MessageDigestUtil.sha256(json.toJson());
+    private static long calculateHash(String jsonString) {
+        byte[] digest = MessageDigestUtil.sha256(jsonString);
 
         /*
          * Only use first 64 bits to keep id string short (1 in 100 000 000
          * collision risk with 500 000 items). 64 bits base64 -> 11 ASCII chars
          */
-        ByteBuffer truncatedDigest = ByteBuffer.wrap(digest, 0, 8);
+        return ByteBuffer.wrap(digest, 0, 8).getLong();
+    }
+
+    private static String encodeId(long hash) {
+        ByteBuffer truncatedDigest = ByteBuffer.allocate(8).putLong(0, hash);
 
         ByteBuffer base64Bytes = Base64.getEncoder().encode(truncatedDigest);
 
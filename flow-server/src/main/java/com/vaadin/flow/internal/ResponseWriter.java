@@ -28,6 +28,9 @@ import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,8 +48,18 @@ import static com.vaadin.flow.server.Constants.VAADIN_BUILD_FILES_PATH;
 public class ResponseWriter implements Serializable {
     private static final int DEFAULT_BUFFER_SIZE = 32 * 1024;
 
+    // Upper bound for the number of remembered compressed resource lookups
+    private static final int MAX_CACHED_LOOKUPS = 10000;
+
     private final int bufferSize;
     private final boolean brotliEnabled;
+    private final boolean productionMode;
+
+    // Results of looking up precompressed resources, only used in production
+    // mode where the resources don't change
+    private final Map<String, URL> compressedResources = new ConcurrentHashMap<>();
+    private final Set<String> missingCompressedResources = ConcurrentHashMap
+            .newKeySet();
 
     /**
      * Create a response writer with the given deployment configuration.
@@ -55,12 +68,15 @@ public class ResponseWriter implements Serializable {
      *            the deployment configuration to use, not <code>null</code>
      */
     public ResponseWriter(DeploymentConfiguration deploymentConfiguration) {
-        this(DEFAULT_BUFFER_SIZE, deploymentConfiguration.isBrotli());
+        this(DEFAULT_BUFFER_SIZE, deploymentConfiguration.isBrotli(),
+                deploymentConfiguration.isProductionMode());
     }
 
-    private ResponseWriter(int bufferSize, boolean brotliEnabled) {
+    private ResponseWriter(int bufferSize, boolean brotliEnabled,
+            boolean productionMode) {
         this.brotliEnabled = brotliEnabled;
         this.bufferSize = bufferSize;
+        this.productionMode = productionMode;
     }
 
     /**
@@ -90,7 +106,8 @@ public class ResponseWriter implements Serializable {
         if (brotliEnabled && acceptsBrotliResource(request)) {
             String brotliFilenameWithPath = filenameWithPath + ".br";
             try {
-                URL url = getResource(request, brotliFilenameWithPath);
+                URL url = getCompressedResource(request,
+                        brotliFilenameWithPath);
                 if (url != null) {
                     connection = url.openConnection();
                     dataStream = connection.getInputStream();
@@ -107,7 +124,8 @@ public class ResponseWriter implements Serializable {
             // try to serve a gzipped version if available
             String gzippedFilenameWithPath = filenameWithPath + ".gz";
             try {
-                URL url = getResource(request, gzippedFilenameWithPath);
+                URL url = getCompressedResource(request,
+                        gzippedFilenameWithPath);
                 if (url != null) {
                     connection = url.openConnection();
                     dataStream = connection.getInputStream();
@@ -150,6 +168,27 @@ public class ResponseWriter implements Serializable {
         }
     }
 
+    private URL getCompressedResource(HttpServletRequest request,
+            String resource) throws MalformedURLException {
+        if (!productionMode) {
+            return getResource(request, resource);
+        }
+        URL url = compressedResources.get(resource);
+        if (url != null || missingCompressedResources.contains(resource)) {
+            return url;
+        }
+        url = getResource(request, resource);
+        if (compressedResources.size()
+                + missingCompressedResources.size() < MAX_CACHED_LOOKUPS) {
+            if (url != null) {
+                compressedResources.put(resource, url);
+            } else {
+                missingCompressedResources.add(resource);
+            }
+        }
+        return url;
+    }
+
     private URL getResource(HttpServletRequest request, String resource)
             throws MalformedURLException {
         URL url = request.getServletContext().getResource(resource);
@@ -230,7 +269,22 @@ public class ResponseWriter implements Serializable {
 
     private static boolean acceptsEncoding(HttpServletRequest request,
             String encodingName) {
-        String accept = request.getHeader("Accept-Encoding");
+        return acceptsEncoding(request.getHeader("Accept-Encoding"),
+                encodingName);
+    }
+
+    /**
+     * Checks whether the given <code>Accept-Encoding</code> header value
+     * accepts the given content encoding.
+     *
+     * @param accept
+     *            the value of the <code>Accept-Encoding</code> header, or
+     *            {@code null} if the request has no such header
+     * @param encodingName
+     *            the name of the encoding, e.g. <code>gzip</code>
+     * @return true if the encoding is accepted, false otherwise
+     */
+    public static boolean acceptsEncoding(String accept, String encodingName) {
         if (accept == null) {
             return false;
         }
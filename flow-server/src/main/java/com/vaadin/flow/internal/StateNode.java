@@ -116,6 +116,12 @@ public class StateNode implements Serializable {
          */
         private final Map<Class<? extends NodeFeature>, Integer> mappings = new HashMap<>();
 
+        /**
+         * The {@link NodeFeatureRegistry} id of the feature at each index of
+         * the {@link #features} array.
+         */
+        private final int[] featureIds;
+
         public FeatureSet(FeatureSetKey featureSetKey) {
             reportedFeatures = featureSetKey.reportedFeatures;
 
@@ -123,6 +129,13 @@ public class StateNode implements Serializable {
                     .sorted(NodeFeatureRegistry.PRIORITY_COMPARATOR)
                     .forEach(key -> mappings.put(key,
                             Integer.valueOf(mappings.size())));
+
+            // The bits of changedFeatures are indexed by the feature index
+            assert mappings.size() <= Long.SIZE;
+
+            featureIds = new int[mappings.size()];
+            mappings.forEach((type, index) -> featureIds[index
+                    .intValue()] = NodeFeatureRegistry.getId(type));
         }
     }
 
@@ -138,7 +151,13 @@ public class StateNode implements Serializable {
      */
     private Serializable features;
 
-    private Map<Class<? extends NodeFeature>, Serializable> changes;
+    /*
+     * Bit set of the feature indexes that have a change tracker, and the
+     * change trackers by feature index. The array is kept as short as possible
+     * in the same way as the features array.
+     */
+    private long changedFeatures;
+    private Serializable[] changeTrackers;
 
     private List<Command> attachListeners;
 
@@ -150,6 +169,9 @@ public class StateNode implements Serializable {
 
     private int id = -1;
 
+    // The tree whose dirty node list this node is in, managed by StateTree
+    private StateTree dirtyMarker;
+
     // Only the root node is attached at this point
     private boolean wasAttached = isAttached();
 
@@ -414,6 +436,7 @@ public class StateNode implements Serializable {
         } else if (featureIndex == 0 && features == null) {
             feature = NodeFeatureRegistry.create(featureType, this);
             features = feature;
+            onFeatureInitialized(featureIndex);
         } else {
             NodeFeature[] featuresArray;
             if (features instanceof NodeFeature[]) {
@@ -439,12 +462,42 @@ public class StateNode implements Serializable {
             if (feature == null) {
                 feature = NodeFeatureRegistry.create(featureType, this);
                 featuresArray[featureIndex] = feature;
+                onFeatureInitialized(featureIndex);
             }
         }
 
         return featureType.cast(feature);
     }
 
+    private void onFeatureInitialized(int featureIndex) {
+        if (owner instanceof StateTree) {
+            ((StateTree) owner).onFeatureInitialized(this,
+                    featureSet.featureIds[featureIndex]);
+        }
+    }
+
+    /**
+     * Adds the given delta to the count of each initialized feature of this
+     * node.
+     *
+     * @param featureCounts
+     *            feature counts indexed by {@link NodeFeatureRegistry} id
+     * @param delta
+     *            the amount to add to the count of each initialized feature
+     */
+    void updateFeatureCounts(int[] featureCounts, int delta) {
+        if (features instanceof NodeFeature) {
+            featureCounts[featureSet.featureIds[0]] += delta;
+        } else if (features instanceof NodeFeature[]) {
+            NodeFeature[] featuresArray = (NodeFeature[]) features;
+            for (int i = 0; i < featuresArray.length; i++) {
+                if (featuresArray[i] != null) {
+                    featureCounts[featureSet.featureIds[i]] += delta;
+                }
+            }
+        }
+    }
+
     private <T extends NodeFeature> int getFeatureIndex(Class<T> featureType) {
         assert featureType != null;
 
@@ -531,6 +584,27 @@ public class StateNode implements Serializable {
         owner.markAsDirty(this);
     }
 
+    /**
+     * Gets the state tree that has this node in its list of dirty nodes.
+     *
+     * @return the state tree, or <code>null</code> if the node isn't in any
+     *         dirty node list
+     */
+    StateTree getDirtyMarker() {
+        return dirtyMarker;
+    }
+
+    /**
+     * Sets the state tree that has this node in its list of dirty nodes.
+     *
+     * @param dirtyMarker
+     *            the state tree, or <code>null</code> to mark the node as not
+     *            being in any dirty node list
+     */
+    void setDirtyMarker(StateTree dirtyMarker) {
+        this.dirtyMarker = dirtyMarker;
+    }
+
     /**
      * Checks whether this node is attached to a state tree.
      *
@@ -607,16 +681,19 @@ public class StateNode implements Serializable {
             Stream<NodeFeature> features) {
         features.filter(this::hasChangeTracker).forEach(feature -> {
             feature.collectChanges(collector);
-            changes.remove(feature.getClass());
+            int featureIndex = getFeatureIndex(feature.getClass());
+            changedFeatures &= ~(1L << featureIndex);
+            changeTrackers[featureIndex] = null;
         });
         isInitialChanges = false;
-        if (changes != null && changes.isEmpty()) {
-            changes = null;
+        if (changedFeatures == 0) {
+            changeTrackers = null;
         }
     }
 
     private boolean hasChangeTracker(NodeFeature nodeFeature) {
-        return changes != null && changes.containsKey(nodeFeature.getClass());
+        return (changedFeatures
+                & (1L << getFeatureIndex(nodeFeature.getClass()))) != 0;
     }
 
     /**
@@ -624,7 +701,8 @@ public class StateNode implements Serializable {
      * testing purposes.
      */
     public void clearChanges() {
-        changes = null;
+        changedFeatures = 0;
+        changeTrackers = null;
     }
 
     /**
@@ -814,12 +892,21 @@ public class StateNode implements Serializable {
     @SuppressWarnings("unchecked")
     public <T extends Serializable> T getChangeTracker(NodeFeature feature,
             Supplier<T> factory) {
-        if (changes == null) {
-            changes = new HashMap<>();
+        int featureIndex = getFeatureIndex(feature.getClass());
+        if ((changedFeatures & (1L << featureIndex)) != 0) {
+            return (T) changeTrackers[featureIndex];
+        }
+
+        if (changeTrackers == null) {
+            changeTrackers = new Serializable[featureIndex + 1];
+        } else if (featureIndex >= changeTrackers.length) {
+            changeTrackers = Arrays.copyOf(changeTrackers, featureIndex + 1);
         }
 
-        return (T) changes.computeIfAbsent(feature.getClass(),
-                k -> factory.get());
+        T changeTracker = factory.get();
+        changeTrackers[featureIndex] = changeTracker;
+        changedFeatures |= 1L << featureIndex;
+        return changeTracker;
     }
 
     /**
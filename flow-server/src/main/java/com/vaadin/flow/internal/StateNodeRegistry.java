@@ -0,0 +1,188 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.Serializable;
+import java.util.function.Consumer;
+
+/**
+ * Table of the state nodes registered with a {@link StateTree}, by node id.
+ * <p>
+ * The nodes are stored in an open addressing table indexed by the node id, so
+ * registering and finding a node neither boxes the id nor allocates a map
+ * entry. Since ids are handed out sequentially, the ids of the registered
+ * nodes rarely collide and the table is in practice a dense array of the
+ * nodes. Ids are not reused when nodes are unregistered, since the client may
+ * still refer to an unregistered node in messages that were sent before it
+ * received the detach.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+class StateNodeRegistry implements Serializable {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private StateNode[] nodes = new StateNode[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Gets the node registered with the given id.
+     *
+     * @param id
+     *            the node id
+     * @return the node, or <code>null</code> if no node is registered with
+     *         the id
+     */
+    StateNode get(int id) {
+        int mask = nodes.length - 1;
+        for (int index = id & mask; nodes[index] != null; index = (index + 1)
+                & mask) {
+            if (ids[index] == id) {
+                return nodes[index];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a node is registered with the given id.
+     *
+     * @param id
+     *            the node id
+     * @return <code>true</code> if the id is in use, <code>false</code>
+     *         otherwise
+     */
+    boolean contains(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Registers a node with the given id, replacing any node registered with
+     * the same id.
+     *
+     * @param id
+     *            the node id, greater than 0
+     * @param node
+     *            the node to register, not <code>null</code>
+     */
+    void put(int id, StateNode node) {
+        assert id > 0;
+        assert node != null;
+
+        int mask = nodes.length - 1;
+        int index = id & mask;
+        while (nodes[index] != null) {
+            if (ids[index] == id) {
+                nodes[index] = node;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        ids[index] = id;
+        nodes[index] = node;
+        size++;
+
+        // Keep the load factor at most 0.5 so that probe sequences stay short
+        if (size * 2 > nodes.length) {
+            resize(nodes.length * 2);
+        }
+    }
+
+    /**
+     * Unregisters the node with the given id.
+     *
+     * @param id
+     *            the node id
+     * @return the unregistered node, or <code>null</code> if no node was
+     *         registered with the id
+     */
+    StateNode remove(int id) {
+        int mask = nodes.length - 1;
+        int index = id & mask;
+        while (nodes[index] != null && ids[index] != id) {
+            index = (index + 1) & mask;
+        }
+        StateNode removed = nodes[index];
+        if (removed == null) {
+            return null;
+        }
+
+        /*
+         * Shift back the following entries of the probe sequence that would
+         * otherwise no longer be found, instead of leaving a tombstone.
+         */
+        int gap = index;
+        for (int next = (gap + 1) & mask; nodes[next] != null; next = (next
+                + 1) & mask) {
+            int home = ids[next] & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                ids[gap] = ids[next];
+                nodes[gap] = nodes[next];
+                gap = next;
+            }
+        }
+        ids[gap] = 0;
+        nodes[gap] = null;
+        size--;
+
+        return removed;
+    }
+
+    /**
+     * Gets the number of registered nodes.
+     *
+     * @return the number of nodes
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Passes each registered node to the given action, in no particular
+     * order. The registry must not be modified by the action.
+     *
+     * @param action
+     *            the action to run for each node, not <code>null</code>
+     */
+    void forEach(Consumer<StateNode> action) {
+        for (StateNode node : nodes) {
+            if (node != null) {
+                action.accept(node);
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] oldIds = ids;
+        StateNode[] oldNodes = nodes;
+        ids = new int[capacity];
+        nodes = new StateNode[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldNodes.length; i++) {
+            if (oldNodes[i] != null) {
+                int index = oldIds[i] & mask;
+                while (nodes[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                ids[index] = oldIds[i];
+                nodes[index] = oldNodes[i];
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -33,6 +34,7 @@ import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.internal.change.NodeChange;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
+import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.UidlWriter;
 import com.vaadin.flow.shared.Registration;
@@ -131,9 +133,30 @@ public class StateTree implements NodeOwner {
         void remove();
     }
 
-    private Set<StateNode> dirtyNodes = new LinkedHashSet<>();
+    private static final int INITIAL_DIRTY_CAPACITY = 16;
 
-    private final Map<Integer, StateNode> idToNode = new HashMap<>();
+    /*
+     * Nodes in the order they were marked dirty. A node is in the list if its
+     * dirty marker is this tree, so marking a node dirty again doesn't add it
+     * twice. The spare list is the list that was collected previously and is
+     * reused for the next collection.
+     */
+    private StateNode[] dirtyNodes = new StateNode[INITIAL_DIRTY_CAPACITY];
+    private int dirtyNodeCount;
+    private StateNode[] spareDirtyNodes = new StateNode[INITIAL_DIRTY_CAPACITY];
+
+    private final StateNodeRegistry idToNode = new StateNodeRegistry();
+
+    private static final int FEATURE_ID_COUNT = NodeFeatureRegistry
+            .getFeatures().stream().mapToInt(NodeFeatureRegistry::getId).max()
+            .orElse(-1) + 1;
+
+    /*
+     * The number of initialized features of the registered nodes by feature
+     * id. Only kept once the counts have been requested, so that trees not
+     * used for memory accounting have no bookkeeping overhead.
+     */
+    private int[] featureCounts;
 
     private int nextId = 1;
 
@@ -183,7 +206,7 @@ public class StateTree implements NodeOwner {
         int id = node.getId();
 
         int nodeId;
-        if (id > 0 && !idToNode.containsKey(id)) {
+        if (id > 0 && !idToNode.contains(id)) {
             // Node already had an id, continue using it
 
             // Don't accept an id that we haven't yet handed out
@@ -195,6 +218,9 @@ public class StateTree implements NodeOwner {
         }
 
         idToNode.put(nodeId, node);
+        if (featureCounts != null) {
+            node.updateFeatureCounts(featureCounts, 1);
+        }
 
         if (node.hasBeforeClientResponseEntries()) {
             pendingExecutionNodes.add(node);
@@ -207,7 +233,7 @@ public class StateTree implements NodeOwner {
     public void unregister(StateNode node) {
         assert node.getOwner() == this;
 
-        Integer id = node.getId();
+        int id = node.getId();
 
         StateNode removedNode = idToNode.remove(id);
 
@@ -221,13 +247,31 @@ public class StateTree implements NodeOwner {
                     "Unregistered node was not found based on its id. The tree is most likely corrupted.");
         }
 
+        if (featureCounts != null) {
+            node.updateFeatureCounts(featureCounts, -1);
+        }
         pendingExecutionNodes.remove(node);
     }
 
+    /**
+     * Updates the feature counts, if they are kept, when a feature of a node
+     * owned by this tree has been initialized.
+     *
+     * @param node
+     *            the node of the feature, not <code>null</code>
+     * @param featureId
+     *            the {@link NodeFeatureRegistry} id of the feature
+     */
+    void onFeatureInitialized(StateNode node, int featureId) {
+        if (featureCounts != null && hasNode(node)) {
+            featureCounts[featureId]++;
+        }
+    }
+
     @Override
     public boolean hasNode(StateNode node) {
         assert node.getOwner() == this;
-        return idToNode.containsKey(node.getId());
+        return idToNode.contains(node.getId());
     }
 
     /**
@@ -243,6 +287,41 @@ public class StateTree implements NodeOwner {
         return idToNode.get(id);
     }
 
+    /**
+     * Gets the number of nodes registered with this tree.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return idToNode.size();
+    }
+
+    /**
+     * Gets the number of initialized features of the nodes registered with
+     * this tree, by feature type. The features of all the nodes are counted
+     * on the first call, after which the counts are kept up to date as nodes
+     * are attached and detached, so later calls don't visit the nodes.
+     *
+     * @return the number of features by feature type, only containing the
+     *         types with at least one feature
+     */
+    public Map<Class<? extends NodeFeature>, Integer> getFeatureCounts() {
+        if (featureCounts == null) {
+            int[] counts = new int[FEATURE_ID_COUNT];
+            idToNode.forEach(node -> node.updateFeatureCounts(counts, 1));
+            featureCounts = counts;
+        }
+
+        Map<Class<? extends NodeFeature>, Integer> counts = new HashMap<>();
+        for (int id = 0; id < featureCounts.length; id++) {
+            if (featureCounts[id] > 0) {
+                counts.put(NodeFeatureRegistry.getFeature(id),
+                        featureCounts[id]);
+            }
+        }
+        return counts;
+    }
+
     /**
      * Collects all changes made to this tree since the last time
      * {@link #collectChanges(Consumer)} has been called.
@@ -257,20 +336,27 @@ public class StateTree implements NodeOwner {
      *            a consumer accepting node changes
      */
     public void collectChanges(Consumer<NodeChange> collector) {
-        Set<StateNode> allDirtyNodes = new LinkedHashSet<>();
-        boolean evaluateNewDirtyNodes = true;
-
-        // The updateActiveState method can create new dirty nodes, so they need
-        // to be collected as well
-        while (evaluateNewDirtyNodes) {
-            Set<StateNode> dirtyNodesSet = doCollectDirtyNodes(true);
-            dirtyNodesSet.forEach(StateNode::updateActiveState);
-            evaluateNewDirtyNodes = allDirtyNodes.addAll(dirtyNodesSet);
+        // The updateActiveState method can create new dirty nodes, which are
+        // appended to the list and thus also evaluated by this loop
+        for (int i = 0; i < dirtyNodeCount; i++) {
+            StateNode node = dirtyNodes[i];
+            if (node.getDirtyMarker() == this) {
+                node.updateActiveState();
+            }
         }
 
+        StateNode[] collectedNodes = dirtyNodes;
+        int collectedCount = resetDirtyNodes();
+
         // TODO fire preCollect events
 
-        allDirtyNodes.forEach(node -> node.collectChanges(collector));
+        for (int i = 0; i < collectedCount; i++) {
+            StateNode node = collectedNodes[i];
+            collectedNodes[i] = null;
+            if (node != null) {
+                node.collectChanges(collector);
+            }
+        }
     }
 
     @Override
@@ -278,7 +364,15 @@ public class StateTree implements NodeOwner {
         assert node.getOwner() == this;
         checkHasLock();
 
-        dirtyNodes.add(node);
+        if (node.getDirtyMarker() == this) {
+            return;
+        }
+        node.setDirtyMarker(this);
+
+        if (dirtyNodeCount == dirtyNodes.length) {
+            dirtyNodes = Arrays.copyOf(dirtyNodes, dirtyNodeCount * 2);
+        }
+        dirtyNodes[dirtyNodeCount++] = node;
     }
 
     /**
@@ -287,7 +381,13 @@ public class StateTree implements NodeOwner {
      * @return a set of dirty nodes, in the order they were marked dirty
      */
     public Set<StateNode> collectDirtyNodes() {
-        return doCollectDirtyNodes(false);
+        Set<StateNode> collectedNodes = new LinkedHashSet<>();
+        for (int i = 0; i < dirtyNodeCount; i++) {
+            if (dirtyNodes[i].getDirtyMarker() == this) {
+                collectedNodes.add(dirtyNodes[i]);
+            }
+        }
+        return Collections.unmodifiableSet(collectedNodes);
     }
 
     /**
@@ -297,7 +397,7 @@ public class StateTree implements NodeOwner {
      * @return true if there are dirty nodes, false otherwise
      */
     public boolean hasDirtyNodes() {
-        return !dirtyNodes.isEmpty();
+        return dirtyNodeCount != 0;
     }
 
     /**
@@ -410,20 +510,27 @@ public class StateTree implements NodeOwner {
     }
 
     /**
-     * Gets all the nodes that have been marked as dirty.
-     * <p>
-     * If {@code reset} is {@code true} then dirty nodes collection is reset.
+     * Clears the dirty markers of the nodes in the dirty list and replaces the
+     * list with the spare list. The previous list becomes the spare list once
+     * the caller has cleared its entries.
      *
-     * @return a set of dirty nodes, in the order they were marked dirty
+     * @return the number of entries in the previous dirty list
      */
-    private Set<StateNode> doCollectDirtyNodes(boolean reset) {
-        if (reset) {
-            Set<StateNode> collectedNodes = dirtyNodes;
-            dirtyNodes = new LinkedHashSet<>();
-            return collectedNodes;
-        } else {
-            return Collections.unmodifiableSet(dirtyNodes);
+    private int resetDirtyNodes() {
+        int count = dirtyNodeCount;
+        StateNode[] nodes = dirtyNodes;
+        for (int i = 0; i < count; i++) {
+            if (nodes[i].getDirtyMarker() == this) {
+                nodes[i].setDirtyMarker(null);
+            } else {
+                // Moved to another tree and marked dirty there
+                nodes[i] = null;
+            }
         }
 
+        dirtyNodes = spareDirtyNodes;
+        dirtyNodeCount = 0;
+        spareDirtyNodes = nodes;
+        return count;
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal.change;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+/**
+ * Table of the map keys referenced by the changes of one UIDL message in the
+ * compact change format. Each distinct key is written once in the table and
+ * the changes refer to it by its index.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ * @see NodeChange#toCompactJson(com.vaadin.flow.internal.ConstantPool,
+ *      ChangeKeyTable)
+ */
+public class ChangeKeyTable implements Serializable {
+
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final JsonArray keys = Json.createArray();
+
+    /**
+     * Gets the index of the given key in this table, adding the key if it is
+     * not in the table yet.
+     *
+     * @param key
+     *            the map key, not {@code null}
+     * @return the index of the key
+     */
+    public int getIndex(String key) {
+        assert key != null;
+        return indices.computeIfAbsent(key, newKey -> {
+            int index = keys.length();
+            keys.set(index, newKey);
+            return index;
+        });
+    }
+
+    /**
+     * Gets the number of keys in this table.
+     *
+     * @return the key count
+     */
+    public int size() {
+        return keys.length();
+    }
+
+    /**
+     * Gets the keys of this table in index order.
+     *
+     * @return a JSON array of the keys
+     */
+    public JsonArray toJson() {
+        return keys;
+    }
+}
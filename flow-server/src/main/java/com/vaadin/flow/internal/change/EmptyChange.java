@@ -20,6 +20,7 @@ import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -53,4 +54,12 @@ public class EmptyChange extends NodeFeatureChange {
         super.populateJson(json, constantPool);
     }
 
+    @Override
+    protected boolean populateCompactJson(JsonArray json,
+            ConstantPool constantPool, ChangeKeyTable keys) {
+        json.set(1, JsonConstants.CHANGE_COMPACT_NOOP);
+        super.populateCompactJson(json, constantPool, keys);
+        json.set(3, NodeList.class.isAssignableFrom(getFeature()));
+        return true;
+    }
 }
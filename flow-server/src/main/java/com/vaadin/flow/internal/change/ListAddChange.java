@@ -111,20 +111,33 @@ public class ListAddChange<T extends Serializable>
 
         json.put(JsonConstants.CHANGE_SPLICE_INDEX, getIndex());
 
+        json.put(nodeValues ? JsonConstants.CHANGE_SPLICE_ADD_NODES
+                : JsonConstants.CHANGE_SPLICE_ADD, encodeItems(constantPool));
+    }
+
+    @Override
+    protected boolean populateCompactJson(JsonArray json,
+            ConstantPool constantPool, ChangeKeyTable keys) {
+        json.set(1, nodeValues ? JsonConstants.CHANGE_COMPACT_SPLICE_ADD_NODES
+                : JsonConstants.CHANGE_COMPACT_SPLICE_ADD);
+
+        super.populateCompactJson(json, constantPool, keys);
+
+        json.set(3, getIndex());
+        json.set(4, encodeItems(constantPool));
+        return true;
+    }
+
+    private JsonArray encodeItems(ConstantPool constantPool) {
         Function<Object, JsonValue> mapper;
-        String addKey;
         if (nodeValues) {
-            addKey = JsonConstants.CHANGE_SPLICE_ADD_NODES;
             mapper = item -> Json.create(((StateNode) item).getId());
         } else {
-            addKey = JsonConstants.CHANGE_SPLICE_ADD;
             mapper = item -> JsonCodec.encodeWithConstantPool(item,
                     constantPool);
         }
 
-        JsonArray newItemsJson = newItems.stream().map(mapper)
-                .collect(JsonUtils.asArray());
-        json.put(addKey, newItemsJson);
+        return newItems.stream().map(mapper).collect(JsonUtils.asArray());
     }
 
 }
@@ -21,6 +21,7 @@ import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -78,4 +79,15 @@ public class ListRemoveChange<T extends Serializable>
         json.put(JsonConstants.CHANGE_SPLICE_INDEX, getIndex());
         json.put(JsonConstants.CHANGE_SPLICE_REMOVE, 1);
     }
+
+    @Override
+    protected boolean populateCompactJson(JsonArray json,
+            ConstantPool constantPool, ChangeKeyTable keys) {
+        json.set(1, JsonConstants.CHANGE_COMPACT_SPLICE_REMOVE);
+
+        super.populateCompactJson(json, constantPool, keys);
+
+        json.set(3, getIndex());
+        return true;
+    }
 }
@@ -23,6 +23,7 @@ import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -91,4 +92,22 @@ public class MapPutChange extends NodeFeatureChange {
                     JsonCodec.encodeWithConstantPool(value, constantPool));
         }
     }
+
+    @Override
+    protected boolean populateCompactJson(JsonArray json,
+            ConstantPool constantPool, ChangeKeyTable keys) {
+        boolean nodeValue = value instanceof StateNode;
+        json.set(1, nodeValue ? JsonConstants.CHANGE_COMPACT_PUT_NODE
+                : JsonConstants.CHANGE_COMPACT_PUT);
+
+        super.populateCompactJson(json, constantPool, keys);
+
+        json.set(3, keys.getIndex(key));
+        if (nodeValue) {
+            json.set(4, ((StateNode) value).getId());
+        } else {
+            json.set(4, JsonCodec.encodeWithConstantPool(value, constantPool));
+        }
+        return true;
+    }
 }
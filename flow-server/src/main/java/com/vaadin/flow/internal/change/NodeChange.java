@@ -23,7 +23,9 @@ import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 
 /**
  * Base class describing a change to a state node.
@@ -83,4 +85,60 @@ public abstract class NodeChange implements Serializable {
      */
     protected abstract void populateJson(JsonObject json,
             ConstantPool constantPool);
+
+    /**
+     * Serializes this change to a JSON array in the compact change format. The
+     * first item of the array is the id of the changed node and the second one
+     * is the {@code CHANGE_COMPACT_*} type code from {@link JsonConstants}.
+     * Changes without a compact format are serialized as with
+     * {@link #toJson(ConstantPool)}, which the client also accepts among
+     * compact changes.
+     *
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     * @param keys
+     *            the key table of the message to add the map keys of this
+     *            change to, not {@code null}
+     * @return a compact json representation of this change, or a json object
+     *         if this change has no compact representation
+     */
+    public JsonValue toCompactJson(ConstantPool constantPool,
+            ChangeKeyTable keys) {
+        JsonArray json = Json.createArray();
+
+        json.set(0, node.getId());
+
+        if (!populateCompactJson(json, constantPool, keys)) {
+            // No compact format for this change type
+            return toJson(constantPool);
+        }
+        return json;
+    }
+
+    /**
+     * Overridden by subclasses to populate a JSON array when serializing in
+     * the compact format. The array already contains the node id when this
+     * method is called.
+     * <p>
+     * The default implementation adds nothing to the array and returns
+     * <code>false</code>, in which case the change is serialized in the
+     * object format instead.
+     *
+     * @param json
+     *            the json array to populate
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     * @param keys
+     *            the key table of the message to add map keys to
+     * @return <code>true</code> if the change has been written in the
+     *         compact format, <code>false</code> if the change has no compact
+     *         format
+     */
+    protected boolean populateCompactJson(JsonArray json,
+            ConstantPool constantPool, ChangeKeyTable keys) {
+        // No compact format by default
+        return false;
+    }
 }
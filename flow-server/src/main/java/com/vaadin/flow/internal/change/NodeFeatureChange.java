@@ -22,6 +22,7 @@ import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -60,4 +61,20 @@ public abstract class NodeFeatureChange extends NodeChange {
         json.put(JsonConstants.CHANGE_FEATURE,
                 Json.create(NodeFeatureRegistry.getId(feature)));
     }
+
+    /**
+     * Adds the feature to a compact change whose change type has already been
+     * set by a subclass. Returns <code>false</code> without adding anything
+     * if no change type has been set, so that changes without their own
+     * compact format are serialized in the object format.
+     */
+    @Override
+    protected boolean populateCompactJson(JsonArray json,
+            ConstantPool constantPool, ChangeKeyTable keys) {
+        if (json.length() < 2) {
+            return false;
+        }
+        json.set(2, NodeFeatureRegistry.getId(feature));
+        return true;
+    }
 }
@@ -17,11 +17,15 @@
 package com.vaadin.flow.internal.nodefeature;
 
 import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -62,11 +66,18 @@ public abstract class NodeMap extends NodeFeature {
         // Named set instead of put to avoid incompatibility with HashMap where
         // put returns the previous value
         void set(String key, Serializable value);
+
+        Serializable remove(String key);
     }
 
+    /**
+     * A single key and its value. The key is <code>null</code> once it has
+     * been removed, and the map should then be switched to the empty
+     * representation.
+     */
     private static class SingleValue implements Values {
 
-        private final String key;
+        private String key;
 
         private Serializable value;
 
@@ -78,7 +89,7 @@ public abstract class NodeMap extends NodeFeature {
 
         @Override
         public int size() {
-            return 1;
+            return key == null ? 0 : 1;
         }
 
         @Override
@@ -92,17 +103,18 @@ public abstract class NodeMap extends NodeFeature {
 
         @Override
         public Set<String> keySet() {
-            return Collections.singleton(key);
+            return key == null ? Collections.emptySet()
+                    : Collections.singleton(key);
         }
 
         @Override
         public boolean containsKey(String key) {
-            return this.key.equals(key);
+            return key.equals(this.key);
         }
 
         @Override
         public Stream<Serializable> streamValues() {
-            return Stream.of(value);
+            return key == null ? Stream.empty() : Stream.of(value);
         }
 
         @Override
@@ -110,6 +122,147 @@ public abstract class NodeMap extends NodeFeature {
             assert key.equals(this.key);
             this.value = value;
         }
+
+        @Override
+        public Serializable remove(String key) {
+            if (!containsKey(key)) {
+                return null;
+            }
+            Serializable oldValue = value;
+            this.key = null;
+            value = null;
+            return oldValue;
+        }
+    }
+
+    /**
+     * Keys and values in parallel arrays in insertion order, for the typical
+     * case of a few keys where a hash map would use much more memory than the
+     * data itself. Keys are found with a linear search, so the map is replaced
+     * with a {@link HashMapValues} when it would exceed {@link #MAX_SIZE}
+     * keys.
+     */
+    private static class ArrayValues implements Values {
+        private static final int MAX_SIZE = 8;
+
+        private String[] keys;
+        private Serializable[] values;
+        private int size;
+
+        public ArrayValues(Values previousValues) {
+            int capacity = Math.max(4, previousValues.size() + 1);
+            keys = new String[capacity];
+            values = new Serializable[capacity];
+            previousValues.keySet()
+                    .forEach(key -> set(key, previousValues.get(key)));
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean isFull() {
+            return size == MAX_SIZE;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Serializable get(String key) {
+            int index = indexOf(key);
+            return index < 0 ? null : values[index];
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return new AbstractSet<String>() {
+                @Override
+                public Iterator<String> iterator() {
+                    return new Iterator<String>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < size;
+                        }
+
+                        @Override
+                        public String next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            return keys[index++];
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public boolean contains(Object key) {
+                    return key instanceof String
+                            && containsKey((String) key);
+                }
+            };
+        }
+
+        @Override
+        public boolean containsKey(String key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Stream<Serializable> streamValues() {
+            return Arrays.stream(values, 0, size);
+        }
+
+        @Override
+        public void set(String key, Serializable value) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                values[index] = value;
+                return;
+            }
+
+            assert !isFull();
+            if (size == keys.length) {
+                int capacity = Math.min(MAX_SIZE, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+        }
+
+        @Override
+        public Serializable remove(String key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return null;
+            }
+            Serializable oldValue = values[index];
+
+            int moved = size - index - 1;
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+            size--;
+            keys[size] = null;
+            values[size] = null;
+
+            return oldValue;
+        }
     }
 
     private static class HashMapValues extends HashMap<String, Serializable>
@@ -142,6 +295,11 @@ public abstract class NodeMap extends NodeFeature {
         public Stream<Serializable> streamValues() {
             return super.values().stream();
         }
+
+        @Override
+        public Serializable remove(String key) {
+            return super.remove(key);
+        }
     }
 
     private Values values;
@@ -197,11 +355,15 @@ public abstract class NodeMap extends NodeFeature {
             setUnChanged(key);
         }
 
-        // Optimize memory use when there's only one key
+        // Optimize memory use when there's only one or a few keys
         if (values == null) {
             values = new SingleValue(key, value);
         } else {
             if (values instanceof SingleValue && !values.containsKey(key)) {
+                values = new ArrayValues(values);
+            } else if (values instanceof ArrayValues
+                    && ((ArrayValues) values).isFull()
+                    && !values.containsKey(key)) {
                 values = new HashMapValues(values);
             }
             values.set(key, value);
@@ -343,19 +505,10 @@ public abstract class NodeMap extends NodeFeature {
 
         if (values == null) {
             return null;
-        } else if (values instanceof SingleValue) {
-            oldValue = values.get(key);
-            if (values.containsKey(key)) {
-                values = null;
-            }
-        } else {
-            assert values instanceof HashMapValues;
-            HashMapValues hashMapValues = (HashMapValues) values;
-            oldValue = hashMapValues.remove(key);
-
-            if (hashMapValues.isEmpty()) {
-                values = null;
-            }
+        }
+        oldValue = values.remove(key);
+        if (values.isEmpty()) {
+            values = null;
         }
 
         detatchPotentialChild(oldValue);
@@ -506,4 +659,9 @@ public abstract class NodeMap extends NodeFeature {
         return values instanceof SingleValue;
     }
 
+    // Exposed for testing purposes
+    boolean usesArrayMap() {
+        return values instanceof ArrayValues;
+    }
+
 }
@@ -103,7 +103,7 @@ public class PolymerEventListenerMap extends NodeMap {
 
     private static ConstantPoolKey createConstantPoolKey(
             List<String> eventData) {
-        return new ConstantPoolKey(eventData.stream().map(Json::create)
+        return ConstantPoolKey.intern(eventData.stream().map(Json::create)
                 .collect(JsonUtils.asArray()));
     }
 
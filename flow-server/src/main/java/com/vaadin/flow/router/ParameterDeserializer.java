@@ -17,6 +17,7 @@ package com.vaadin.flow.router;
 
 import com.googlecode.gentyref.GenericTypeReflector;
 import com.vaadin.flow.internal.ReflectTools;
+import com.vaadin.flow.internal.ReflectionCache;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
@@ -43,6 +44,16 @@ public final class ParameterDeserializer {
             .unmodifiableSet(new HashSet<>(Arrays.asList(Long.class,
                     Integer.class, String.class, Boolean.class)));
 
+    /**
+     * The number of url parameters accepted by a navigation target.
+     */
+    private enum ParameterArity {
+        ONE, AT_MOST_ONE, ANY, UNSUPPORTED_TYPE
+    }
+
+    private static final ReflectionCache<Object, ParameterArity> parameterArities = new ReflectionCache<>(
+            ParameterDeserializer::resolveParameterArity);
+
     private ParameterDeserializer() {
     }
 
@@ -139,22 +150,36 @@ public final class ParameterDeserializer {
                     navigationTarget.getName()));
         }
 
+        switch (parameterArities.get(navigationTarget)) {
+        case ANY:
+            return true;
+        case AT_MOST_ONE:
+            return urlParameters.size() <= 1;
+        case ONE:
+            return urlParameters.size() == 1;
+        default:
+            throw new UnsupportedOperationException(String.format(
+                    "Currently HasUrlParameter only supports the following parameter types: %s.",
+                    supportedTypes.stream().map(Class::getName)
+                            .collect(Collectors.joining(", "))));
+        }
+    }
+
+    private static ParameterArity resolveParameterArity(
+            Class<?> navigationTarget) {
         Class<?> parameterType = getClassType(navigationTarget);
 
         if (supportedTypes.contains(parameterType)) {
             if (isAnnotatedParameter(navigationTarget,
                     WildcardParameter.class)) {
-                return true;
+                return ParameterArity.ANY;
             } else if (isAnnotatedParameter(navigationTarget,
                     OptionalParameter.class)) {
-                return urlParameters.size() <= 1;
+                return ParameterArity.AT_MOST_ONE;
             }
-            return urlParameters.size() == 1;
+            return ParameterArity.ONE;
         }
-        throw new UnsupportedOperationException(String.format(
-                "Currently HasUrlParameter only supports the following parameter types: %s.",
-                supportedTypes.stream().map(Class::getName)
-                        .collect(Collectors.joining(", "))));
+        return ParameterArity.UNSUPPORTED_TYPE;
     }
 
     /**
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.router;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.vaadin.flow.component.Component;
+
+/**
+ * The registered route found for the segments of a location: the route path,
+ * the navigation target and the segments following the route path.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ * @see com.vaadin.flow.server.RouteRegistry#getRouteMatch(List)
+ */
+public class RouteMatch implements Serializable {
+
+    private final String path;
+    private final List<String> segments;
+    private final Class<? extends Component> target;
+
+    /**
+     * Creates a new route match.
+     *
+     * @param path
+     *            the registered route path, not {@code null}
+     * @param segments
+     *            the location segments following the route path, not
+     *            {@code null}
+     * @param target
+     *            the navigation target for the path and segments, not
+     *            {@code null}
+     */
+    public RouteMatch(String path, List<String> segments,
+            Class<? extends Component> target) {
+        assert path != null;
+        assert segments != null;
+        assert target != null;
+
+        this.path = path;
+        this.segments = segments;
+        this.target = target;
+    }
+
+    /**
+     * Gets the registered route path.
+     *
+     * @return the route path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the location segments following the route path.
+     *
+     * @return the remaining segments, empty if the whole location matched
+     */
+    public List<String> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Gets the navigation target for the route path and the remaining
+     * segments.
+     *
+     * @return the navigation target
+     */
+    public Class<? extends Component> getTarget() {
+        return target;
+    }
+}
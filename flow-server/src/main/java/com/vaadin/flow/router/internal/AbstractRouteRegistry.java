@@ -32,6 +32,7 @@ import com.vaadin.flow.router.HasUrlParameter;
 import com.vaadin.flow.router.RouteAliasData;
 import com.vaadin.flow.router.RouteBaseData;
 import com.vaadin.flow.router.RouteData;
+import com.vaadin.flow.router.RouteMatch;
 import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.router.RoutesChangedEvent;
 import com.vaadin.flow.router.RoutesChangedListener;
@@ -184,6 +185,11 @@ public abstract class AbstractRouteRegistry implements RouteRegistry {
         return configuredRoutes;
     }
 
+    @Override
+    public Optional<RouteMatch> getRouteMatch(List<String> segments) {
+        return Optional.ofNullable(getConfiguration().getRouteMatch(segments));
+    }
+
     @Override
     public List<RouteData> getRegisteredRoutes() {
         return getRegisteredRoutes(getConfiguration());
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.router.RouteMatch;
 import com.vaadin.flow.server.startup.RouteTarget;
 
 /**
@@ -105,6 +106,19 @@ public class ConfigureRoutes extends ConfiguredRoutes implements Serializable {
         return exceptionTargetMap;
     }
 
+    /**
+     * Override so that the route is found from the current routes map.
+     *
+     * @param segments
+     *         location segments to find the route for
+     * @return the matching route or <code>null</code> if no route matches
+     */
+    @Override
+    public RouteMatch getRouteMatch(List<String> segments) {
+        // The routes may still change, so the trie isn't kept
+        return new RouteSegmentTrie(getRoutesMap()).find(segments);
+    }
+
     /*-----------------------------------*/
     /* Mutation functions                */
     /*-----------------------------------*/
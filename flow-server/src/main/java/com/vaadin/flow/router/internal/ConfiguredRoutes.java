@@ -25,6 +25,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.router.RouteMatch;
 import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.server.startup.RouteTarget;
 
@@ -41,6 +42,7 @@ public class ConfiguredRoutes implements Serializable {
     private final Map<String, RouteTarget> routes;
     private final Map<Class<? extends Component>, String> targetRoutes;
     private final Map<Class<? extends Exception>, Class<? extends Component>> exceptionTargets;
+    private final RouteSegmentTrie routeTrie;
 
     /**
      * Create an immutable RouteConfiguration.
@@ -49,6 +51,7 @@ public class ConfiguredRoutes implements Serializable {
         routes = Collections.emptyMap();
         targetRoutes = Collections.emptyMap();
         exceptionTargets = Collections.emptyMap();
+        routeTrie = new RouteSegmentTrie(routes);
     }
 
     /**
@@ -79,6 +82,7 @@ public class ConfiguredRoutes implements Serializable {
         this.exceptionTargets = exceptionTargetMap.isEmpty() ?
                 Collections.emptyMap() :
                 Collections.unmodifiableMap(exceptionTargetMap);
+        this.routeTrie = new RouteSegmentTrie(routes);
     }
 
     protected Map<String, RouteTarget> getRoutesMap() {
@@ -163,6 +167,22 @@ public class ConfiguredRoutes implements Serializable {
         return Optional.empty();
     }
 
+    /**
+     * Find the longest registered route path at the beginning of the given
+     * location segments which has a navigation target for the remaining
+     * segments.
+     * <p>
+     * The root route is also tried with all segments as parameters when the
+     * first segment is not empty.
+     *
+     * @param segments
+     *         location segments to find the route for
+     * @return the matching route or <code>null</code> if no route matches
+     */
+    public RouteMatch getRouteMatch(List<String> segments) {
+        return routeTrie.find(segments);
+    }
+
     /**
      * Get all registered paths that have been registered.
      *
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.router.internal;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.router.RouteMatch;
+import com.vaadin.flow.server.startup.RouteTarget;
+
+/**
+ * Trie of route paths by path segment, used for finding the longest route path
+ * matching a location in one pass over the location segments.
+ * <p>
+ * A route path is split into segments at each {@code /}, so the root path
+ * {@code ""} is the single segment {@code ""}. The trie is not modified after
+ * it has been built.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+class RouteSegmentTrie implements Serializable {
+
+    private static class Node implements Serializable {
+        private Map<String, Node> children = Collections.emptyMap();
+        private String path;
+        private RouteTarget target;
+
+        private Node getOrCreateChild(String segment) {
+            if (children.isEmpty()) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(segment, key -> new Node());
+        }
+    }
+
+    private final Node root = new Node();
+
+    /**
+     * Builds a trie of the given routes.
+     *
+     * @param routes
+     *            the route targets by route path, not {@code null}
+     */
+    RouteSegmentTrie(Map<String, RouteTarget> routes) {
+        routes.forEach(this::add);
+    }
+
+    private void add(String path, RouteTarget target) {
+        Node node = root;
+        for (String segment : path.split("/", -1)) {
+            node = node.getOrCreateChild(segment);
+        }
+        node.path = path;
+        node.target = target;
+    }
+
+    /**
+     * Finds the longest route path at the beginning of the given location
+     * segments which has a navigation target for the rest of the segments.
+     * <p>
+     * The root route is also tried with all segments as parameters when the
+     * first segment is not empty.
+     *
+     * @param segments
+     *            the location segments, not {@code null}
+     * @return the match, or {@code null} if no route matches
+     */
+    RouteMatch find(List<String> segments) {
+        int size = segments.size();
+        if (size == 0) {
+            return null;
+        }
+
+        Node matchNode = null;
+        int matchDepth = 0;
+        Class<? extends Component> matchTarget = null;
+
+        if (!segments.get(0).isEmpty()) {
+            Node rootRoute = root.children.get("");
+            if (rootRoute != null && rootRoute.target != null) {
+                matchTarget = rootRoute.target.getTarget(segments);
+                if (matchTarget != null) {
+                    matchNode = rootRoute;
+                }
+            }
+        }
+
+        Node node = root;
+        for (int i = 0; i < size; i++) {
+            node = node.children.get(segments.get(i));
+            if (node == null) {
+                break;
+            }
+            if (node.target != null) {
+                Class<? extends Component> target = node.target
+                        .getTarget(segments.subList(i + 1, size));
+                if (target != null) {
+                    matchNode = node;
+                    matchDepth = i + 1;
+                    matchTarget = target;
+                }
+            }
+        }
+
+        if (matchNode == null) {
+            return null;
+        }
+        return new RouteMatch(matchNode.path,
+                segments.subList(matchDepth, size), matchTarget);
+    }
+}
@@ -64,7 +64,7 @@ import com.vaadin.flow.internal.UsageStatisticsExporter;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
 import com.vaadin.flow.server.communication.PushConnectionFactory;
 import com.vaadin.flow.server.communication.UidlWriter;
-import com.vaadin.flow.server.frontend.FrontendUtils;
+import com.vaadin.flow.server.frontend.FrontendManifest;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.VaadinUriResolver;
 import com.vaadin.flow.shared.communication.PushMode;
@@ -74,7 +74,6 @@ import com.vaadin.flow.shared.ui.LoadMode;
 import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
-import elemental.json.JsonType;
 import elemental.json.JsonValue;
 import elemental.json.impl.JsonUtil;
 import static com.vaadin.flow.server.Constants.VAADIN_MAPPING;
@@ -742,8 +741,9 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
 
         private void appendNpmBundle(Element head, VaadinService service,
                 BootstrapContext context) throws IOException {
-            String content = FrontendUtils.getStatsAssetsByChunkName(service);
-            if (content == null) {
+            Map<String, List<String>> chunks = FrontendManifest
+                    .getAssetsByChunkName(service);
+            if (chunks == null) {
                 StringBuilder message = new StringBuilder("The stats file from webpack (stats.json) was not found.\n");
                 if(service.getDeploymentConfiguration().isProductionMode()) {
                     message.append(
@@ -760,14 +760,8 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
                 }
                 throw new IOException(message.toString());
             }
-            JsonObject chunks = Json.parse(content);
-            for (String key : chunks.keys()) {
-                String chunkName;
-                if (chunks.get(key).getType().equals(JsonType.ARRAY)) {
-                    chunkName = getArrayChunkName(chunks, key);
-                } else {
-                    chunkName = chunks.getString(key);
-                }
+            for (List<String> assets : chunks.values()) {
+                String chunkName = getChunkName(assets);
                 Element script = createJavaScriptElement(
                         "./" + VAADIN_MAPPING + chunkName, false);
                 head.appendChild(script.attr("type", "module")
@@ -778,11 +772,11 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             }
         }
 
-        private String getArrayChunkName(JsonObject chunks, String key) {
-            JsonArray chunkArray = chunks.getArray(key);
-
-            for (int i = 0; i < chunkArray.length(); i++) {
-                String chunkName = chunkArray.getString(0);
+        private String getChunkName(List<String> assets) {
+            if (assets.size() == 1) {
+                return assets.get(0);
+            }
+            for (String chunkName : assets) {
                 if (chunkName.endsWith(".js")) {
                     return chunkName;
                 }
@@ -1078,6 +1072,10 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
                 appConfig.put("requestTiming", true);
             }
 
+            if (deploymentConfiguration.isCompactRpc()) {
+                appConfig.put("compactRpc", true);
+            }
+
             appConfig.put("heartbeatInterval",
                     deploymentConfiguration.getHeartbeatInterval());
 
@@ -79,6 +79,87 @@ public final class Constants implements Serializable {
      */
     public static final String SERVLET_PARAMETER_BROTLI = "brotli";
 
+    /**
+     * Configuration name for the parameter that determines whether UIDL
+     * responses and push messages should be streamed to the client while the
+     * state changes are being collected instead of first being built as a
+     * complete JSON tree.
+     */
+    public static final String SERVLET_PARAMETER_STREAMING_UIDL = "streamingUidl";
+
+    /**
+     * Configuration name for the maximum number of characters of
+     * {@link com.vaadin.flow.shared.ui.LoadMode#INLINE} dependency contents
+     * that are cached per service.
+     */
+    public static final String SERVLET_PARAMETER_INLINE_DEPENDENCY_CACHE_SIZE = "inlineDependencyCacheSize";
+
+    /**
+     * Default value for {@link #SERVLET_PARAMETER_INLINE_DEPENDENCY_CACHE_SIZE}.
+     */
+    public static final int DEFAULT_INLINE_DEPENDENCY_CACHE_SIZE = 4 * 1024
+            * 1024;
+
+    /**
+     * Configuration name for the number of milliseconds that
+     * {@link VaadinSession#access(Command)} tasks submitted from background
+     * threads are collected before they are run together with one session
+     * lock acquisition and one push.
+     */
+    public static final String SERVLET_PARAMETER_ACCESS_COALESCING_WINDOW = "accessCoalescingWindow";
+
+    /**
+     * Configuration name for the parameter that determines whether a push
+     * connection should keep at most one message in flight, merging the
+     * changes of pushes made meanwhile into the next message.
+     */
+    public static final String SERVLET_PARAMETER_PUSH_BACKPRESSURE = "pushBackpressure";
+
+    /**
+     * Configuration name for the parameter that determines whether the
+     * estimated memory footprint of each session is tracked and published
+     * through JMX.
+     */
+    public static final String SERVLET_PARAMETER_SESSION_MEMORY_ACCOUNTING = "sessionMemoryAccounting";
+
+    /**
+     * Configuration name for the estimated number of bytes a session may use
+     * before the session memory limit listeners are notified.
+     */
+    public static final String SERVLET_PARAMETER_SESSION_MEMORY_LIMIT = "sessionMemoryLimit";
+
+    /**
+     * Configuration name for the parameter that determines whether state
+     * changes are sent to the client in the compact positional format instead
+     * of as one JSON object per change.
+     */
+    public static final String SERVLET_PARAMETER_COMPACT_CHANGES = "compactChanges";
+
+    /**
+     * Configuration name for the parameter that determines whether UIDL
+     * responses are gzip compressed by the framework when the client accepts
+     * it.
+     */
+    public static final String SERVLET_PARAMETER_UIDL_COMPRESSION = "uidlCompression";
+
+    /**
+     * Configuration name for the minimum size in bytes of a UIDL response to
+     * compress.
+     */
+    public static final String SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD = "uidlCompressionThreshold";
+
+    /**
+     * Default value for
+     * {@link #SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD}.
+     */
+    public static final int DEFAULT_UIDL_COMPRESSION_THRESHOLD = 1024;
+
+    /**
+     * Configuration name for the parameter that determines whether the client
+     * sends RPC invocations to the server in the compact positional format.
+     */
+    public static final String SERVLET_PARAMETER_COMPACT_RPC = "compactRpc";
+
     /**
      * I18N provider property.
      */
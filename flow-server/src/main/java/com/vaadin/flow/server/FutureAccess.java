@@ -31,6 +31,7 @@ import org.slf4j.LoggerFactory;
 public class FutureAccess extends FutureTask<Void> {
     private final VaadinSession session;
     private final Command command;
+    private final long creationNanos = System.nanoTime();
 
     /**
      * Creates an instance for the given command.
@@ -46,6 +47,15 @@ public class FutureAccess extends FutureTask<Void> {
         this.command = command;
     }
 
+    /**
+     * Gets the {@link System#nanoTime()} when this task was created.
+     *
+     * @return the creation time of this task in nanoseconds
+     */
+    long getCreationNanos() {
+        return creationNanos;
+    }
+
     @Override
     public Void get() throws InterruptedException, ExecutionException {
         /*
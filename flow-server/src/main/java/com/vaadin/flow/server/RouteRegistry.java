@@ -25,6 +25,7 @@ import com.vaadin.flow.router.ParentLayout;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouteAlias;
 import com.vaadin.flow.router.RouteData;
+import com.vaadin.flow.router.RouteMatch;
 import com.vaadin.flow.router.Router;
 import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.router.RoutesChangedListener;
@@ -146,6 +147,48 @@ public interface RouteRegistry extends Serializable {
     Optional<Class<? extends Component>> getNavigationTarget(String pathString,
             List<String> segments);
 
+    /**
+     * Finds the registered route for the given location segments. The longest
+     * route path at the beginning of the segments which has a navigation
+     * target for the remaining segments is selected. The root route is also
+     * tried with all segments as parameters when the first segment is not
+     * empty.
+     * <p>
+     * The default implementation tries each prefix of the segments from the
+     * longest to the shortest with {@link #getNavigationTarget(String, List)}.
+     *
+     * @param segments
+     *            the location segments, not {@code null}
+     * @return the matching route, or an empty optional if no route matches
+     */
+    default Optional<RouteMatch> getRouteMatch(List<String> segments) {
+        if (segments.isEmpty()) {
+            return Optional.empty();
+        }
+        int size = segments.size();
+        String[] paths = new String[size];
+        StringBuilder pathBuilder = new StringBuilder(segments.get(0));
+        paths[0] = pathBuilder.toString();
+        for (int i = 1; i < size; i++) {
+            paths[i] = pathBuilder.append('/').append(segments.get(i))
+                    .toString();
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            List<String> remaining = segments.subList(i + 1, size);
+            Optional<Class<? extends Component>> target = getNavigationTarget(
+                    paths[i], remaining);
+            if (target.isPresent()) {
+                return Optional.of(
+                        new RouteMatch(paths[i], remaining, target.get()));
+            }
+        }
+        if (!segments.get(0).isEmpty()) {
+            return getNavigationTarget("", segments)
+                    .map(target -> new RouteMatch("", segments, target));
+        }
+        return Optional.empty();
+    }
+
     /**
      * Get the url string for given navigation target.
      * <p>
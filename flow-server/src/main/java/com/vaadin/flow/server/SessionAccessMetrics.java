@@ -0,0 +1,114 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service wide statistics of the tasks run through
+ * {@link VaadinSession#access(Command)}.
+ * <p>
+ * Each time the pending access queue of a session is purged is counted as one
+ * drain. The lock wait time of a task is the time from the task being
+ * submitted until it is run with the session locked.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ * @see VaadinService#getSessionAccessMetrics()
+ * @see com.vaadin.flow.function.DeploymentConfiguration#getAccessCoalescingWindow()
+ */
+public class SessionAccessMetrics implements Serializable {
+
+    private final LongAdder drains = new LongAdder();
+    private final LongAdder tasks = new LongAdder();
+    private final LongAdder lockWaitNanos = new LongAdder();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+
+    /**
+     * Records one purge of a pending access queue.
+     *
+     * @param taskCount
+     *            the number of tasks taken from the queue
+     * @param totalWaitNanos
+     *            the sum of the lock wait times of the tasks, in nanoseconds
+     */
+    void recordDrain(int taskCount, long totalWaitNanos) {
+        drains.increment();
+        tasks.add(taskCount);
+        lockWaitNanos.add(totalWaitNanos);
+        maxQueueDepth.accumulateAndGet(taskCount, Math::max);
+    }
+
+    /**
+     * Gets the number of times a pending access queue has been purged.
+     *
+     * @return the number of drains
+     */
+    public long getDrainCount() {
+        return drains.sum();
+    }
+
+    /**
+     * Gets the total number of access tasks taken from the queues.
+     *
+     * @return the number of drained tasks
+     */
+    public long getTaskCount() {
+        return tasks.sum();
+    }
+
+    /**
+     * Gets the average number of tasks run for each purge of a queue.
+     *
+     * @return the average number of tasks per drain, or <code>0</code> if
+     *         nothing has been drained
+     */
+    public double getAverageTasksPerDrain() {
+        long drainCount = drains.sum();
+        return drainCount == 0 ? 0 : (double) tasks.sum() / drainCount;
+    }
+
+    /**
+     * Gets the largest number of tasks found in a queue when it was purged.
+     *
+     * @return the maximum observed queue depth
+     */
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Gets the sum of the lock wait times of all drained tasks.
+     *
+     * @return the total lock wait time in nanoseconds
+     */
+    public long getTotalLockWaitNanos() {
+        return lockWaitNanos.sum();
+    }
+
+    /**
+     * Gets the average lock wait time of the drained tasks.
+     *
+     * @return the average lock wait time in nanoseconds, or <code>0</code> if
+     *         nothing has been drained
+     */
+    public long getAverageLockWaitNanos() {
+        long taskCount = tasks.sum();
+        return taskCount == 0 ? 0 : lockWaitNanos.sum() / taskCount;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.vaadin.flow.component.UI;
+
+/**
+ * Snapshot of the estimated memory footprint of a session: the footprints of
+ * its UIs and the stream resources registered with the session.
+ *
+ * @see VaadinService#getSessionMemoryFootprint(VaadinSession)
+ * @see UIMemoryFootprint
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+public class SessionMemoryFootprint implements Serializable {
+
+    // Typical retained size in bytes of a registered resource
+    static final long STREAM_RESOURCE_SIZE = 256;
+
+    private final List<UIMemoryFootprint> uiFootprints;
+    private final int streamResourceCount;
+    private final long estimatedSize;
+
+    /**
+     * Creates a footprint snapshot of the given session. The session must be
+     * locked.
+     *
+     * @param session
+     *            the session to create a snapshot of, not <code>null</code>
+     */
+    SessionMemoryFootprint(VaadinSession session) {
+        session.checkHasLock();
+
+        List<UIMemoryFootprint> footprints = new ArrayList<>();
+        long size = 0;
+        for (UI ui : session.getUIs()) {
+            UIMemoryFootprint footprint = new UIMemoryFootprint(ui);
+            footprints.add(footprint);
+            size += footprint.getEstimatedSize();
+        }
+        uiFootprints = Collections.unmodifiableList(footprints);
+
+        streamResourceCount = session.getResourceRegistry()
+                .getResourceCount();
+        estimatedSize = size + streamResourceCount * STREAM_RESOURCE_SIZE;
+    }
+
+    /**
+     * Gets the footprints of the UIs of the session.
+     *
+     * @return an unmodifiable list of UI footprints
+     */
+    public List<UIMemoryFootprint> getUIFootprints() {
+        return uiFootprints;
+    }
+
+    /**
+     * Gets the number of stream resources registered with the session.
+     *
+     * @return the number of stream resources
+     */
+    public int getStreamResourceCount() {
+        return streamResourceCount;
+    }
+
+    /**
+     * Gets the estimated memory footprint of the session.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+}
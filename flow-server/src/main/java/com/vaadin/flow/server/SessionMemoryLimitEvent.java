@@ -0,0 +1,97 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.EventObject;
+
+/**
+ * Event fired when the estimated memory footprint of a session exceeds the
+ * session memory limit.
+ *
+ * @see SessionMemoryLimitListener#sessionMemoryLimitExceeded(SessionMemoryLimitEvent)
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+public class SessionMemoryLimitEvent extends EventObject {
+
+    private final VaadinSession session;
+    private final SessionMemoryFootprint footprint;
+    private final long limit;
+
+    /**
+     * Creates a new event.
+     *
+     * @param service
+     *            the Vaadin service from which the event originates
+     * @param session
+     *            the session that exceeds the limit
+     * @param footprint
+     *            the footprint of the session
+     * @param limit
+     *            the session memory limit in bytes
+     */
+    public SessionMemoryLimitEvent(VaadinService service,
+            VaadinSession session, SessionMemoryFootprint footprint,
+            long limit) {
+        super(service);
+        this.session = session;
+        this.footprint = footprint;
+        this.limit = limit;
+    }
+
+    @Override
+    public VaadinService getSource() {
+        return (VaadinService) super.getSource();
+    }
+
+    /**
+     * Gets the Vaadin service from which the event originates.
+     *
+     * @return the Vaadin service
+     */
+    public VaadinService getService() {
+        return getSource();
+    }
+
+    /**
+     * Gets the session that exceeds the limit.
+     *
+     * @return the Vaadin service session
+     */
+    public VaadinSession getSession() {
+        return session;
+    }
+
+    /**
+     * Gets the footprint of the session, including the footprint of each of
+     * its UIs.
+     *
+     * @return the session footprint
+     */
+    public SessionMemoryFootprint getFootprint() {
+        return footprint;
+    }
+
+    /**
+     * Gets the session memory limit.
+     *
+     * @return the limit in bytes
+     */
+    public long getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+
+/**
+ * A listener that gets notified when the estimated memory footprint of a
+ * session exceeds the configured session memory limit.
+ *
+ * @see VaadinService#addSessionMemoryLimitListener(SessionMemoryLimitListener)
+ * @see com.vaadin.flow.function.DeploymentConfiguration#getSessionMemoryLimit()
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+@FunctionalInterface
+public interface SessionMemoryLimitListener extends Serializable {
+    /**
+     * Called with the session locked at the end of a request after which the
+     * estimated footprint of the session exceeds the limit. The listener is
+     * called again only after the footprint has first dropped below the
+     * limit.
+     *
+     * @param event
+     *            the event with details about the session
+     */
+    void sessionMemoryLimitExceeded(SessionMemoryLimitEvent event);
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+/**
+ * Management interface for the estimated memory footprints of the sessions of
+ * a {@link VaadinService}. Registered with the platform MBean server as
+ * <code>com.vaadin.flow:type=SessionMemory,service=&lt;service name&gt;</code>
+ * when session memory accounting is enabled.
+ * <p>
+ * The footprint of a session is updated at the end of each request to the
+ * session.
+ *
+ * @see com.vaadin.flow.function.DeploymentConfiguration#isSessionMemoryAccounting()
+ * @see SessionMemoryFootprint
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+public interface SessionMemoryMXBean {
+
+    /**
+     * Gets the number of tracked sessions.
+     *
+     * @return the number of sessions
+     */
+    int getSessionCount();
+
+    /**
+     * Gets the sum of the estimated footprints of all tracked sessions.
+     *
+     * @return the total estimated size in bytes
+     */
+    long getTotalEstimatedSize();
+
+    /**
+     * Gets the estimated footprint of the largest tracked session.
+     *
+     * @return the largest estimated size in bytes
+     */
+    long getLargestEstimatedSize();
+
+    /**
+     * Gets the configured session memory limit.
+     *
+     * @return the limit in bytes, <code>0</code> if there is no limit
+     */
+    long getSessionMemoryLimit();
+
+    /**
+     * Gets the number of sessions that currently exceed the session memory
+     * limit.
+     *
+     * @return the number of sessions over the limit
+     */
+    int getSessionsOverLimitCount();
+
+    /**
+     * Gets the number of times any session has exceeded the session memory
+     * limit.
+     *
+     * @return the number of times the limit has been exceeded
+     */
+    long getLimitExceededCount();
+}
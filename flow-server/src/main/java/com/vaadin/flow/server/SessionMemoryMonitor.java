@@ -0,0 +1,203 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks the latest estimated memory footprint of each session of a service
+ * and detects when a session exceeds the session memory limit.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+class SessionMemoryMonitor implements SessionMemoryMXBean {
+
+    private static class SessionEntry {
+        private long estimatedSize;
+        private boolean overLimit;
+    }
+
+    private final String serviceName;
+    private final long limit;
+
+    // Weak keys so that sessions that are never destroyed properly don't leak
+    private final Map<VaadinSession, SessionEntry> sessions = new WeakHashMap<>();
+
+    private final LongAdder limitExceededCount = new LongAdder();
+
+    private ObjectName objectName;
+
+    /**
+     * Creates a new monitor.
+     *
+     * @param serviceName
+     *            the name of the service, used in the JMX object name
+     * @param limit
+     *            the session memory limit in bytes, <code>0</code> for no
+     *            limit
+     */
+    SessionMemoryMonitor(String serviceName, long limit) {
+        this.serviceName = serviceName;
+        this.limit = limit;
+    }
+
+    /**
+     * Registers this monitor with the platform MBean server. A failure is
+     * logged but doesn't prevent using the monitor.
+     */
+    void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(
+                    "com.vaadin.flow:type=SessionMemory,service="
+                            + ObjectName.quote(String.valueOf(serviceName)));
+            server.registerMBean(this, name);
+            objectName = name;
+        } catch (JMException | SecurityException e) {
+            getLogger().warn(
+                    "Unable to register the session memory MBean for {}",
+                    serviceName, e);
+        }
+    }
+
+    /**
+     * Unregisters this monitor from the platform MBean server if it has been
+     * registered.
+     */
+    void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .unregisterMBean(objectName);
+        } catch (JMException | SecurityException e) {
+            getLogger().debug(
+                    "Unable to unregister the session memory MBean for {}",
+                    serviceName, e);
+        }
+        objectName = null;
+    }
+
+    /**
+     * Records the footprint of the given session.
+     *
+     * @param session
+     *            the session, not <code>null</code>
+     * @param footprint
+     *            the current footprint of the session, not <code>null</code>
+     * @return <code>true</code> if the session has just exceeded the limit,
+     *         <code>false</code> if it doesn't exceed the limit or already
+     *         did when its footprint was last recorded
+     */
+    boolean update(VaadinSession session, SessionMemoryFootprint footprint) {
+        long size = footprint.getEstimatedSize();
+        boolean overLimit = limit > 0 && size > limit;
+        boolean exceeded;
+        synchronized (sessions) {
+            SessionEntry entry = sessions.computeIfAbsent(session,
+                    key -> new SessionEntry());
+            entry.estimatedSize = size;
+            exceeded = overLimit && !entry.overLimit;
+            entry.overLimit = overLimit;
+        }
+        if (exceeded) {
+            limitExceededCount.increment();
+        }
+        return exceeded;
+    }
+
+    /**
+     * Stops tracking the given session.
+     *
+     * @param session
+     *            the session, not <code>null</code>
+     */
+    void remove(VaadinSession session) {
+        synchronized (sessions) {
+            sessions.remove(session);
+        }
+    }
+
+    @Override
+    public int getSessionCount() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    @Override
+    public long getTotalEstimatedSize() {
+        synchronized (sessions) {
+            long total = 0;
+            for (SessionEntry entry : sessions.values()) {
+                total += entry.estimatedSize;
+            }
+            return total;
+        }
+    }
+
+    @Override
+    public long getLargestEstimatedSize() {
+        synchronized (sessions) {
+            long largest = 0;
+            for (SessionEntry entry : sessions.values()) {
+                largest = Math.max(largest, entry.estimatedSize);
+            }
+            return largest;
+        }
+    }
+
+    @Override
+    public long getSessionMemoryLimit() {
+        return limit;
+    }
+
+    @Override
+    public int getSessionsOverLimitCount() {
+        synchronized (sessions) {
+            int count = 0;
+            for (SessionEntry entry : sessions.values()) {
+                if (entry.overLimit) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    @Override
+    public long getLimitExceededCount() {
+        return limitExceededCount.sum();
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(SessionMemoryMonitor.class);
+    }
+}
@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.router.RouteBaseData;
 import com.vaadin.flow.router.RouteData;
+import com.vaadin.flow.router.RouteMatch;
 import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.router.RoutesChangedEvent;
 import com.vaadin.flow.router.RoutesChangedListener;
@@ -167,6 +168,22 @@ public class SessionRouteRegistry extends AbstractRouteRegistry {
         return getParentRegistry().getNavigationTarget(pathString, segments);
     }
 
+    @Override
+    public Optional<RouteMatch> getRouteMatch(List<String> segments) {
+        Optional<RouteMatch> sessionMatch = super.getRouteMatch(segments);
+        Optional<RouteMatch> parentMatch = getParentRegistry()
+                .getRouteMatch(segments);
+        if (!parentMatch.isPresent()) {
+            return sessionMatch;
+        }
+        // The longer route path wins, the session route for the same path
+        if (sessionMatch.isPresent() && sessionMatch.get().getSegments()
+                .size() <= parentMatch.get().getSegments().size()) {
+            return sessionMatch;
+        }
+        return parentMatch;
+    }
+
     @Override
     public Optional<String> getTargetUrl(
             Class<? extends Component> navigationTarget) {
@@ -20,11 +20,17 @@ import javax.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
@@ -46,6 +52,12 @@ import static com.vaadin.flow.shared.ApplicationConstants.VAADIN_STATIC_FILES_PA
  * production mode site you should consider serving static resources directly
  * from the servlet (using a default servlet if such exists) or through a stand
  * alone static file server.
+ * <p>
+ * In production mode, the resources are assumed not to change while the
+ * application is running. The server keeps an index of the served resources
+ * with their location, modification time and a content hash based
+ * {@code ETag}, so that conditional requests can be answered without
+ * resolving or reading the resource again.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -58,10 +70,31 @@ public class StaticFileServer implements StaticFileHandler {
     private static final Pattern PARENT_DIRECTORY_REGEX = Pattern
             .compile("(/|\\\\)\\.\\.(/|\\\\)", Pattern.CASE_INSENSITIVE);
 
+    // Upper bound for the number of resources in the index
+    private static final int MAX_INDEXED_RESOURCES = 10000;
+
     private final ResponseWriter responseWriter;
     private final VaadinServletService servletService;
     private DeploymentConfiguration deploymentConfiguration;
 
+    private final Map<String, IndexedResource> resourceIndex = new ConcurrentHashMap<>();
+
+    /**
+     * A served resource and the information needed for answering conditional
+     * requests for it.
+     */
+    private static class IndexedResource implements Serializable {
+        private final URL url;
+        private final long lastModified;
+        private final String eTag;
+
+        private IndexedResource(URL url, long lastModified, String eTag) {
+            this.url = url;
+            this.lastModified = lastModified;
+            this.eTag = eTag;
+        }
+    }
+
     /**
      * Constructs a file server.
      *
@@ -115,20 +148,11 @@ public class StaticFileServer implements StaticFileHandler {
             return true;
         }
 
-        URL resourceUrl = null;
-        if (isAllowedVAADINBuildUrl(filenameWithPath)) {
-            resourceUrl = servletService.getClassLoader()
-                    .getResource("META-INF" + filenameWithPath);
-        }
-        if (resourceUrl == null) {
-            resourceUrl = servletService.getStaticResource(filenameWithPath);
-        }
-        if (resourceUrl == null && shouldFixIncorrectWebjarPaths()
-                && isIncorrectWebjarPath(filenameWithPath)) {
-            // Flow issue #4601
-            resourceUrl = servletService.getStaticResource(
-                    fixIncorrectWebjarPath(filenameWithPath));
-        }
+        IndexedResource indexedResource = deploymentConfiguration
+                .isProductionMode() ? resourceIndex.get(filenameWithPath)
+                        : null;
+        URL resourceUrl = indexedResource != null ? indexedResource.url
+                : findResource(filenameWithPath);
 
         if (resourceUrl == null) {
             // Not found in webcontent or in META-INF/resources in some JAR
@@ -141,6 +165,28 @@ public class StaticFileServer implements StaticFileHandler {
         // Intentionally writing cache headers also for 304 responses
         writeCacheHeaders(filenameWithPath, response);
 
+        // Once the index is full, other resources use the timestamp instead of
+        // being hashed again for every request
+        if (indexedResource == null
+                && deploymentConfiguration.isProductionMode()
+                && resourceIndex.size() < MAX_INDEXED_RESOURCES) {
+            indexedResource = indexResource(filenameWithPath, resourceUrl);
+        }
+        if (indexedResource != null) {
+            if (indexedResource.lastModified >= 0) {
+                response.setDateHeader("Last-Modified",
+                        indexedResource.lastModified);
+            }
+            response.setHeader("ETag", indexedResource.eTag);
+            if (browserHasNewestVersion(request, indexedResource)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return true;
+            }
+            responseWriter.writeResponseContents(filenameWithPath, resourceUrl,
+                    request, response);
+            return true;
+        }
+
         long timestamp = writeModificationTimestamp(resourceUrl, request,
                 response);
         if (browserHasNewestVersion(request, timestamp)) {
@@ -154,6 +200,85 @@ public class StaticFileServer implements StaticFileHandler {
         return true;
     }
 
+    private URL findResource(String filenameWithPath) {
+        URL resourceUrl = null;
+        if (isAllowedVAADINBuildUrl(filenameWithPath)) {
+            resourceUrl = servletService.getClassLoader()
+                    .getResource("META-INF" + filenameWithPath);
+        }
+        if (resourceUrl == null) {
+            resourceUrl = servletService.getStaticResource(filenameWithPath);
+        }
+        if (resourceUrl == null && shouldFixIncorrectWebjarPaths()
+                && isIncorrectWebjarPath(filenameWithPath)) {
+            // Flow issue #4601
+            resourceUrl = servletService.getStaticResource(
+                    fixIncorrectWebjarPath(filenameWithPath));
+        }
+        return resourceUrl;
+    }
+
+    /**
+     * Reads the given resource once to compute its ETag and adds it to the
+     * index. Should only be called while the index is not full. Returns
+     * {@code null} if the resource can't be read, in which case it is served
+     * without the index.
+     */
+    private IndexedResource indexResource(String filenameWithPath,
+            URL resourceUrl) {
+        try {
+            URLConnection connection = resourceUrl.openConnection();
+            long lastModified = connection.getLastModified();
+            // Remove milliseconds like in writeModificationTimestamp
+            lastModified = lastModified > 0
+                    ? lastModified - lastModified % 1000
+                    : -1L;
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream stream = connection.getInputStream()) {
+                byte[] buffer = new byte[8 * 1024];
+                int read;
+                while ((read = stream.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            // Weak since the same tag is used for the compressed variants
+            String eTag = "W/\"" + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(digest.digest()) + '"';
+
+            IndexedResource indexedResource = new IndexedResource(resourceUrl,
+                    lastModified, eTag);
+            resourceIndex.put(filenameWithPath, indexedResource);
+            return indexedResource;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            getLogger().trace(
+                    "Failed to index resource {}. Continuing without it.",
+                    filenameWithPath, e);
+            return null;
+        }
+    }
+
+    private boolean browserHasNewestVersion(HttpServletRequest request,
+            IndexedResource indexedResource) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch == null) {
+            return browserHasNewestVersion(request,
+                    indexedResource.lastModified);
+        }
+        // If-Modified-Since is ignored when If-None-Match is present
+        String eTag = indexedResource.eTag.substring(2);
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || eTag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // When referring to webjar resources from application stylesheets (loaded
     // using @StyleSheet) using relative paths, the paths will be different in
     // development mode and in production mode. The reason is that in production
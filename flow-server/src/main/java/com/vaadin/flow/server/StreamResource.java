@@ -17,9 +17,11 @@ package com.vaadin.flow.server;
 
 import javax.servlet.ServletContext;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.Optional;
 
 import com.vaadin.flow.dom.Element;
@@ -48,8 +50,14 @@ public class StreamResource extends AbstractStreamResource {
 
     private final StreamResourceWriter writer;
 
+    private final File file;
+
     private ContentTypeResolver resolver = DEFAULT_RESOLVER;
 
+    private long contentLength = -1;
+
+    private long lastModified = -1;
+
     private static class DefaultResolver implements ContentTypeResolver {
 
         @Override
@@ -62,7 +70,9 @@ public class StreamResource extends AbstractStreamResource {
 
     private static class Pipe implements StreamResourceWriter {
 
-        private static final int BUFFER_SIZE = 1024;
+        // The session lock is acquired once per buffer when reading requires
+        // it, so the buffer should not be too small
+        private static final int BUFFER_SIZE = 8 * 1024;
 
         private InputStreamFactory factory;
 
@@ -111,6 +121,21 @@ public class StreamResource extends AbstractStreamResource {
         }
     }
 
+    private static class FileCopy implements StreamResourceWriter {
+
+        private final File file;
+
+        private FileCopy(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public void accept(OutputStream stream, VaadinSession session)
+                throws IOException {
+            Files.copy(file.toPath(), stream);
+        }
+    }
+
     /**
      * Creates {@link StreamResource} instance using mandatory parameters
      * {@code name} as a resource file name and output stream {@code writer} as
@@ -137,6 +162,7 @@ public class StreamResource extends AbstractStreamResource {
         }
         fileName = name;
         this.writer = writer;
+        file = null;
     }
 
     /**
@@ -158,6 +184,38 @@ public class StreamResource extends AbstractStreamResource {
         assert name != null;
     }
 
+    /**
+     * Creates {@link StreamResource} instance using mandatory parameters
+     * {@code name} as a resource file name and {@code file} as the source of
+     * the data.
+     * <p>
+     * The file is read without holding the session lock. Since the length and
+     * the modification time of the file are known, requests for the resource
+     * can be answered with a part of the file or with a "not modified"
+     * response when the client already has the current version.
+     * <p>
+     * {@code name} parameter value will be used in URI (generated when resource
+     * is registered) in a way that the {@code name} is the last segment of the
+     * path. So this is synthetic file name (not real one).
+     *
+     * @param name
+     *            resource file name. May not be null.
+     * @param file
+     *            the file to serve. May not be null.
+     */
+    public StreamResource(String name, File file) {
+        assert name != null;
+        assert file != null;
+
+        if (name.indexOf('/') != -1) {
+            throw new IllegalArgumentException(
+                    "Resource file name parameter contains '/'");
+        }
+        fileName = name;
+        writer = new FileCopy(file);
+        this.file = file;
+    }
+
     /**
      * Returns the stream resource writer.
      * <p>
@@ -217,6 +275,77 @@ public class StreamResource extends AbstractStreamResource {
         return resolver;
     }
 
+    /**
+     * Gets the file the data of this resource is read from, if the resource
+     * was created for a file.
+     *
+     * @return the source file, or an empty optional if the data is produced
+     *         by a writer or an input stream factory
+     */
+    public Optional<File> getFile() {
+        return Optional.ofNullable(file);
+    }
+
+    /**
+     * Sets the length of the resource data in bytes. When the length and the
+     * last modification time are known, the resource is served with an
+     * {@code ETag} header and conditional requests can be answered without
+     * producing the data.
+     * <p>
+     * The length of a resource created for a file is always the length of the
+     * file.
+     *
+     * @param contentLength
+     *            the length in bytes, or a negative value if unknown
+     * @return this resource
+     */
+    public StreamResource setContentLength(long contentLength) {
+        this.contentLength = contentLength;
+        return this;
+    }
+
+    /**
+     * Gets the length of the resource data in bytes.
+     *
+     * @return the length in bytes, or {@code -1} if unknown
+     */
+    public long getContentLength() {
+        if (file != null) {
+            return file.isFile() ? file.length() : -1;
+        }
+        return contentLength < 0 ? -1 : contentLength;
+    }
+
+    /**
+     * Sets the time the resource data was last modified.
+     * <p>
+     * The modification time of a resource created for a file is always the
+     * modification time of the file.
+     *
+     * @param lastModified
+     *            the time in milliseconds since the epoch, or a negative value
+     *            if unknown
+     * @return this resource
+     * @see #setContentLength(long)
+     */
+    public StreamResource setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+        return this;
+    }
+
+    /**
+     * Gets the time the resource data was last modified.
+     *
+     * @return the time in milliseconds since the epoch, or {@code -1} if
+     *         unknown
+     */
+    public long getLastModified() {
+        if (file != null) {
+            return file.isFile() ? file.lastModified() : -1;
+        }
+        return lastModified < 0 ? -1 : lastModified;
+    }
+
     @Override
     public String getName() {
         return fileName;
@@ -148,6 +148,16 @@ public class StreamResourceRegistry implements Serializable {
         }
     }
 
+    /**
+     * Gets the number of resources registered with this registry.
+     *
+     * @return the number of registered resources
+     */
+    public int getResourceCount() {
+        session.checkHasLock();
+        return res.size();
+    }
+
     /**
      * Get a registered resource for given {@code URI}.
      * <p>
@@ -28,6 +28,14 @@ import java.io.IOException;
  */
 public abstract class SynchronizedRequestHandler implements RequestHandler {
 
+    /**
+     * The name of the request attribute containing the number of nanoseconds
+     * the session lock was held while handling the request, as a
+     * {@link Long}.
+     */
+    public static final String LOCK_HOLD_TIME_ATTRIBUTE = SynchronizedRequestHandler.class
+            .getName() + ".lockHoldTime";
+
     @Override
     public boolean handleRequest(VaadinSession session, VaadinRequest request,
             VaadinResponse response) throws IOException {
@@ -36,13 +44,30 @@ public abstract class SynchronizedRequestHandler implements RequestHandler {
         }
 
         session.lock();
+        long lockedAt = System.nanoTime();
         try {
             return synchronizedHandleRequest(session, request, response);
         } finally {
             session.unlock();
+            recordLockHoldTime(request, lockedAt);
         }
     }
 
+    /**
+     * Stores the time the session lock has been held for the request in the
+     * {@link #LOCK_HOLD_TIME_ATTRIBUTE} request attribute.
+     *
+     * @param request
+     *            the request that was handled
+     * @param lockedAt
+     *            the {@link System#nanoTime()} when the session was locked
+     */
+    protected static void recordLockHoldTime(VaadinRequest request,
+            long lockedAt) {
+        request.setAttribute(LOCK_HOLD_TIME_ATTRIBUTE,
+                System.nanoTime() - lockedAt);
+    }
+
     /**
      * Identical to
      * {@link #handleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
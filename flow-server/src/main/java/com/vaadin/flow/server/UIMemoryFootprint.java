@@ -0,0 +1,140 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.internal.nodefeature.NodeFeature;
+
+/**
+ * Snapshot of the estimated memory footprint of a UI.
+ * <p>
+ * The estimate is based on the number of state nodes and their features,
+ * item keys kept by data communicators and JavaScript invocations waiting to
+ * be sent, multiplied by a typical size of each. It does not include the
+ * memory used by application components and their data, but grows with the
+ * size of the component tree, which makes it suitable for finding the UIs
+ * and sessions that use unusually much memory.
+ *
+ * @see SessionMemoryFootprint
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+public class UIMemoryFootprint implements Serializable {
+
+    // Typical retained sizes in bytes on a 64 bit JVM with compressed oops
+    static final long NODE_SIZE = 96;
+    static final long FEATURE_SIZE = 64;
+    static final long DATA_KEY_SIZE = 128;
+    static final long PENDING_INVOCATION_SIZE = 256;
+
+    private final int uiId;
+    private final int nodeCount;
+    private final Map<Class<? extends NodeFeature>, Integer> featureCounts;
+    private final int dataKeyCount;
+    private final int pendingJavaScriptInvocationCount;
+    private final long estimatedSize;
+
+    /**
+     * Creates a footprint snapshot of the given UI. The session of the UI must
+     * be locked.
+     *
+     * @param ui
+     *            the UI to create a snapshot of, not <code>null</code>
+     */
+    UIMemoryFootprint(UI ui) {
+        UIInternals internals = ui.getInternals();
+        StateTree stateTree = internals.getStateTree();
+
+        uiId = ui.getUIId();
+        nodeCount = stateTree.getNodeCount();
+        featureCounts = Collections
+                .unmodifiableMap(stateTree.getFeatureCounts());
+        dataKeyCount = internals.getDataKeyCount();
+        pendingJavaScriptInvocationCount = internals
+                .getPendingJavaScriptInvocationCount();
+
+        long featureCount = 0;
+        for (Integer count : featureCounts.values()) {
+            featureCount += count.intValue();
+        }
+        estimatedSize = nodeCount * NODE_SIZE + featureCount * FEATURE_SIZE
+                + dataKeyCount * DATA_KEY_SIZE
+                + pendingJavaScriptInvocationCount * PENDING_INVOCATION_SIZE;
+    }
+
+    /**
+     * Gets the id of the UI.
+     *
+     * @return the UI id
+     */
+    public int getUIId() {
+        return uiId;
+    }
+
+    /**
+     * Gets the number of state nodes attached to the UI.
+     *
+     * @return the number of state nodes
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the number of initialized features of the attached state nodes, by
+     * feature type.
+     *
+     * @return an unmodifiable map of feature counts by feature type
+     */
+    public Map<Class<? extends NodeFeature>, Integer> getFeatureCounts() {
+        return featureCounts;
+    }
+
+    /**
+     * Gets the number of item keys kept for the client side by the data
+     * communicators of the UI.
+     *
+     * @return the number of data keys
+     */
+    public int getDataKeyCount() {
+        return dataKeyCount;
+    }
+
+    /**
+     * Gets the number of JavaScript invocations waiting to be sent to the
+     * client.
+     *
+     * @return the number of pending JavaScript invocations
+     */
+    public int getPendingJavaScriptInvocationCount() {
+        return pendingJavaScriptInvocationCount;
+    }
+
+    /**
+     * Gets the estimated memory footprint of the UI.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+}
@@ -41,8 +41,13 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -70,6 +75,7 @@ import com.vaadin.flow.server.communication.JavaScriptBootstrapHandler;
 import com.vaadin.flow.server.communication.PwaHandler;
 import com.vaadin.flow.server.communication.SessionRequestHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
+import com.vaadin.flow.server.communication.UidlCompression;
 import com.vaadin.flow.server.communication.UidlRequestHandler;
 import com.vaadin.flow.server.communication.WebComponentBootstrapHandler;
 import com.vaadin.flow.server.communication.WebComponentProvider;
@@ -153,6 +159,14 @@ public abstract class VaadinService implements Serializable {
     private final List<UIInitListener> uiInitListeners = new CopyOnWriteArrayList<>();
     private final List<SessionDestroyListener> sessionDestroyListeners = new CopyOnWriteArrayList<>();
 
+    private final SessionAccessMetrics accessMetrics = new SessionAccessMetrics();
+
+    private transient ScheduledExecutorService accessScheduler;
+
+    private final List<SessionMemoryLimitListener> sessionMemoryLimitListeners = new CopyOnWriteArrayList<>();
+
+    private transient SessionMemoryMonitor sessionMemoryMonitor;
+
     private SystemMessagesProvider systemMessagesProvider = DefaultSystemMessagesProvider
             .get();
 
@@ -277,6 +291,15 @@ public abstract class VaadinService implements Serializable {
         });
 
         DeploymentConfiguration configuration = getDeploymentConfiguration();
+        if (configuration.isSessionMemoryAccounting()) {
+            sessionMemoryMonitor = new SessionMemoryMonitor(getServiceName(),
+                    configuration.getSessionMemoryLimit());
+            sessionMemoryMonitor.register();
+        }
+        if (configuration.isUidlCompression()) {
+            // Publishes the compression statistics before the first response
+            UidlCompression.get(this);
+        }
         if (!configuration.isProductionMode()) {
             Logger logger = getLogger();
             logger.debug("The application has the following routes: ");
@@ -624,6 +647,19 @@ public abstract class VaadinService implements Serializable {
                 listener -> listener.modifyIndexHtmlResponse(response));
     }
 
+    /**
+     * Checks whether any {@link IndexHtmlRequestListener} is registered for
+     * this service. When there are no listeners, the Index HTML response
+     * doesn't need to be available as a {@link org.jsoup.nodes.Document}.
+     *
+     * @return <code>true</code> if there is at least one registered listener,
+     *         <code>false</code> otherwise
+     */
+    public boolean hasIndexHtmlRequestListeners() {
+        return indexHtmlRequestListeners != null
+                && indexHtmlRequestListeners.iterator().hasNext();
+    }
+
     /**
      * Handles destruction of the given session. Internally ensures proper
      * locking is done.
@@ -670,6 +706,10 @@ public abstract class VaadinService implements Serializable {
                 }
             }
 
+            if (sessionMemoryMonitor != null) {
+                sessionMemoryMonitor.remove(session);
+            }
+
             session.setState(VaadinSessionState.CLOSED);
         });
     }
@@ -1474,6 +1514,7 @@ public abstract class VaadinService implements Serializable {
                 final long duration = (System.nanoTime() - (Long) request
                         .getAttribute(REQUEST_START_TIME_ATTRIBUTE)) / 1000000;
                 session.setLastRequestDuration(duration);
+                updateSessionMemoryFootprint(session);
             } finally {
                 session.unlock();
             }
@@ -1951,11 +1992,142 @@ public abstract class VaadinService implements Serializable {
         FutureAccess future = new FutureAccess(session, command);
         session.getPendingAccessQueue().add(future);
 
-        ensureAccessQueuePurged(session);
+        int coalescingWindow = getAccessCoalescingWindow();
+        if (coalescingWindow > 0 && !session.hasLock()) {
+            scheduleAccessQueuePurge(session, coalescingWindow);
+        } else {
+            ensureAccessQueuePurged(session);
+        }
 
         return future;
     }
 
+    private int getAccessCoalescingWindow() {
+        DeploymentConfiguration configuration = getDeploymentConfiguration();
+        return configuration == null ? 0
+                : configuration.getAccessCoalescingWindow();
+    }
+
+    /**
+     * Schedules the pending access queue of the session to be purged once the
+     * coalescing window has passed, unless a purge is already scheduled. All
+     * tasks added to the queue before the scheduled purge starts are run with
+     * the same lock acquisition.
+     */
+    private void scheduleAccessQueuePurge(VaadinSession session,
+            int coalescingWindow) {
+        AtomicBoolean scheduled = session.getAccessDrainScheduled();
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            getAccessScheduler().schedule(() -> {
+                // Tasks added from now on need a new purge
+                scheduled.set(false);
+                ensureAccessQueuePurged(session);
+            }, coalescingWindow, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The service is being destroyed
+            scheduled.set(false);
+            ensureAccessQueuePurged(session);
+        }
+    }
+
+    private synchronized ScheduledExecutorService getAccessScheduler() {
+        if (accessScheduler == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            accessScheduler = Executors.newScheduledThreadPool(
+                    Runtime.getRuntime().availableProcessors(), runnable -> {
+                        Thread thread = new Thread(runnable, "vaadin-access-"
+                                + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        return accessScheduler;
+    }
+
+    /**
+     * Gets the statistics of the tasks run through
+     * {@link VaadinSession#access(Command)} in the sessions of this service.
+     *
+     * @return the session access metrics, not <code>null</code>
+     */
+    public SessionAccessMetrics getSessionAccessMetrics() {
+        return accessMetrics;
+    }
+
+    /**
+     * Gets the estimated memory footprint of the given session and each of its
+     * UIs. The session is locked while the footprint is computed.
+     *
+     * @param session
+     *            the session to get the footprint of, not <code>null</code>
+     * @return the footprint of the session, not <code>null</code>
+     */
+    public SessionMemoryFootprint getSessionMemoryFootprint(
+            VaadinSession session) {
+        assert session != null;
+        session.lock();
+        try {
+            return new SessionMemoryFootprint(session);
+        } finally {
+            session.unlock();
+        }
+    }
+
+    /**
+     * Gets the estimated memory footprints of the sessions of this service,
+     * which are also available through JMX. Only available when session
+     * memory accounting is enabled.
+     *
+     * @see DeploymentConfiguration#isSessionMemoryAccounting()
+     * @return the session memory statistics, or an empty optional if session
+     *         memory accounting is not enabled
+     */
+    public Optional<SessionMemoryMXBean> getSessionMemoryStatistics() {
+        return Optional.ofNullable(sessionMemoryMonitor);
+    }
+
+    /**
+     * Adds a listener that gets notified when the estimated memory footprint
+     * of a session exceeds the session memory limit. Only used when session
+     * memory accounting is enabled and a limit is configured.
+     *
+     * @see DeploymentConfiguration#getSessionMemoryLimit()
+     * @param listener
+     *            the listener to add, not <code>null</code>
+     * @return a handle that can be used for removing the listener
+     */
+    public Registration addSessionMemoryLimitListener(
+            SessionMemoryLimitListener listener) {
+        sessionMemoryLimitListeners.add(listener);
+        return () -> sessionMemoryLimitListeners.remove(listener);
+    }
+
+    private void updateSessionMemoryFootprint(VaadinSession session) {
+        if (sessionMemoryMonitor == null
+                || session.getState() != VaadinSessionState.OPEN) {
+            return;
+        }
+        SessionMemoryFootprint footprint = new SessionMemoryFootprint(
+                session);
+        if (!sessionMemoryMonitor.update(session, footprint)) {
+            return;
+        }
+
+        SessionMemoryLimitEvent event = new SessionMemoryLimitEvent(this,
+                session, footprint,
+                sessionMemoryMonitor.getSessionMemoryLimit());
+        for (SessionMemoryLimitListener listener : sessionMemoryLimitListeners) {
+            try {
+                listener.sessionMemoryLimitExceeded(event);
+            } catch (Exception e) {
+                session.getErrorHandler().error(new ErrorEvent(e));
+            }
+        }
+    }
+
     /**
      * Makes sure the pending access queue is purged for the provided session.
      * If the session is currently locked by the current thread or some other
@@ -2009,6 +2181,8 @@ public abstract class VaadinService implements Serializable {
         }
 
         FutureAccess pendingAccess;
+        int taskCount = 0;
+        long totalWaitNanos = 0;
 
         // Dump all current instances, not only the ones dumped by setCurrent
         Map<Class<?>, CurrentInstance> oldInstances = CurrentInstance
@@ -2017,6 +2191,9 @@ public abstract class VaadinService implements Serializable {
         try {
             while ((pendingAccess = session.getPendingAccessQueue()
                     .poll()) != null) {
+                taskCount++;
+                totalWaitNanos += System.nanoTime()
+                        - pendingAccess.getCreationNanos();
                 if (!pendingAccess.isCancelled()) {
                     pendingAccess.run();
 
@@ -2031,6 +2208,7 @@ public abstract class VaadinService implements Serializable {
         } finally {
             CurrentInstance.clearAll();
             CurrentInstance.restoreInstances(oldInstances);
+            accessMetrics.recordDrain(taskCount, totalWaitNanos);
         }
     }
 
@@ -2066,6 +2244,14 @@ public abstract class VaadinService implements Serializable {
         ServiceDestroyEvent event = new ServiceDestroyEvent(this);
         serviceDestroyListeners
                 .forEach(listener -> listener.serviceDestroy(event));
+        synchronized (this) {
+            if (accessScheduler != null) {
+                accessScheduler.shutdown();
+            }
+        }
+        if (sessionMemoryMonitor != null) {
+            sessionMemoryMonitor.unregister();
+        }
     }
 
     /**
@@ -33,6 +33,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -120,6 +121,8 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     private transient ConcurrentLinkedQueue<FutureAccess> pendingAccessQueue = new ConcurrentLinkedQueue<>();
 
+    private transient AtomicBoolean accessDrainScheduled = new AtomicBoolean();
+
     /*
      * Despite section 6 of RFC 4122, this particular use of UUID *is* adequate
      * for security capabilities. Type 4 UUIDs contain 122 bits of random data,
@@ -967,6 +970,16 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return pendingAccessQueue;
     }
 
+    /**
+     * Gets the flag telling whether a coalesced purge of the pending access
+     * queue has been scheduled but not yet started.
+     *
+     * @return the scheduled flag, not <code>null</code>
+     */
+    AtomicBoolean getAccessDrainScheduled() {
+        return accessDrainScheduled;
+    }
+
     /**
      * Gets the push connection identifier for this session. Used when
      * establishing a push connection with the client.
@@ -980,7 +993,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
 
     /**
      * Override default deserialization logic to account for transient
-     * {@link #pendingAccessQueue}.
+     * {@link #pendingAccessQueue} and {@link #accessDrainScheduled}.
      *
      * @param stream
      *            the object to read
@@ -995,6 +1008,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         try {
             stream.defaultReadObject();
             pendingAccessQueue = new ConcurrentLinkedQueue<>();
+            accessDrainScheduled = new AtomicBoolean();
         } finally {
             CurrentInstance.restoreInstances(old);
         }
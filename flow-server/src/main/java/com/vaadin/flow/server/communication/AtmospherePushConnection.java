@@ -21,18 +21,23 @@ import java.io.ObjectInputStream;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.atmosphere.cpr.AtmosphereResource;
 import org.atmosphere.cpr.AtmosphereResource.TRANSPORT;
+import org.atmosphere.cpr.AtmosphereResourceEvent;
+import org.atmosphere.cpr.AtmosphereResourceEventListenerAdapter;
 import org.atmosphere.util.Version;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.UsageStatistics;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.communication.PushConstants;
 
 import elemental.json.JsonObject;
@@ -51,6 +56,14 @@ public class AtmospherePushConnection implements PushConnection {
     private transient AtmosphereResource resource;
     private transient FragmentedMessage incomingMessage;
     private transient Future<Object> outgoingMessage;
+    private transient volatile int outstandingMessageSize;
+    /*
+     * Null if no push has been held back, otherwise whether all held back
+     * pushes were asynchronous.
+     */
+    private transient volatile Boolean pendingPush;
+    private final AtomicLong mergedPushCount = new AtomicLong();
+    private final AtomicLong droppedMessageCount = new AtomicLong();
 
     /**
      * Represents a message that can arrive as multiple fragments.
@@ -113,6 +126,15 @@ public class AtmospherePushConnection implements PushConnection {
         }
     }
 
+    private class DeliveryListener extends
+            AtmosphereResourceEventListenerAdapter implements Serializable {
+
+        @Override
+        public void onBroadcast(AtmosphereResourceEvent event) {
+            messageDelivered();
+        }
+    }
+
     protected enum State {
         /**
          * Not connected. Trying to push will set the connection state to
@@ -189,17 +211,106 @@ public class AtmospherePushConnection implements PushConnection {
             } else {
                 state = State.RESPONSE_PENDING;
             }
+        } else if (isMessageInFlight() && isPushBackpressure()) {
+            Boolean pending = pendingPush;
+            pendingPush = pending == null ? async : pending && async;
+            mergedPushCount.incrementAndGet();
+            if (!isMessageInFlight()) {
+                // Delivered before the pending push was visible to the
+                // delivery callback, so nobody else will send it
+                pushPending();
+            }
         } else {
+            pendingPush = null;
             try {
-                JsonObject response = new UidlWriter().createUidl(getUI(),
-                        async);
-                sendMessage("for(;;);[" + response.toJson() + "]");
+                sendMessage(createMessage(async));
             } catch (Exception e) {
                 throw new RuntimeException("Push failed", e);
             }
         }
     }
 
+    private boolean isMessageInFlight() {
+        return outstandingMessageSize > 0 && outgoingMessage != null
+                && !outgoingMessage.isDone();
+    }
+
+    private boolean isPushBackpressure() {
+        return getUI().getSession().getService().getDeploymentConfiguration()
+                .isPushBackpressure();
+    }
+
+    /**
+     * Called by Atmosphere when a message has been written to the client.
+     * Sends the changes of the pushes held back meanwhile.
+     */
+    private void messageDelivered() {
+        outstandingMessageSize = 0;
+        if (pendingPush != null) {
+            VaadinSession session = getUI().getSession();
+            if (session != null) {
+                session.access(this::pushPending);
+            }
+        }
+    }
+
+    private void pushPending() {
+        Boolean pending = pendingPush;
+        if (pending == null || !isConnected()) {
+            return;
+        }
+        if (pending && !getUI().getInternals().isDirty()) {
+            // The changes have already been sent with another message
+            pendingPush = null;
+            return;
+        }
+        push(pending);
+    }
+
+    /**
+     * Gets the size of the message which has been sent to the client but
+     * has not yet been reported as delivered.
+     *
+     * @return the number of characters in flight, or <code>0</code> if there
+     *         is no message in flight
+     */
+    public int getOutstandingMessageSize() {
+        return isMessageInFlight() ? outstandingMessageSize : 0;
+    }
+
+    /**
+     * Gets the number of pushes which were merged into a later message
+     * because the previous message had not been delivered yet.
+     *
+     * @return the number of merged pushes
+     */
+    public long getMergedPushCount() {
+        return mergedPushCount.get();
+    }
+
+    /**
+     * Gets the number of messages which had not been delivered when the
+     * connection was closed or lost.
+     *
+     * @return the number of dropped messages
+     */
+    public long getDroppedMessageCount() {
+        return droppedMessageCount.get();
+    }
+
+    private String createMessage(boolean async) throws IOException {
+        if (getUI().getSession().getService().getDeploymentConfiguration()
+                .isStreamingUidl()) {
+            StringWriter writer = new StringWriter();
+            writer.write("for(;;);[");
+            new UidlWriter().writeUidl(getUI(), async, false, writer);
+            writer.write(']');
+            return writer.toString();
+        }
+        JsonObject response = new UidlWriter().createUidl(getUI(), async);
+        return "for(;;);[" + response.toJson() + "]";
+    }
+
     /**
      * Sends the given message to the current client. Cannot be called if
      * {@link #isConnected()} returns false.
@@ -209,6 +320,7 @@ public class AtmospherePushConnection implements PushConnection {
      */
     protected void sendMessage(String message) {
         assert (isConnected());
+        outstandingMessageSize = message.length();
         // "Broadcast" the changes to the single client only
         outgoingMessage = getResource().getBroadcaster().broadcast(message,
                 getResource());
@@ -279,6 +391,7 @@ public class AtmospherePushConnection implements PushConnection {
         this.resource = resource;
         State oldState = state;
         state = State.CONNECTED;
+        resource.addEventListener(new DeliveryListener());
 
         if (oldState == State.PUSH_PENDING
                 || oldState == State.RESPONSE_PENDING) {
@@ -336,6 +449,9 @@ public class AtmospherePushConnection implements PushConnection {
                         "Error waiting for messages to be sent to client before disconnect",
                         e);
             }
+            if (!outgoingMessage.isDone()) {
+                droppedMessageCount.incrementAndGet();
+            }
             outgoingMessage = null;
         }
 
@@ -352,12 +468,23 @@ public class AtmospherePushConnection implements PushConnection {
      *
      */
     public void connectionLost() {
+        if (isMessageInFlight()) {
+            droppedMessageCount.incrementAndGet();
+        }
+        outstandingMessageSize = 0;
+        outgoingMessage = null;
         resource = null;
         if (state == State.CONNECTED) {
             // Guard against connectionLost being (incorrectly) called when
             // state is PUSH_PENDING or RESPONSE_PENDING
             // (http://dev.vaadin.com/ticket/16919)
             state = State.DISCONNECTED;
+            Boolean pending = pendingPush;
+            if (pending != null) {
+                // Send the held back changes once reconnected
+                state = pending ? State.PUSH_PENDING : State.RESPONSE_PENDING;
+                pendingPush = null;
+            }
         }
 
     }
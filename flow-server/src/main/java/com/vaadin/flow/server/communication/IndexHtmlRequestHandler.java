@@ -26,13 +26,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.page.AppShellConfigurator;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.UsageStatisticsExporter;
 import com.vaadin.flow.server.AppShellRegistry;
+import com.vaadin.flow.server.AppShellSettings;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.communication.IndexHtmlTemplate.Slot;
 import com.vaadin.flow.server.frontend.FrontendUtils;
 
 import elemental.json.Json;
@@ -48,41 +51,170 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * This class is responsible for serving the <code>index.html</code> according
  * to the template provided in the frontend folder. The handler will calculate and
  * inject baseHref as well as the bundle scripts into the template.
+ * <p>
+ * In production mode, the page is precompiled once and only the base href and
+ * the initial state are filled in for each request, unless an
+ * {@link IndexHtmlRequestListener} or an {@link AppShellConfigurator}
+ * overriding {@link AppShellConfigurator#configurePage(AppShellSettings)}
+ * needs to modify the page.
  */
 public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
 
     private transient IndexHtmlResponse indexHtmlResponse;
 
+    private transient volatile IndexHtmlTemplate indexHtmlTemplate;
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
+        if (canUseTemplate(session, request)) {
+            return writeFromTemplate(session, request, response);
+        }
+
         Document indexDocument = getIndexHtmlDocument(request);
 
-        prependBaseHref(request, indexDocument);
+        prependBaseHref(getServiceUrl(request), indexDocument);
+
+        JsonObject initialJson = createInitialJson(session, request, response);
+
+        if (request.getService().getBootstrapInitialPredicate()
+                .includeInitialUidl(request)) {
+            indexHtmlResponse = new IndexHtmlResponse(request, response, indexDocument, UI.getCurrent());
+        } else {
+            indexHtmlResponse = new IndexHtmlResponse(request, response, indexDocument);
+        }
+
+        addInitialFlow(JsonUtil.stringify(initialJson), indexDocument);
+
+        modifyIndexHtmlDocument(indexDocument, session, request);
+
+        response.setContentType(CONTENT_TYPE_TEXT_HTML_UTF_8);
+
+        // modify the page based on registered IndexHtmlRequestListener:s
+        request.getService().modifyIndexHtmlResponse(indexHtmlResponse);
+
+        try {
+            response.getOutputStream()
+                    .write(indexDocument.html().getBytes(UTF_8));
+        } catch (IOException e) {
+            getLogger().error("Error writing 'index.html' to response", e);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean writeFromTemplate(VaadinSession session,
+            VaadinRequest request, VaadinResponse response) throws IOException {
+        IndexHtmlTemplate template = getIndexHtmlTemplate(session, request);
+
+        String initialJson = JsonUtil.stringify(
+                createInitialJson(session, request, response));
+        String baseHref = getServiceUrl(request);
+
+        // No listener is registered, so there's no document to expose
+        indexHtmlResponse = null;
+
+        response.setContentType(CONTENT_TYPE_TEXT_HTML_UTF_8);
 
+        try {
+            template.writeTo(response.getOutputStream(),
+                    slot -> slot == Slot.BASE_HREF ? baseHref : initialJson);
+        } catch (IOException e) {
+            getLogger().error("Error writing 'index.html' to response", e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the page can be written from the precompiled template.
+     * This is the case when the page is the same for every request apart from
+     * the base href and the initial state: the index.html content doesn't
+     * change in production mode, and neither an
+     * {@link IndexHtmlRequestListener} nor the app shell configurator needs
+     * the page as a document.
+     */
+    private static boolean canUseTemplate(VaadinSession session,
+            VaadinRequest request) {
+        if (!session.getConfiguration().isProductionMode()
+                || request.getService().hasIndexHtmlRequestListeners()) {
+            return false;
+        }
+        Class<? extends AppShellConfigurator> shell = AppShellRegistry
+                .getInstance(session.getService().getContext()).getShell();
+        return shell == null || !overridesConfigurePage(shell);
+    }
+
+    private static boolean overridesConfigurePage(
+            Class<? extends AppShellConfigurator> shell) {
+        try {
+            return !AppShellConfigurator.class.equals(shell
+                    .getMethod("configurePage", AppShellSettings.class)
+                    .getDeclaringClass());
+        } catch (NoSuchMethodException e) { // NOSONAR
+            return true;
+        }
+    }
+
+    private IndexHtmlTemplate getIndexHtmlTemplate(VaadinSession session,
+            VaadinRequest request) throws IOException {
+        IndexHtmlTemplate template = indexHtmlTemplate;
+        if (template == null) {
+            synchronized (this) {
+                template = indexHtmlTemplate;
+                if (template == null) {
+                    template = compileIndexHtmlTemplate(session, request);
+                    indexHtmlTemplate = template;
+                }
+            }
+        }
+        return template;
+    }
+
+    private static IndexHtmlTemplate compileIndexHtmlTemplate(
+            VaadinSession session, VaadinRequest request) throws IOException {
+        Document indexDocument = getIndexHtmlDocument(request);
+
+        prependBaseHref(Slot.BASE_HREF.getPlaceholder(), indexDocument);
+        addInitialFlow(Slot.INITIAL_STATE.getPlaceholder(), indexDocument);
+
+        modifyIndexHtmlDocument(indexDocument, session, request);
+
+        IndexHtmlTemplate template = IndexHtmlTemplate
+                .compile(indexDocument.html());
+        assert template.getSlotCount() == Slot.values().length;
+        return template;
+    }
+
+    private JsonObject createInitialJson(VaadinSession session,
+            VaadinRequest request, VaadinResponse response) {
         JsonObject initialJson = Json.createObject();
 
         if (request.getService().getBootstrapInitialPredicate()
                 .includeInitialUidl(request)) {
             includeInitialUidl(initialJson, session, request, response);
 
-            indexHtmlResponse = new IndexHtmlResponse(request, response, indexDocument, UI.getCurrent());
-
             // App might be using classic server-routing, which is true
             // unless we detect a call to JavaScriptBootstrapUI.connectClient
             session.setAttribute(SERVER_ROUTING, Boolean.TRUE);
-        } else {
-            indexHtmlResponse = new IndexHtmlResponse(request, response, indexDocument);
         }
 
-        addInitialFlow(initialJson, indexDocument, session);
+        String csrfToken = session.getCsrfToken();
+        if (csrfToken != null) {
+            initialJson.put(CSRF_TOKEN, csrfToken);
+        }
+        return initialJson;
+    }
 
+    /**
+     * Applies the modifications which are the same for every request.
+     */
+    private static void modifyIndexHtmlDocument(Document indexDocument,
+            VaadinSession session, VaadinRequest request) {
         configureErrorDialogStyles(indexDocument);
 
         showWebpackErrors(indexDocument);
 
-        response.setContentType(CONTENT_TYPE_TEXT_HTML_UTF_8);
-
         VaadinContext context = session.getService().getContext();
         AppShellRegistry registry = AppShellRegistry.getInstance(context);
 
@@ -97,31 +229,14 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         // modify the page based on the @Meta, @ViewPort, @BodySize and @Inline annotations
         // and on the AppShellConfigurator
         registry.modifyIndexHtml(indexDocument, request);
-
-        // modify the page based on registered IndexHtmlRequestListener:s
-        request.getService().modifyIndexHtmlResponse(indexHtmlResponse);
-
-        try {
-            response.getOutputStream()
-                    .write(indexDocument.html().getBytes(UTF_8));
-        } catch (IOException e) {
-            getLogger().error("Error writing 'index.html' to response", e);
-            return false;
-        }
-        return true;
     }
 
-    private void addInitialFlow(JsonObject initialJson, Document indexDocument,
-                                VaadinSession session) {
-        String csrfToken = session.getCsrfToken();
-        if (csrfToken != null) {
-            initialJson.put(CSRF_TOKEN, csrfToken);
-        }
-
+    private static void addInitialFlow(String initialJson,
+            Document indexDocument) {
         Element elm = new Element("script");
         elm.attr("initial", "");
         elm.appendChild(new DataNode(
-                "window.Vaadin = {TypeScript: " + JsonUtil.stringify(initialJson) + "};"
+                "window.Vaadin = {TypeScript: " + initialJson + "};"
         ));
         indexDocument.head().insertChildren(0, elm);
     }
@@ -147,16 +262,15 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         }
     }
 
-    private void configureErrorDialogStyles(Document document) {
+    private static void configureErrorDialogStyles(Document document) {
         Element styles = document.createElement("style");
         document.head().appendChild(styles);
         setupErrorDialogs(styles);
     }
 
-    private static void prependBaseHref(VaadinRequest request,
+    private static void prependBaseHref(String baseHref,
             Document indexDocument) {
         Elements base = indexDocument.head().getElementsByTag("base");
-        String baseHref = getServiceUrl(request);
         if (base.isEmpty()) {
             indexDocument.head().prependElement("base").attr("href", baseHref);
         } else {
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.vaadin.flow.function.SerializableFunction;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Precompiled <code>index.html</code> page.
+ * <p>
+ * The parts of the page which are the same for every request are rendered
+ * once into byte segments. Between the segments are slots which are filled in
+ * for each request when the page is written.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+class IndexHtmlTemplate implements Serializable {
+
+    /**
+     * The per request parts of the page.
+     */
+    enum Slot {
+        /**
+         * The value of the <code>href</code> attribute of the
+         * <code>base</code> element, written with attribute escaping.
+         */
+        BASE_HREF,
+        /**
+         * The initial state JSON in the initial script, written as is.
+         */
+        INITIAL_STATE;
+
+        private final String placeholder = "vaadin-slot-" + name() + "-"
+                + UUID.randomUUID();
+
+        /**
+         * Gets the marker to use in the document in place of the slot
+         * value when compiling the template.
+         *
+         * @return the placeholder of the slot
+         */
+        String getPlaceholder() {
+            return placeholder;
+        }
+    }
+
+    private final List<byte[]> segments;
+    private final List<Slot> slots;
+
+    private IndexHtmlTemplate(List<byte[]> segments, List<Slot> slots) {
+        this.segments = segments;
+        this.slots = slots;
+    }
+
+    /**
+     * Compiles a template from the HTML of a document where the slot values
+     * have been replaced with the {@link Slot#getPlaceholder() placeholders}.
+     *
+     * @param html
+     *            the HTML of the page, not {@code null}
+     * @return the compiled template, not {@code null}
+     */
+    static IndexHtmlTemplate compile(String html) {
+        List<byte[]> segments = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+
+        int start = 0;
+        while (true) {
+            Slot next = null;
+            int nextIndex = -1;
+            for (Slot slot : Slot.values()) {
+                int index = html.indexOf(slot.getPlaceholder(), start);
+                if (index >= 0 && (nextIndex < 0 || index < nextIndex)) {
+                    next = slot;
+                    nextIndex = index;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            segments.add(html.substring(start, nextIndex).getBytes(UTF_8));
+            slots.add(next);
+            start = nextIndex + next.getPlaceholder().length();
+        }
+        segments.add(html.substring(start).getBytes(UTF_8));
+
+        return new IndexHtmlTemplate(segments, slots);
+    }
+
+    /**
+     * Writes the page to the given stream.
+     *
+     * @param out
+     *            the stream to write to, not {@code null}
+     * @param values
+     *            provides the value of each slot, not {@code null}
+     * @throws IOException
+     *             if writing to the stream fails
+     */
+    void writeTo(OutputStream out, SerializableFunction<Slot, String> values)
+            throws IOException {
+        for (int i = 0; i < slots.size(); i++) {
+            out.write(segments.get(i));
+            Slot slot = slots.get(i);
+            String value = values.apply(slot);
+            if (slot == Slot.BASE_HREF) {
+                value = escapeAttribute(value);
+            }
+            out.write(value.getBytes(UTF_8));
+        }
+        out.write(segments.get(slots.size()));
+    }
+
+    /**
+     * Gets the number of slots in the template.
+     *
+     * @return the slot count
+     */
+    int getSlotCount() {
+        return slots.size();
+    }
+
+    // Same escaping as Jsoup uses for attribute values in HTML output
+    private static String escapeAttribute(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '&':
+                builder.append("&amp;");
+                break;
+            case '"':
+                builder.append("&quot;");
+                break;
+            case '\u00A0':
+                builder.append("&nbsp;");
+                break;
+            default:
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
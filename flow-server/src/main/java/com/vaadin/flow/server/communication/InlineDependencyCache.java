@@ -0,0 +1,231 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.File;
+import java.io.Serializable;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.shared.ui.LoadMode;
+
+/**
+ * Service scoped cache for the contents of dependencies loaded with
+ * {@link LoadMode#INLINE}, keyed by the dependency URL.
+ * <p>
+ * The cache is bounded by the total number of cached characters, evicting the
+ * least recently used entries first. In development mode, entries for
+ * resources available as files are revalidated against the file modification
+ * time and entries for resources that are not available through the service
+ * are not cached at all.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+public class InlineDependencyCache implements Serializable {
+
+    private static final long NOT_VALIDATED = -1;
+
+    private static class Entry implements Serializable {
+        private final String contents;
+        private final long lastModified;
+
+        private Entry(String contents, long lastModified) {
+            this.contents = contents;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private final boolean productionMode;
+    private final long maxSize;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(
+            16, 0.75f, true);
+    private long size;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param productionMode
+     *            whether the application runs in production mode
+     * @param maxSize
+     *            the maximum total number of characters to cache
+     */
+    public InlineDependencyCache(boolean productionMode, long maxSize) {
+        this.productionMode = productionMode;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the cache for the given service, creating it if necessary.
+     *
+     * @param service
+     *            the service to get the cache for, not {@code null}
+     * @return the cache instance for the service, not {@code null}
+     */
+    public static InlineDependencyCache get(VaadinService service) {
+        assert service != null;
+        return service.getContext().getAttribute(InlineDependencyCache.class,
+                () -> {
+                    DeploymentConfiguration configuration = service
+                            .getDeploymentConfiguration();
+                    return new InlineDependencyCache(
+                            configuration.isProductionMode(),
+                            configuration.getInlineDependencyCacheSize());
+                });
+    }
+
+    /**
+     * Gets the contents of the dependency with the given URL, loading them
+     * with the given loader if they are not cached.
+     * <p>
+     * The loader is run without holding any lock of this cache.
+     *
+     * @param url
+     *            the URL of the dependency, not {@code null}
+     * @param service
+     *            the service used for resolving the dependency, not
+     *            {@code null}
+     * @param loader
+     *            the function loading the contents of the dependency for the
+     *            given URL, not {@code null}
+     * @return the dependency contents
+     */
+    public String getContents(String url, VaadinService service,
+            SerializableFunction<String, String> loader) {
+        long lastModified = productionMode ? NOT_VALIDATED
+                : getLastModified(url, service);
+        if (lastModified == 0) {
+            // The resource can't be validated, don't cache it in dev mode
+            misses.incrementAndGet();
+            return loader.apply(url);
+        }
+
+        synchronized (entries) {
+            Entry entry = entries.get(url);
+            if (entry != null && entry.lastModified == lastModified) {
+                hits.incrementAndGet();
+                return entry.contents;
+            }
+        }
+
+        misses.incrementAndGet();
+        String contents = loader.apply(url);
+        if (contents.length() <= maxSize) {
+            put(url, new Entry(contents, lastModified));
+        }
+        return contents;
+    }
+
+    /**
+     * Gets the number of lookups that were answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of lookups that required loading the dependency
+     * contents.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the total number of characters currently cached.
+     *
+     * @return the current size of the cache
+     */
+    public long getSize() {
+        synchronized (entries) {
+            return size;
+        }
+    }
+
+    /**
+     * Gets the maximum total number of characters to cache.
+     *
+     * @return the maximum size of the cache
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Removes all entries from the cache. The hit and miss counts are not
+     * reset.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            size = 0;
+        }
+    }
+
+    private void put(String url, Entry entry) {
+        synchronized (entries) {
+            Entry old = entries.put(url, entry);
+            if (old != null) {
+                size -= old.contents.length();
+            }
+            size += entry.contents.length();
+
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet()
+                    .iterator();
+            while (size > maxSize && iterator.hasNext()) {
+                size -= iterator.next().getValue().contents.length();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the modification time to validate a cached entry against in
+     * development mode. Returns {@value #NOT_VALIDATED} for resources which
+     * don't change while the application is running and {@code 0} for
+     * resources which cannot be validated.
+     */
+    private static long getLastModified(String url, VaadinService service) {
+        URL resource = service.getResource(url);
+        if (resource == null) {
+            return 0;
+        }
+        if (!"file".equals(resource.getProtocol())) {
+            // Resources from jar files are not changed without a redeploy
+            return NOT_VALIDATED;
+        }
+        try {
+            return new File(resource.toURI()).lastModified();
+        } catch (URISyntaxException | IllegalArgumentException e) { // NOSONAR
+            return 0;
+        }
+    }
+}
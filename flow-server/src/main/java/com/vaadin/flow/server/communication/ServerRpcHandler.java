@@ -47,10 +47,12 @@ import com.vaadin.flow.server.communication.rpc.NavigationRpcHandler;
 import com.vaadin.flow.server.communication.rpc.PublishedServerEventHandlerRpcHandler;
 import com.vaadin.flow.server.communication.rpc.RpcInvocationHandler;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.CompactRpcCodec;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 import elemental.json.impl.JsonUtil;
 
@@ -77,6 +79,8 @@ public class ServerRpcHandler implements Serializable {
         private final JsonObject json;
         private final boolean resynchronize;
         private final int clientToServerMessageId;
+        private final String messageStart;
+        private final byte[] messageHash;
 
         /**
          * Creates an instance based on the given JSON received through the
@@ -89,6 +93,17 @@ public class ServerRpcHandler implements Serializable {
          */
         public RpcRequest(String jsonString, VaadinRequest request) {
             json = JsonUtil.parse(jsonString);
+            // Only the start is needed for logging, don't keep the whole
+            // message alive
+            messageStart = jsonString.length() > MESSAGE_START_LENGTH
+                    ? jsonString.substring(0, MESSAGE_START_LENGTH)
+                    : jsonString;
+
+            String hashMessage = jsonString;
+            if (hashMessage.length() > MAX_BUFFER_SIZE) {
+                hashMessage = jsonString.substring(0, MAX_BUFFER_SIZE);
+            }
+            messageHash = MessageDigestUtil.sha256(hashMessage);
 
             JsonValue token = json.get(ApplicationConstants.CSRF_TOKEN);
             if (token == null) {
@@ -187,10 +202,26 @@ public class ServerRpcHandler implements Serializable {
             return json;
         }
 
+        /**
+         * Gets the SHA-256 hash of the beginning of the message, used for
+         * detecting a message which is sent again by the client.
+         *
+         * @return the message hash
+         */
+        public byte[] getMessageHash() {
+            return messageHash;
+        }
+
+        private String getMessageStart() {
+            return messageStart;
+        }
+
     }
 
     private static final int MAX_BUFFER_SIZE = 64 * 1024;
 
+    private static final int MESSAGE_START_LENGTH = 1000;
+
     /**
      * Exception thrown then the security key sent by the client does not match
      * the expected one.
@@ -241,16 +272,54 @@ public class ServerRpcHandler implements Serializable {
      */
     public void handleRpc(UI ui, Reader reader, VaadinRequest request)
             throws IOException, InvalidUIDLSecurityKeyException {
-        ui.getSession().setLastRequestTimestamp(System.currentTimeMillis());
+        RpcRequest rpcRequest = readRpcRequest(reader, request);
+        if (rpcRequest == null) {
+            // The client sometimes sends empty messages, this is probably a bug
+            ui.getSession()
+                    .setLastRequestTimestamp(System.currentTimeMillis());
+            return;
+        }
+        handleRpc(ui, rpcRequest);
+    }
 
+    /**
+     * Reads and parses the JSON containing the RPC calls. This method does not
+     * use the session and can be called without holding the session lock.
+     *
+     * @param reader
+     *            The {@link Reader} used to read the JSON.
+     * @param request
+     *            The request through which the RPC was received
+     * @return the parsed request, or <code>null</code> if the message is
+     *         empty
+     * @throws IOException
+     *             If reading the message fails.
+     */
+    public RpcRequest readRpcRequest(Reader reader, VaadinRequest request)
+            throws IOException {
         String changeMessage = getMessage(reader);
 
         if (changeMessage == null || changeMessage.equals("")) {
-            // The client sometimes sends empty messages, this is probably a bug
-            return;
+            return null;
         }
+        return new RpcRequest(changeMessage, request);
+    }
 
-        RpcRequest rpcRequest = new RpcRequest(changeMessage, request);
+    /**
+     * Executes the RPC calls of a request parsed with
+     * {@link #readRpcRequest(Reader, VaadinRequest)}.
+     *
+     * @param ui
+     *            The {@link UI} receiving the calls. Cannot be null.
+     * @param rpcRequest
+     *            the parsed request, not <code>null</code>
+     * @throws InvalidUIDLSecurityKeyException
+     *             If the received security key does not match the one stored in
+     *             the session.
+     */
+    public void handleRpc(UI ui, RpcRequest rpcRequest)
+            throws InvalidUIDLSecurityKeyException {
+        ui.getSession().setLastRequestTimestamp(System.currentTimeMillis());
 
         // Security: double cookie submission pattern unless disabled by
         // property
@@ -258,11 +327,7 @@ public class ServerRpcHandler implements Serializable {
             throw new InvalidUIDLSecurityKeyException();
         }
 
-        String hashMessage = changeMessage;
-        if (hashMessage.length() > 64 * 1024) {
-            hashMessage = changeMessage.substring(0, 64 * 1024);
-        }
-        byte[] messageHash = MessageDigestUtil.sha256(hashMessage);
+        byte[] messageHash = rpcRequest.getMessageHash();
 
         int expectedId = ui.getInternals().getLastProcessedClientToServerId()
                 + 1;
@@ -301,10 +366,7 @@ public class ServerRpcHandler implements Serializable {
                  * implementing the resync that would thus hide most symptoms of
                  * the actual root cause bugs.
                  */
-                String messageStart = changeMessage;
-                if (messageStart.length() > 1000) {
-                    messageStart = messageStart.substring(0, 1000);
-                }
+                String messageStart = rpcRequest.getMessageStart();
                 throw new UnsupportedOperationException(
                         "Unexpected message id from the client."
                                 + " Expected sync id: " + expectedId + ", got "
@@ -351,7 +413,8 @@ public class ServerRpcHandler implements Serializable {
     /**
      * Processes invocations data received from the client.
      * <p>
-     * The invocations data can contain any number of RPC calls.
+     * The invocations data can contain any number of RPC calls, each either as
+     * a JSON object or in the compact format of {@link CompactRpcCodec}.
      *
      * @param ui
      *            the UI receiving the invocations data
@@ -360,22 +423,22 @@ public class ServerRpcHandler implements Serializable {
      *            requested RPC calls.
      */
     private void handleInvocations(UI ui, JsonArray invocationsData) {
-        List<JsonObject> data = new ArrayList<>(invocationsData.length());
+        List<JsonValue> data = new ArrayList<>(invocationsData.length());
         List<Runnable> pendingChangeEvents = new ArrayList<>();
 
         RpcInvocationHandler mapSyncHandler = getInvocationHandlers()
                 .get(JsonConstants.RPC_TYPE_MAP_SYNC);
 
         for (int i = 0; i < invocationsData.length(); i++) {
-            JsonObject invocationJson = invocationsData.getObject(i);
-            String type = invocationJson.getString(JsonConstants.RPC_TYPE);
+            JsonValue invocation = invocationsData.get(i);
+            String type = getType(invocation);
             assert type != null;
             if (JsonConstants.RPC_TYPE_MAP_SYNC.equals(type)) {
                 // Handle these before any RPC invocations.
-                mapSyncHandler.handle(ui, invocationJson)
+                handle(mapSyncHandler, ui, invocation)
                         .ifPresent(pendingChangeEvents::add);
             } else {
-                data.add(invocationJson);
+                data.add(invocation);
             }
         }
 
@@ -383,6 +446,25 @@ public class ServerRpcHandler implements Serializable {
         data.forEach(json -> handleInvocationData(ui, json));
     }
 
+    private static String getType(JsonValue invocation) {
+        if (invocation.getType() == JsonType.ARRAY) {
+            return CompactRpcCodec.getType((JsonArray) invocation);
+        }
+        return ((JsonObject) invocation).getString(JsonConstants.RPC_TYPE);
+    }
+
+    /**
+     * Passes a compact invocation to the handler as is, so that the handler
+     * can read its values without converting it into a JSON object.
+     */
+    private static Optional<Runnable> handle(RpcInvocationHandler handler,
+            UI ui, JsonValue invocation) {
+        if (invocation.getType() == JsonType.ARRAY) {
+            return handler.handleCompact(ui, (JsonArray) invocation);
+        }
+        return handler.handle(ui, (JsonObject) invocation);
+    }
+
     private void runMapSyncTask(UI ui, Runnable runnable) {
         try {
             runnable.run();
@@ -391,15 +473,15 @@ public class ServerRpcHandler implements Serializable {
         }
     }
 
-    private void handleInvocationData(UI ui, JsonObject invocationJson) {
-        String type = invocationJson.getString(JsonConstants.RPC_TYPE);
+    private void handleInvocationData(UI ui, JsonValue invocation) {
+        String type = getType(invocation);
         RpcInvocationHandler handler = getInvocationHandlers().get(type);
         if (handler == null) {
             throw new IllegalArgumentException(
                     "Unsupported event type: " + type);
         }
         try {
-            Optional<Runnable> handle = handler.handle(ui, invocationJson);
+            Optional<Runnable> handle = handle(handler, ui, invocation);
             assert !handle.isPresent() : "RPC handler "
                     + handler.getClass().getName()
                     + " returned a Runnable even though it shouldn't";
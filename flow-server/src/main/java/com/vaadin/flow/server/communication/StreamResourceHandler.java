@@ -18,9 +18,14 @@ package com.vaadin.flow.server.communication;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletResponse;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
@@ -31,6 +36,12 @@ import com.vaadin.flow.server.VaadinSession;
 
 /**
  * Handles {@link StreamResource} instances registered in {@link VaadinSession}.
+ * <p>
+ * When the length and the modification time of the resource are known, the
+ * response gets an {@code ETag} and a {@code Last-Modified} header and
+ * conditional requests are answered with {@code 304 Not Modified}. Resources
+ * created for a file additionally support single byte range requests, and the
+ * file is transferred using a {@link FileChannel}.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -38,6 +49,15 @@ import com.vaadin.flow.server.VaadinSession;
  */
 public class StreamResourceHandler implements Serializable {
 
+    private static final String ETAG = "ETag";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final String IF_RANGE = "If-Range";
+    private static final String RANGE = "Range";
+    private static final String BYTES_UNIT = "bytes";
+
+    private static final long[] UNSATISFIABLE_RANGE = new long[0];
+
     /**
      * Handle sending for a stream resource request.
      *
@@ -58,6 +78,9 @@ public class StreamResourceHandler implements Serializable {
             throws IOException {
 
         StreamResourceWriter writer;
+        File file;
+        long length;
+        long lastModified;
         session.lock();
         try {
             ServletContext context = ((VaadinServletRequest) request)
@@ -70,6 +93,9 @@ public class StreamResourceHandler implements Serializable {
                 throw new IOException(
                         "Stream resource produces null input stream");
             }
+            file = streamResource.getFile().orElse(null);
+            length = streamResource.getContentLength();
+            lastModified = streamResource.getLastModified();
         } catch (Exception exception) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             throw exception;
@@ -77,6 +103,27 @@ public class StreamResourceHandler implements Serializable {
         } finally {
             session.unlock();
         }
+
+        String eTag = null;
+        if (length >= 0 && lastModified >= 0) {
+            eTag = '"' + Long.toHexString(length) + '-'
+                    + Long.toHexString(lastModified) + '"';
+            response.setHeader(ETAG, eTag);
+            response.setDateHeader("Last-Modified", lastModified);
+            if (isNotModified(request, eTag, lastModified)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
+        if (file != null && length >= 0) {
+            writeFile(request, response, file, length, eTag, lastModified);
+            return;
+        }
+
+        if (length >= 0) {
+            response.setHeader("Content-Length", Long.toString(length));
+        }
         try (OutputStream outputStream = response.getOutputStream()) {
             writer.accept(outputStream, session);
         } catch (Exception exception) {
@@ -85,4 +132,143 @@ public class StreamResourceHandler implements Serializable {
         }
     }
 
+    private static void writeFile(VaadinRequest request,
+            VaadinResponse response, File file, long length, String eTag,
+            long lastModified) throws IOException {
+        response.setHeader("Accept-Ranges", BYTES_UNIT);
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(RANGE);
+        if (rangeHeader != null
+                && isIfRangeSatisfied(request, eTag, lastModified)) {
+            long[] range = parseRange(rangeHeader, length);
+            if (range == UNSATISFIABLE_RANGE) {
+                response.setStatus(
+                        HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader("Content-Range",
+                        BYTES_UNIT + " */" + length);
+                return;
+            }
+            if (range != null) {
+                start = range[0];
+                end = range[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", BYTES_UNIT + " " + start
+                        + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setHeader("Content-Length", Long.toString(count));
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.READ);
+                OutputStream outputStream = response.getOutputStream()) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long position = start;
+            while (count > 0) {
+                long transferred = channel.transferTo(position, count, target);
+                if (transferred <= 0) {
+                    // The file has been truncated
+                    break;
+                }
+                position += transferred;
+                count -= transferred;
+            }
+        } catch (Exception exception) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            throw exception;
+        }
+    }
+
+    private static boolean isNotModified(VaadinRequest request, String eTag,
+            long lastModified) {
+        String ifNoneMatch = request.getHeader(IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-Modified-Since is ignored when If-None-Match is present
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if ("*".equals(tag) || eTag.equals(tag)
+                        || eTag.equals(removeWeakPrefix(tag))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = getDateHeader(request, IF_MODIFIED_SINCE);
+        // HTTP dates have a resolution of one second
+        return ifModifiedSince >= 0
+                && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static boolean isIfRangeSatisfied(VaadinRequest request,
+            String eTag, long lastModified) {
+        String ifRange = request.getHeader(IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Weak entity tags never match for ranges
+            return ifRange.equals(eTag);
+        }
+        long date = getDateHeader(request, IF_RANGE);
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    private static String removeWeakPrefix(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static long getDateHeader(VaadinRequest request, String header) {
+        try {
+            return request.getDateHeader(header);
+        } catch (IllegalArgumentException e) { // NOSONAR
+            // Not a valid date, handle as if the header was not present
+            return -1;
+        }
+    }
+
+    /**
+     * Parses a {@code Range} header with a single byte range. Returns the
+     * first and last byte position of the range, {@link #UNSATISFIABLE_RANGE}
+     * if the range is outside of the content or {@code null} if the header is
+     * not a single byte range and should be ignored.
+     */
+    private static long[] parseRange(String header, long length) {
+        String prefix = BYTES_UNIT + "=";
+        if (!header.startsWith(prefix) || header.indexOf(',') >= 0) {
+            // Multiple ranges are not supported, the full content is sent
+            return null;
+        }
+        String range = header.substring(prefix.length()).trim();
+        int dash = range.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = range.substring(0, dash).trim();
+            String last = range.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE_RANGE;
+                }
+                return new long[] { Math.max(0, length - suffix), length - 1 };
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= length) {
+                return UNSATISFIABLE_RANGE;
+            }
+            return new long[] { start, Math.min(end, length - 1) };
+        } catch (NumberFormatException e) { // NOSONAR
+            return null;
+        }
+    }
+
 }
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.ResponseWriter;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinService;
+
+/**
+ * Service scoped gzip compression of UIDL responses.
+ * <p>
+ * Responses are compressed only if compression is enabled, the client accepts
+ * gzip encoded responses and the response is at least as large as the
+ * configured threshold. The {@link Deflater} instances used for compressing
+ * are pooled and reused between responses instead of allocating new native
+ * compression buffers for every response. The number of compressed responses
+ * and their sizes before and after compression are collected for monitoring
+ * and published through JMX, see {@link UidlCompressionMXBean}.
+ * <p>
+ * Push messages are not compressed, neither over websockets nor over the
+ * long-polling and streaming HTTP transports. Atmosphere writes each push
+ * message separately to the HTTP response, so compressing them would produce
+ * a series of gzip members in one response body, which browsers don't decode
+ * reliably, and a streaming response would hold a deflater for its whole
+ * lifetime.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+public class UidlCompression implements UidlCompressionMXBean, Serializable {
+
+    private static final int MAX_POOLED_DEFLATERS = 2
+            * Runtime.getRuntime().availableProcessors();
+
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b,
+            Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    private static final int GZIP_TRAILER_SIZE = 8;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final boolean enabled;
+    private final int threshold;
+
+    private transient ArrayBlockingQueue<Deflater> deflaters = new ArrayBlockingQueue<>(
+            MAX_POOLED_DEFLATERS);
+
+    private final AtomicLong compressedCount = new AtomicLong();
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+
+    private transient ObjectName objectName;
+
+    /**
+     * Gzip stream using a pooled deflater, which is returned to the pool when
+     * the stream is finished or aborted.
+     */
+    class GzipOutputStream extends DeflaterOutputStream {
+        private final CRC32 crc = new CRC32();
+        private boolean finished;
+
+        private GzipOutputStream(OutputStream out, Deflater deflater)
+                throws IOException {
+            super(out, deflater, BUFFER_SIZE);
+            out.write(GZIP_HEADER);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len)
+                throws IOException {
+            if (finished) {
+                throw new IOException("write beyond end of stream");
+            }
+            super.write(b, off, len);
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public synchronized void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            try {
+                super.finish();
+                writeInt((int) crc.getValue());
+                writeInt((int) def.getBytesRead());
+
+                compressedCount.incrementAndGet();
+                uncompressedBytes.addAndGet(def.getBytesRead());
+                compressedBytes.addAndGet(def.getBytesWritten()
+                        + GZIP_HEADER.length + GZIP_TRAILER_SIZE);
+            } finally {
+                finished = true;
+                release(def);
+            }
+        }
+
+        /**
+         * Returns the deflater to the pool without writing the rest of the
+         * compressed data, for when the response cannot be completed. Does
+         * nothing if the stream has already been finished.
+         */
+        synchronized void abort() {
+            if (!finished) {
+                finished = true;
+                release(def);
+            }
+        }
+
+        private void writeInt(int value) throws IOException {
+            // Gzip uses little endian byte order
+            out.write(value & 0xff);
+            out.write((value >> 8) & 0xff);
+            out.write((value >> 16) & 0xff);
+            out.write((value >> 24) & 0xff);
+        }
+    }
+
+    /**
+     * Creates a new compression instance.
+     *
+     * @param enabled
+     *            whether responses should be compressed at all
+     * @param threshold
+     *            the minimum size in bytes of a response to compress
+     */
+    public UidlCompression(boolean enabled, int threshold) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Gets the compression instance for the given service, creating it if
+     * necessary.
+     *
+     * @param service
+     *            the service to get the instance for, not {@code null}
+     * @return the compression instance for the service, not {@code null}
+     */
+    public static UidlCompression get(VaadinService service) {
+        assert service != null;
+        return service.getContext().getAttribute(UidlCompression.class, () -> {
+            DeploymentConfiguration configuration = service
+                    .getDeploymentConfiguration();
+            UidlCompression compression = new UidlCompression(
+                    configuration.isUidlCompression(),
+                    configuration.getUidlCompressionThreshold());
+            if (compression.enabled) {
+                compression.register(service.getServiceName());
+                service.addServiceDestroyListener(
+                        event -> compression.unregister());
+            }
+            return compression;
+        });
+    }
+
+    /**
+     * Checks whether the response to the given request may be compressed,
+     * i.e. whether compression is enabled and the client accepts gzip encoded
+     * responses.
+     *
+     * @param request
+     *            the request to check, not {@code null}
+     * @return <code>true</code> if the response may be compressed,
+     *         <code>false</code> otherwise
+     */
+    public boolean isAccepted(VaadinRequest request) {
+        return enabled && ResponseWriter
+                .acceptsEncoding(request.getHeader("Accept-Encoding"), "gzip");
+    }
+
+    /**
+     * Gets the minimum size in bytes of a response to compress.
+     *
+     * @return the compression threshold
+     */
+    @Override
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Compresses the given data into the gzip format.
+     *
+     * @param data
+     *            the data to compress, not {@code null}
+     * @return the compressed data
+     */
+    public byte[] compress(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                Math.max(64, data.length / 4));
+        try (OutputStream gzip = createOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            // Not thrown by ByteArrayOutputStream
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Creates a stream that writes the gzip compressed form of the data
+     * written to it to the given stream. The compressed data is complete once
+     * {@link DeflaterOutputStream#finish()} or
+     * {@link DeflaterOutputStream#close()} has been called. Finishing the
+     * stream does not close the given stream.
+     *
+     * @param out
+     *            the stream to write the compressed data to, not
+     *            {@code null}
+     * @return a compressing output stream
+     * @throws IOException
+     *             if writing the gzip header fails
+     */
+    public DeflaterOutputStream createOutputStream(OutputStream out)
+            throws IOException {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+        return new GzipOutputStream(out, deflater);
+    }
+
+    /**
+     * Gets the number of responses that have been compressed.
+     *
+     * @return the number of compressed responses
+     */
+    @Override
+    public long getCompressedCount() {
+        return compressedCount.get();
+    }
+
+    /**
+     * Gets the total size in bytes of the compressed responses before
+     * compression.
+     *
+     * @return the number of uncompressed bytes
+     */
+    @Override
+    public long getUncompressedBytes() {
+        return uncompressedBytes.get();
+    }
+
+    /**
+     * Gets the total size in bytes of the compressed responses after
+     * compression.
+     *
+     * @return the number of compressed bytes
+     */
+    @Override
+    public long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    /**
+     * Gets the ratio of the compressed size to the original size of all
+     * compressed responses, e.g. <code>0.2</code> when responses have on
+     * average been compressed to a fifth of their size.
+     *
+     * @return the compression ratio, or <code>1</code> if nothing has been
+     *         compressed
+     */
+    @Override
+    public double getCompressionRatio() {
+        long uncompressed = uncompressedBytes.get();
+        if (uncompressed == 0) {
+            return 1;
+        }
+        return (double) compressedBytes.get() / uncompressed;
+    }
+
+    /**
+     * Gets the number of deflaters currently available for reuse.
+     *
+     * @return the number of pooled deflaters
+     */
+    int getPooledDeflaterCount() {
+        return deflaters.size();
+    }
+
+    /**
+     * Registers this instance with the platform MBean server. A failure is
+     * logged but doesn't prevent compressing responses.
+     */
+    private void register(String serviceName) {
+        try {
+            ObjectName name = new ObjectName(
+                    "com.vaadin.flow:type=UidlCompression,service="
+                            + ObjectName.quote(String.valueOf(serviceName)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    name);
+            objectName = name;
+        } catch (JMException | SecurityException e) {
+            getLogger().warn(
+                    "Unable to register the UIDL compression MBean for {}",
+                    serviceName, e);
+        }
+    }
+
+    private void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .unregisterMBean(objectName);
+        } catch (JMException | SecurityException e) {
+            getLogger().debug("Unable to unregister the MBean {}",
+                    objectName, e);
+        }
+        objectName = null;
+    }
+
+    private void release(Deflater deflater) {
+        deflater.reset();
+        if (!deflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        deflaters = new ArrayBlockingQueue<>(MAX_POOLED_DEFLATERS);
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(UidlCompression.class);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+/**
+ * Management interface for the gzip compression of the UIDL responses of a
+ * {@link com.vaadin.flow.server.VaadinService}. Registered with the platform
+ * MBean server as
+ * <code>com.vaadin.flow:type=UidlCompression,service=&lt;service name&gt;</code>
+ * when UIDL compression is enabled.
+ *
+ * @see com.vaadin.flow.function.DeploymentConfiguration#isUidlCompression()
+ * @see UidlCompression
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+public interface UidlCompressionMXBean {
+
+    /**
+     * Gets the minimum size in bytes of a response to compress.
+     *
+     * @return the compression threshold
+     */
+    int getThreshold();
+
+    /**
+     * Gets the number of responses that have been compressed.
+     *
+     * @return the number of compressed responses
+     */
+    long getCompressedCount();
+
+    /**
+     * Gets the total size in bytes of the compressed responses before
+     * compression.
+     *
+     * @return the number of uncompressed bytes
+     */
+    long getUncompressedBytes();
+
+    /**
+     * Gets the total size in bytes of the compressed responses after
+     * compression.
+     *
+     * @return the number of compressed bytes
+     */
+    long getCompressedBytes();
+
+    /**
+     * Gets the ratio of the compressed size to the original size of all
+     * compressed responses.
+     *
+     * @return the compression ratio, or <code>1</code> if nothing has been
+     *         compressed
+     */
+    double getCompressionRatio();
+}
@@ -16,8 +16,11 @@
 
 package com.vaadin.flow.server.communication;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
 
@@ -35,6 +38,7 @@ import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
 import com.vaadin.flow.server.communication.ServerRpcHandler.ResynchronizationRequiredException;
+import com.vaadin.flow.server.communication.ServerRpcHandler.RpcRequest;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonException;
@@ -55,7 +59,11 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class UidlRequestHandler extends SynchronizedRequestHandler
         implements SessionExpiredHandler {
 
-    private ServerRpcHandler rpcHandler;
+    private static final String RPC_REQUEST_ATTRIBUTE = UidlRequestHandler.class
+            .getName() + ".rpcRequest";
+
+    private volatile ServerRpcHandler rpcHandler;
+    private boolean rpcPreParsing;
 
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
@@ -71,6 +79,41 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return new ServerRpcHandler();
     }
 
+    /**
+     * Reads and parses the RPC message of the request before locking the
+     * session, so that a slow upload does not block other requests and
+     * access tasks of the session. The RPC calls are then handled in
+     * {@link #synchronizedHandleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
+     * with the session locked.
+     * <p>
+     * If the {@link ServerRpcHandler} returned by {@link #createRpcHandler()}
+     * overrides {@link ServerRpcHandler#handleRpc(UI, Reader, VaadinRequest)},
+     * the message is read by that method with the session locked.
+     */
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        if (!canHandleRequest(request)) {
+            return false;
+        }
+        if (isRpcPreParsing()) {
+            RpcRequest rpcRequest;
+            try {
+                rpcRequest = getRpcHandler()
+                        .readRpcRequest(request.getReader(), request);
+            } catch (JsonException e) {
+                getLogger().error("Error reading JSON from request", e);
+                // Refresh on client side
+                writeRefresh(response);
+                return true;
+            }
+            if (rpcRequest != null) {
+                request.setAttribute(RPC_REQUEST_ATTRIBUTE, rpcRequest);
+            }
+        }
+        return super.handleRequest(session, request, response);
+    }
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
@@ -83,11 +126,94 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             return true;
         }
 
+        if (session.getService().getDeploymentConfiguration()
+                .isStreamingUidl()) {
+            return streamResponse(uI, request, response);
+        }
+        commitJsonResponse(response, createResponse(uI, request),
+                getCompression(session.getService(), request));
+        return true;
+    }
+
+    /**
+     * Gets the compression to use for the response to the given request, or
+     * {@code null} if the response should not be compressed.
+     */
+    private static UidlCompression getCompression(VaadinService service,
+            VaadinRequest request) {
+        if (!service.getDeploymentConfiguration().isUidlCompression()) {
+            return null;
+        }
+        UidlCompression compression = UidlCompression.get(service);
+        return compression.isAccepted(request) ? compression : null;
+    }
+
+    /**
+     * Handles the RPC invocations of the request and creates the JSON
+     * response. Must be called with the session locked.
+     */
+    private String createResponse(UI uI, VaadinRequest request)
+            throws IOException {
         StringWriter stringWriter = new StringWriter();
 
         try {
-            getRpcHandler(session).handleRpc(uI, request.getReader(), request);
+            handleRpc(uI, request);
             writeUidl(uI, stringWriter, false);
+        } catch (JsonException e) {
+            getLogger().error("Error writing JSON to response", e);
+            // Refresh on client side
+            return createRefreshJson();
+        } catch (InvalidUIDLSecurityKeyException e) {
+            getLogger().warn("Invalid security key received from {}",
+                    request.getRemoteHost());
+            // Refresh on client side
+            return createRefreshJson();
+        } catch (ResynchronizationRequiredException e) { // NOSONAR
+            // Resync on the client side
+            writeUidl(uI, stringWriter, true);
+        } finally {
+            stringWriter.close();
+        }
+
+        return stringWriter.toString();
+    }
+
+    /**
+     * Handles the RPC invocations of a request read before locking the
+     * session, or reads and handles them now if the message has not been read
+     * yet.
+     */
+    private void handleRpc(UI ui, VaadinRequest request)
+            throws IOException, InvalidUIDLSecurityKeyException {
+        RpcRequest rpcRequest = (RpcRequest) request
+                .getAttribute(RPC_REQUEST_ATTRIBUTE);
+        if (rpcRequest != null) {
+            getRpcHandler().handleRpc(ui, rpcRequest);
+        } else {
+            // Also handles empty messages, which have nothing left to read
+            getRpcHandler().handleRpc(ui, request.getReader(), request);
+        }
+    }
+
+    /**
+     * Handles the RPC invocations of the request and streams the resulting
+     * UIDL directly to the response output stream. Nothing is sent to the
+     * client until the response exceeds
+     * {@link UidlResponseOutputStream#DEFAULT_THRESHOLD} bytes, so a failure
+     * while writing a smaller response can still be replaced by a critical
+     * notification. Must be called with the session locked.
+     */
+    private boolean streamResponse(UI uI, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        UidlResponseOutputStream outputStream = new UidlResponseOutputStream(
+                response, UidlResponseOutputStream.DEFAULT_THRESHOLD,
+                getCompression(uI.getSession().getService(), request));
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, UTF_8));
+
+        boolean resync = false;
+        try {
+            handleRpc(uI, request);
         } catch (JsonException e) {
             getLogger().error("Error writing JSON to response", e);
             // Refresh on client side
@@ -101,19 +227,37 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             return true;
         } catch (ResynchronizationRequiredException e) { // NOSONAR
             // Resync on the client side
-            writeUidl(uI, stringWriter, true);
-        } finally {
-            stringWriter.close();
+            resync = true;
         }
 
-        commitJsonResponse(response, stringWriter.toString());
+        try {
+            streamUidl(uI, writer, resync);
+            writer.flush();
+            outputStream.finish();
+        } catch (JsonException e) {
+            if (outputStream.isCommitted()) {
+                // Part of the response has already been sent, the client will
+                // fail to parse it and handle the error
+                throw e;
+            }
+            getLogger().error("Error writing JSON to response", e);
+            outputStream.discard();
+            // Refresh on client side
+            writeRefresh(response);
+        } finally {
+            // Releases the compression resources if the response failed
+            outputStream.close();
+        }
         return true;
     }
 
     private void writeRefresh(VaadinResponse response) throws IOException {
-        String json = VaadinService.createCriticalNotificationJSON(null, null,
-                null, null);
-        commitJsonResponse(response, json);
+        commitJsonResponse(response, createRefreshJson());
+    }
+
+    private static String createRefreshJson() {
+        return VaadinService.createCriticalNotificationJSON(null, null, null,
+                null);
     }
 
     private static void writeUidl(UI ui, Writer writer, boolean resync)
@@ -125,6 +269,14 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         writer.write(responseString);
     }
 
+    private static void streamUidl(UI ui, Writer writer, boolean resync)
+            throws IOException {
+        // some dirt to prevent cross site scripting
+        writer.write("for(;;);[");
+        new UidlWriter().writeUidl(ui, false, resync, writer);
+        writer.write(']');
+    }
+
     private static final Logger getLogger() {
         return LoggerFactory.getLogger(UidlRequestHandler.class.getName());
     }
@@ -150,12 +302,43 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return true;
     }
 
-    private ServerRpcHandler getRpcHandler(VaadinSession session) {
-        session.checkHasLock();
-        if (rpcHandler == null) {
-            rpcHandler = createRpcHandler();
+    private ServerRpcHandler getRpcHandler() {
+        ServerRpcHandler handler = rpcHandler;
+        if (handler == null) {
+            synchronized (this) {
+                handler = rpcHandler;
+                if (handler == null) {
+                    handler = createRpcHandler();
+                    // Written before the volatile handler is published
+                    rpcPreParsing = !overridesHandleRpc(handler.getClass());
+                    rpcHandler = handler;
+                }
+            }
+        }
+        return handler;
+    }
+
+    /**
+     * Checks whether the RPC message can be read before locking the session,
+     * which is not done if the RPC handler has customized reading and
+     * handling the message.
+     */
+    private boolean isRpcPreParsing() {
+        getRpcHandler();
+        return rpcPreParsing;
+    }
+
+    private static boolean overridesHandleRpc(
+            Class<? extends ServerRpcHandler> type) {
+        try {
+            return type.getMethod("handleRpc", UI.class, Reader.class,
+                    VaadinRequest.class)
+                    .getDeclaringClass() != ServerRpcHandler.class;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(
+                    "ServerRpcHandler.handleRpc(UI, Reader, VaadinRequest) not found",
+                    e);
         }
-        return rpcHandler;
     }
 
     /**
@@ -172,13 +355,32 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
      */
     public static void commitJsonResponse(VaadinResponse response, String json)
             throws IOException {
-        response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
-
-        // Ensure that the browser does not cache UIDL responses.
-        // iOS 6 Safari requires this (#9732)
-        response.setHeader("Cache-Control", "no-cache");
+        commitJsonResponse(response, json, null);
+    }
 
+    /**
+     * Commit the JSON response, gzip compressing it if it is at least as large
+     * as the compression threshold.
+     *
+     * @param response
+     *            The response to write to
+     * @param json
+     *            The JSON to write
+     * @param compression
+     *            the compression to use, or {@code null} to not compress the
+     *            response
+     * @throws IOException
+     *             If there was an exception while writing to the output
+     */
+    static void commitJsonResponse(VaadinResponse response, String json,
+            UidlCompression compression) throws IOException {
         byte[] b = json.getBytes(UTF_8);
+        if (compression != null && b.length >= compression.getThreshold()) {
+            b = compression.compress(b);
+            prepareCompressedJsonResponse(response);
+        } else {
+            prepareJsonResponse(response);
+        }
         response.setContentLength(b.length);
 
         OutputStream outputStream = response.getOutputStream();
@@ -186,4 +388,18 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         // NOTE GateIn requires the buffers to be flushed to work
         outputStream.flush();
     }
+
+    static void prepareJsonResponse(VaadinResponse response) {
+        response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
+
+        // Ensure that the browser does not cache UIDL responses.
+        // iOS 6 Safari requires this (#9732)
+        response.setHeader("Cache-Control", "no-cache");
+    }
+
+    static void prepareCompressedJsonResponse(VaadinResponse response) {
+        prepareJsonResponse(response);
+        response.setHeader("Content-Encoding", "gzip");
+        response.setHeader("Vary", "Accept-Encoding");
+    }
 }
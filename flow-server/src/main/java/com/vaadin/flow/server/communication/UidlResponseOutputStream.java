@@ -0,0 +1,177 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+
+import com.vaadin.flow.server.VaadinResponse;
+
+/**
+ * Output stream used for streaming UIDL responses.
+ * <p>
+ * Data is kept in memory until it exceeds the given threshold. Until then,
+ * nothing has been sent to the client and the buffered data can be discarded
+ * so that a critical notification can be written instead. Once the threshold
+ * is exceeded, the response headers are written and all data is passed
+ * directly to the response output stream.
+ * <p>
+ * If a compression is given, responses at least as large as its threshold
+ * are gzip compressed.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+class UidlResponseOutputStream extends OutputStream {
+
+    /**
+     * The default amount of bytes buffered before the response is committed.
+     */
+    static final int DEFAULT_THRESHOLD = 32 * 1024;
+
+    private final VaadinResponse response;
+    private final int threshold;
+    private final UidlCompression compression;
+
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+    private OutputStream target;
+
+    /**
+     * Creates a new stream for the given response.
+     *
+     * @param response
+     *            the response to write to, not {@code null}
+     * @param threshold
+     *            the amount of bytes to buffer before committing the response
+     * @param compression
+     *            the compression to use, or {@code null} to not compress the
+     *            response
+     */
+    UidlResponseOutputStream(VaadinResponse response, int threshold,
+            UidlCompression compression) {
+        assert response != null;
+        this.response = response;
+        this.threshold = threshold;
+        this.compression = compression;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (target != null) {
+            target.write(b);
+        } else {
+            buffer.write(b);
+            commitIfNeeded();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (target != null) {
+            target.write(b, off, len);
+        } else {
+            buffer.write(b, off, len);
+            commitIfNeeded();
+        }
+    }
+
+    /**
+     * Checks whether data has already been sent to the client, which means
+     * that the response can no longer be replaced.
+     *
+     * @return <code>true</code> if the response has been committed,
+     *         <code>false</code> otherwise
+     */
+    boolean isCommitted() {
+        return target != null;
+    }
+
+    /**
+     * Discards all data buffered so far. Cannot be called once the response
+     * has been committed.
+     */
+    void discard() {
+        assert !isCommitted();
+        buffer.reset();
+    }
+
+    /**
+     * Writes any data still buffered to the response and flushes the response
+     * output stream. If the threshold was never exceeded, the content length of
+     * the response is set as well.
+     *
+     * @throws IOException
+     *             if writing to the response fails
+     */
+    void finish() throws IOException {
+        if (target == null) {
+            if (isCompressed()) {
+                byte[] compressed = compression.compress(buffer.toByteArray());
+                UidlRequestHandler.prepareCompressedJsonResponse(response);
+                response.setContentLength(compressed.length);
+                target = response.getOutputStream();
+                target.write(compressed);
+            } else {
+                UidlRequestHandler.prepareJsonResponse(response);
+                response.setContentLength(buffer.size());
+                target = response.getOutputStream();
+                buffer.writeTo(target);
+            }
+            buffer = null;
+        } else if (target instanceof DeflaterOutputStream) {
+            // Writes the gzip trailer without closing the response stream
+            ((DeflaterOutputStream) target).finish();
+        }
+        // NOTE GateIn requires the buffers to be flushed to work
+        target.flush();
+    }
+
+    /**
+     * Releases the resources used for compressing the response if the
+     * response has not been finished. Nothing is written to the response and
+     * the response output stream is not closed.
+     */
+    @Override
+    public void close() {
+        if (target instanceof UidlCompression.GzipOutputStream) {
+            ((UidlCompression.GzipOutputStream) target).abort();
+        }
+    }
+
+    private void commitIfNeeded() throws IOException {
+        if (buffer.size() > threshold) {
+            if (isCompressed()) {
+                UidlRequestHandler.prepareCompressedJsonResponse(response);
+                target = compression
+                        .createOutputStream(response.getOutputStream());
+            } else {
+                UidlRequestHandler.prepareJsonResponse(response);
+                target = response.getOutputStream();
+            }
+            buffer.writeTo(target);
+            buffer = null;
+        }
+    }
+
+    private boolean isCompressed() {
+        return compression != null
+                && buffer.size() >= compression.getThreshold();
+    }
+}
@@ -19,17 +19,21 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
@@ -43,10 +47,12 @@ import com.vaadin.flow.component.internal.DependencyList;
 import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
 import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.internal.change.ChangeKeyTable;
 import com.vaadin.flow.internal.change.NodeAttachChange;
 import com.vaadin.flow.internal.change.NodeChange;
 import com.vaadin.flow.internal.nodefeature.ComponentMapping;
@@ -145,34 +151,28 @@ public class UidlWriter implements Serializable {
         // Paints components
         getLogger().debug("* Creating response to client");
 
-        int syncId = service.getDeploymentConfiguration().isSyncIdCheckEnabled()
-                ? uiInternals.getServerSyncId()
-                : -1;
-
-        response.put(ApplicationConstants.SERVER_SYNC_ID, syncId);
+        response.put(ApplicationConstants.SERVER_SYNC_ID, getSyncId(ui));
         if (resync) {
             response.put(ApplicationConstants.RESYNCHRONIZE_ID, true);
         }
-        int nextClientToServerMessageId = uiInternals
-                .getLastProcessedClientToServerId() + 1;
         response.put(ApplicationConstants.CLIENT_TO_SERVER_ID,
-                nextClientToServerMessageId);
+                getNextClientToServerMessageId(ui));
 
-        SystemMessages messages = ui.getSession().getService()
-                .getSystemMessages(ui.getLocale(), null);
-
-        JsonObject meta = new MetadataWriter().createMetadata(ui, false, async,
-                messages);
+        JsonObject meta = createMetadata(ui, async);
         if (meta.keys().length > 0) {
             response.put("meta", meta);
         }
 
         JsonArray stateChanges = Json.createArray();
+        ChangeKeyTable changeKeys = createChangeKeyTable(service);
 
-        encodeChanges(ui, stateChanges);
+        encodeChanges(ui, changeKeys, change -> stateChanges
+                .set(stateChanges.length(), change));
 
-        populateDependencies(response, uiInternals.getDependencyList(),
-                new ResolveContext(service, session.getBrowser()));
+        populateDependencies(uiInternals.getDependencyList(),
+                new ResolveContext(service, session.getBrowser()))
+                        .forEach((loadMode, dependencies) -> response
+                                .put(loadMode.name(), dependencies));
 
         if (uiInternals.getConstantPool().hasNewConstants()) {
             response.put("constants",
@@ -180,6 +180,10 @@ public class UidlWriter implements Serializable {
         }
         if (stateChanges.length() != 0) {
             response.put("changes", stateChanges);
+            if (changeKeys != null) {
+                response.put(JsonConstants.UIDL_KEY_CHANGE_KEYS,
+                        changeKeys.toJson());
+            }
         }
 
         List<PendingJavaScriptInvocation> executeJavaScriptList = uiInternals
@@ -188,14 +192,167 @@ public class UidlWriter implements Serializable {
             response.put(JsonConstants.UIDL_KEY_EXECUTE,
                     encodeExecuteJavaScriptList(executeJavaScriptList));
         }
-        if (ui.getSession().getService().getDeploymentConfiguration()
-                .isRequestTiming()) {
+        if (service.getDeploymentConfiguration().isRequestTiming()) {
             response.put("timings", createPerformanceData(ui));
         }
         uiInternals.incrementServerId();
         return response;
     }
 
+    /**
+     * Writes all pending changes to the given UI as a JSON object directly to
+     * the given writer.
+     * <p>
+     * The written JSON is equivalent to the object returned by
+     * {@link #createUidl(UI, boolean, boolean)}, but each state change is
+     * encoded and written as soon as it has been collected from the state tree
+     * instead of building the full response as a JSON tree in memory first.
+     * The writer is not flushed or closed.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message
+     * @param resync
+     *            True iff the client should be asked to resynchronize
+     * @param writer
+     *            the writer to write the UIDL response to, not {@code null}
+     * @throws IOException
+     *             if writing to the writer fails
+     */
+    public void writeUidl(UI ui, boolean async, boolean resync, Writer writer)
+            throws IOException {
+        UIInternals uiInternals = ui.getInternals();
+
+        VaadinSession session = ui.getSession();
+        VaadinService service = session.getService();
+
+        // Purge pending access calls as they might produce additional changes
+        // to write out
+        service.runPendingAccessTasks(session);
+
+        getLogger().debug("* Streaming response to client");
+
+        writer.write('{');
+        writeKey(writer, ApplicationConstants.SERVER_SYNC_ID);
+        writer.write(Integer.toString(getSyncId(ui)));
+        if (resync) {
+            writer.write(',');
+            writeKey(writer, ApplicationConstants.RESYNCHRONIZE_ID);
+            writer.write("true");
+        }
+        writer.write(',');
+        writeKey(writer, ApplicationConstants.CLIENT_TO_SERVER_ID);
+        writer.write(Integer.toString(getNextClientToServerMessageId(ui)));
+
+        JsonObject meta = createMetadata(ui, async);
+        if (meta.keys().length > 0) {
+            writeEntry(writer, "meta", meta);
+        }
+
+        // Changes must be encoded before dependencies and constants are
+        // written since encoding them registers both
+        int[] changeCount = new int[1];
+        ChangeKeyTable changeKeys = createChangeKeyTable(service);
+        try {
+            encodeChanges(ui, changeKeys, change -> {
+                try {
+                    if (changeCount[0] == 0) {
+                        writer.write(',');
+                        writeKey(writer, "changes");
+                        writer.write('[');
+                    } else {
+                        writer.write(',');
+                    }
+                    writer.write(change.toJson());
+                    changeCount[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (changeCount[0] != 0) {
+            writer.write(']');
+            if (changeKeys != null) {
+                writeEntry(writer, JsonConstants.UIDL_KEY_CHANGE_KEYS,
+                        changeKeys.toJson());
+            }
+        }
+
+        for (Map.Entry<LoadMode, JsonArray> entry : populateDependencies(
+                uiInternals.getDependencyList(),
+                new ResolveContext(service, session.getBrowser()))
+                        .entrySet()) {
+            writeEntry(writer, entry.getKey().name(), entry.getValue());
+        }
+
+        if (uiInternals.getConstantPool().hasNewConstants()) {
+            writeEntry(writer, "constants",
+                    uiInternals.getConstantPool().dumpConstants());
+        }
+
+        List<PendingJavaScriptInvocation> executeJavaScriptList = uiInternals
+                .dumpPendingJavaScriptInvocations();
+        if (!executeJavaScriptList.isEmpty()) {
+            writer.write(',');
+            writeKey(writer, JsonConstants.UIDL_KEY_EXECUTE);
+            writer.write('[');
+            for (int i = 0; i < executeJavaScriptList.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(encodeExecuteJavaScript(
+                        executeJavaScriptList.get(i)).toJson());
+            }
+            writer.write(']');
+        }
+        if (service.getDeploymentConfiguration().isRequestTiming()) {
+            writeEntry(writer, "timings", createPerformanceData(ui));
+        }
+        writer.write('}');
+
+        uiInternals.incrementServerId();
+    }
+
+    private static ChangeKeyTable createChangeKeyTable(VaadinService service) {
+        return service.getDeploymentConfiguration().isCompactChanges()
+                ? new ChangeKeyTable()
+                : null;
+    }
+
+    private static void writeKey(Writer writer, String key)
+            throws IOException {
+        writer.write(Json.create(key).toJson());
+        writer.write(':');
+    }
+
+    private static void writeEntry(Writer writer, String key, JsonValue value)
+            throws IOException {
+        writer.write(',');
+        writeKey(writer, key);
+        writer.write(value.toJson());
+    }
+
+    private static int getSyncId(UI ui) {
+        return ui.getSession().getService().getDeploymentConfiguration()
+                .isSyncIdCheckEnabled() ? ui.getInternals().getServerSyncId()
+                        : -1;
+    }
+
+    private static int getNextClientToServerMessageId(UI ui) {
+        return ui.getInternals().getLastProcessedClientToServerId() + 1;
+    }
+
+    private static JsonObject createMetadata(UI ui, boolean async) {
+        SystemMessages messages = ui.getSession().getService()
+                .getSystemMessages(ui.getLocale(), null);
+
+        return new MetadataWriter().createMetadata(ui, false, async, messages);
+    }
+
     /**
      * Creates a JSON object containing all pending changes to the given UI.
      *
@@ -210,7 +367,7 @@ public class UidlWriter implements Serializable {
         return createUidl(ui, async, false);
     }
 
-    private static void populateDependencies(JsonObject response,
+    private static Map<LoadMode, JsonArray> populateDependencies(
             DependencyList dependencyList, ResolveContext context) {
         Collection<Dependency> pendingSendToClient = dependencyList
                 .getPendingSendToClient();
@@ -221,12 +378,11 @@ public class UidlWriter implements Serializable {
                     new ArrayList<>(pendingSendToClient), context.getService());
         }
 
-        if (!pendingSendToClient.isEmpty()) {
-            groupDependenciesByLoadMode(pendingSendToClient, context)
-                    .forEach((loadMode, dependencies) -> response
-                            .put(loadMode.name(), dependencies));
-        }
+        Map<LoadMode, JsonArray> dependencies = pendingSendToClient.isEmpty()
+                ? Collections.emptyMap()
+                : groupDependenciesByLoadMode(pendingSendToClient, context);
         dependencyList.clearPendingSendToClient();
+        return dependencies;
     }
 
     private static Map<LoadMode, JsonArray> groupDependenciesByLoadMode(
@@ -253,6 +409,14 @@ public class UidlWriter implements Serializable {
 
     private static String getDependencyContents(String url,
             ResolveContext context) {
+        VaadinService service = context.getService();
+        return InlineDependencyCache.get(service).getContents(url, service,
+                dependencyUrl -> readDependencyContents(dependencyUrl,
+                        context));
+    }
+
+    private static String readDependencyContents(String url,
+            ResolveContext context) {
         try (InputStream inlineResourceStream = getInlineResourceStream(url,
                 context)) {
             return IOUtils.toString(inlineResourceStream,
@@ -378,17 +542,23 @@ public class UidlWriter implements Serializable {
      *
      * @param ui
      *            the UI
-     * @param stateChanges
-     *            a JSON array to put state changes into
+     * @param changeKeys
+     *            the key table of the message to encode the changes in the
+     *            compact format with, or {@code null} to encode each change as
+     *            a JSON object
+     * @param changeConsumer
+     *            a consumer accepting the encoded state changes in order
      * @see StateTree#runExecutionsBeforeClientResponse()
      */
-    private void encodeChanges(UI ui, JsonArray stateChanges) {
+    private void encodeChanges(UI ui, ChangeKeyTable changeKeys,
+            Consumer<JsonValue> changeConsumer) {
         UIInternals uiInternals = ui.getInternals();
         StateTree stateTree = uiInternals.getStateTree();
 
         stateTree.runExecutionsBeforeClientResponse();
 
         Set<Class<? extends Component>> componentsWithDependencies = new LinkedHashSet<>();
+        ConstantPool constantPool = uiInternals.getConstantPool();
         stateTree.collectChanges(change -> {
             if (attachesComponent(change)) {
                 ComponentMapping.getComponent(change.getNode())
@@ -397,8 +567,9 @@ public class UidlWriter implements Serializable {
             }
 
             // Encode the actual change
-            stateChanges.set(stateChanges.length(),
-                    change.toJson(uiInternals.getConstantPool()));
+            changeConsumer.accept(changeKeys == null
+                    ? change.toJson(constantPool)
+                    : change.toCompactJson(constantPool, changeKeys));
         });
 
         componentsWithDependencies
@@ -22,9 +22,12 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.shared.CompactRpcCodec;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 
 /**
  * Abstract invocation handler implementation with common methods.
@@ -39,30 +42,23 @@ public abstract class AbstractRpcInvocationHandler
     @Override
     public Optional<Runnable> handle(UI ui, JsonObject invocationJson) {
         assert invocationJson.hasKey(JsonConstants.RPC_NODE);
-        StateNode node = ui.getInternals().getStateTree()
-                .getNodeById(getNodeId(invocationJson));
+        StateNode node = getActiveNode(ui, getNodeId(invocationJson));
         if (node == null) {
-            getLogger().warn("Got an RPC for non-existent node: {}",
-                    getNodeId(invocationJson));
-            return Optional.empty();
-        }
-        if (!node.isAttached()) {
-            getLogger().warn("Got an RPC for detached node: {}",
-                    getNodeId(invocationJson));
             return Optional.empty();
         }
+        return handleNode(node, invocationJson);
+    }
 
-        if (node.isInactive()) {
-            // ignore RPC requests from the client side for the nodes that are
-            // invisible or disabled
-            LoggerFactory.getLogger(AbstractRpcInvocationHandler.class).trace(
-                    "RPC request for invocation handler '{}' is recieved from "
-                            + "the client side for inactive node id='{}'",
-                    getClass().getName(), node.getId());
+    @Override
+    public Optional<Runnable> handleCompact(UI ui, JsonArray invocation) {
+        JsonValue nodeId = CompactRpcCodec.get(invocation,
+                JsonConstants.RPC_NODE);
+        assert nodeId != null;
+        StateNode node = getActiveNode(ui, (int) nodeId.asNumber());
+        if (node == null) {
             return Optional.empty();
-        } else {
-            return handleNode(node, invocationJson);
         }
+        return handleNode(node, invocation);
     }
 
     /**
@@ -78,6 +74,54 @@ public abstract class AbstractRpcInvocationHandler
     protected abstract Optional<Runnable> handleNode(StateNode node,
             JsonObject invocationJson);
 
+    /**
+     * Handle the RPC data {@code invocation} in the compact positional format
+     * of {@link CompactRpcCodec} using target {@code node} as a context.
+     * <p>
+     * The default implementation decodes the invocation into the JSON object
+     * format and calls {@link #handleNode(StateNode, JsonObject)}. Subclasses
+     * overriding this method to read the values in place should also handle
+     * the same data in {@link #handleNode(StateNode, JsonObject)}.
+     *
+     * @param node
+     *            node to handle invocation with, not {@code null}
+     * @param invocation
+     *            the compact RPC data to handle, not {@code null}
+     * @return an optional runnable
+     */
+    protected Optional<Runnable> handleNode(StateNode node,
+            JsonArray invocation) {
+        return handleNode(node, CompactRpcCodec.decode(invocation));
+    }
+
+    /**
+     * Gets the node with the given id if RPC calls for it can be handled.
+     * Returns {@code null} if the node doesn't exist, is detached or is
+     * inactive.
+     */
+    private StateNode getActiveNode(UI ui, int nodeId) {
+        StateNode node = ui.getInternals().getStateTree().getNodeById(nodeId);
+        if (node == null) {
+            getLogger().warn("Got an RPC for non-existent node: {}", nodeId);
+            return null;
+        }
+        if (!node.isAttached()) {
+            getLogger().warn("Got an RPC for detached node: {}", nodeId);
+            return null;
+        }
+
+        if (node.isInactive()) {
+            // ignore RPC requests from the client side for the nodes that are
+            // invisible or disabled
+            LoggerFactory.getLogger(AbstractRpcInvocationHandler.class).trace(
+                    "RPC request for invocation handler '{}' is recieved from "
+                            + "the client side for inactive node id='{}'",
+                    getClass().getName(), node.getId());
+            return null;
+        }
+        return node;
+    }
+
     private static Logger getLogger() {
         return LoggerFactory
                 .getLogger(AbstractRpcInvocationHandler.class.getName());
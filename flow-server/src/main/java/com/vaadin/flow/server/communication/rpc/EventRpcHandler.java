@@ -21,10 +21,13 @@ import com.vaadin.flow.dom.DomEvent;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+import com.vaadin.flow.shared.CompactRpcCodec;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 
 /**
  * RPC handler for events.
@@ -50,6 +53,25 @@ public class EventRpcHandler extends AbstractRpcInvocationHandler {
 
         JsonObject eventData = invocationJson
                 .getObject(JsonConstants.RPC_EVENT_DATA);
+
+        return fireEvent(node, eventType, eventData);
+    }
+
+    @Override
+    protected Optional<Runnable> handleNode(StateNode node,
+            JsonArray invocation) {
+        JsonValue eventType = CompactRpcCodec.get(invocation,
+                JsonConstants.RPC_EVENT_TYPE);
+        assert eventType != null;
+
+        JsonObject eventData = (JsonObject) CompactRpcCodec.get(invocation,
+                JsonConstants.RPC_EVENT_DATA);
+
+        return fireEvent(node, eventType.asString(), eventData);
+    }
+
+    private static Optional<Runnable> fireEvent(StateNode node,
+            String eventType, JsonObject eventData) {
         if (eventData == null) {
             eventData = Json.createObject();
         }
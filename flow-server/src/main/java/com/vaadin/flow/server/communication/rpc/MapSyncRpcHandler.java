@@ -30,10 +30,13 @@ import com.vaadin.flow.internal.nodefeature.ModelList;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
 import com.vaadin.flow.internal.nodefeature.NodeMap;
+import com.vaadin.flow.shared.CompactRpcCodec;
 import com.vaadin.flow.shared.JsonConstants;
 import org.slf4j.LoggerFactory;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 
 /**
  * Model map synchronization RPC handler.
@@ -58,8 +61,31 @@ public class MapSyncRpcHandler extends AbstractRpcInvocationHandler {
         assert invocationJson.hasKey(JsonConstants.RPC_PROPERTY);
         assert invocationJson.hasKey(JsonConstants.RPC_PROPERTY_VALUE);
 
-        int featureId = (int) invocationJson
-                .getNumber(JsonConstants.RPC_FEATURE);
+        return handleSync(node,
+                (int) invocationJson.getNumber(JsonConstants.RPC_FEATURE),
+                invocationJson.getString(JsonConstants.RPC_PROPERTY),
+                invocationJson.get(JsonConstants.RPC_PROPERTY_VALUE));
+    }
+
+    @Override
+    protected Optional<Runnable> handleNode(StateNode node,
+            JsonArray invocation) {
+        JsonValue featureId = CompactRpcCodec.get(invocation,
+                JsonConstants.RPC_FEATURE);
+        JsonValue property = CompactRpcCodec.get(invocation,
+                JsonConstants.RPC_PROPERTY);
+        JsonValue value = CompactRpcCodec.get(invocation,
+                JsonConstants.RPC_PROPERTY_VALUE);
+        assert featureId != null;
+        assert property != null;
+        assert value != null;
+
+        return handleSync(node, (int) featureId.asNumber(),
+                property.asString(), value);
+    }
+
+    private Optional<Runnable> handleSync(StateNode node, int featureId,
+            String property, JsonValue value) {
         Class<? extends NodeFeature> feature = NodeFeatureRegistry
                 .getFeature(featureId);
         assert NodeMap.class.isAssignableFrom(feature);
@@ -69,8 +95,6 @@ public class MapSyncRpcHandler extends AbstractRpcInvocationHandler {
 
         List<DisabledUpdateMode> seenUpdateModes = new ArrayList<>();
 
-        String property = invocationJson.getString(JsonConstants.RPC_PROPERTY);
-
         if (node.hasFeature(ElementListenerMap.class)) {
             DisabledUpdateMode eventMode = node
                     .getFeature(ElementListenerMap.class)
@@ -85,15 +109,13 @@ public class MapSyncRpcHandler extends AbstractRpcInvocationHandler {
                 .reduce(DisabledUpdateMode::mostPermissive).orElse(null);
 
         if (isEnabled) {
-            return enqueuePropertyUpdate(node, invocationJson, feature,
-                    property);
+            return enqueuePropertyUpdate(node, value, property);
         } else if (DisabledUpdateMode.ALWAYS.equals(updateMode)) {
             LoggerFactory.getLogger(MapSyncRpcHandler.class)
                     .trace("Property update request for disabled element is received from the client side. "
                             + "Change will be applied since the property '{}' always allows its update.",
                             property);
-            return enqueuePropertyUpdate(node, invocationJson, feature,
-                    property);
+            return enqueuePropertyUpdate(node, value, property);
         } else {
             LoggerFactory.getLogger(MapSyncRpcHandler.class)
                     .warn("Property update request for disabled element is received from the client side. "
@@ -104,10 +126,8 @@ public class MapSyncRpcHandler extends AbstractRpcInvocationHandler {
     }
 
     private Optional<Runnable> enqueuePropertyUpdate(StateNode node,
-            JsonObject invocationJson, Class<? extends NodeFeature> feature,
-            String property) {
-        Serializable value = JsonCodec.decodeWithoutTypeInfo(
-                invocationJson.get(JsonConstants.RPC_PROPERTY_VALUE));
+            JsonValue jsonValue, String property) {
+        Serializable value = JsonCodec.decodeWithoutTypeInfo(jsonValue);
 
         value = tryConvert(value, node);
 
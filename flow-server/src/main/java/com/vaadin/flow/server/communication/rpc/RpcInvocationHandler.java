@@ -19,7 +19,9 @@ import java.io.Serializable;
 import java.util.Optional;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.shared.CompactRpcCodec;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -53,4 +55,21 @@ public interface RpcInvocationHandler extends Serializable {
      */
     Optional<Runnable> handle(UI ui, JsonObject invocationJson);
 
+    /**
+     * Handles RPC data {@code invocation} in the compact positional format of
+     * {@link CompactRpcCodec} using {@code ui} as a context.
+     * <p>
+     * The default implementation decodes the invocation into the JSON object
+     * format and calls {@link #handle(UI, JsonObject)}.
+     *
+     * @param ui
+     *            the UI to handle against, not {@code null}
+     * @param invocation
+     *            the compact RPC data to handle, not {@code null}
+     * @return an optional runnable
+     */
+    default Optional<Runnable> handleCompact(UI ui, JsonArray invocation) {
+        return handle(ui, CompactRpcCodec.decode(invocation));
+    }
+
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.vaadin.flow.component.polymertemplate.BundleParser;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.VaadinContext;
+import com.vaadin.flow.server.VaadinService;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+
+/**
+ * Indexed contents of the <code>stats.json</code> file produced by webpack.
+ * <p>
+ * The manifest is loaded once per {@link VaadinContext} and shared by the
+ * bootstrap page and the template parser. The chunk assets are read when the
+ * manifest is loaded, while the full stats file is only parsed when a module
+ * source is requested for the first time. Module sources are cached per
+ * module URL.
+ * <p>
+ * In production mode, or when stats.json is read from the classpath, the
+ * manifest is never reloaded. When the webpack dev server is used, the
+ * manifest is reloaded when the hash reported by the dev server changes. An
+ * external stats.json in development mode is reloaded when the hash of its
+ * content changes.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+public final class FrontendManifest implements Serializable {
+
+    // Sources are never empty, see BundleParser
+    private static final String NO_SOURCE = "";
+
+    private static class ManifestHolder implements Serializable {
+        private FrontendManifest manifest;
+    }
+
+    private final String hash;
+    private final Map<String, List<String>> assetsByChunkName;
+    private final Map<String, String> moduleSources = new ConcurrentHashMap<>();
+
+    private String statsContent;
+    private JsonObject stats;
+
+    private FrontendManifest(String hash, String statsContent) {
+        this.hash = hash;
+        this.statsContent = statsContent;
+        String assets = FrontendUtils.scanAssetsByChunkName(
+                new ByteArrayInputStream(
+                        statsContent.getBytes(StandardCharsets.UTF_8)));
+        assetsByChunkName = assets == null ? null
+                : parseAssetsByChunkName(assets);
+    }
+
+    /**
+     * Gets the current manifest for the given service, loading or reloading
+     * it if needed.
+     *
+     * @param service
+     *            the Vaadin service, not {@code null}
+     * @return the manifest or {@code null} if stats.json is not available
+     * @throws IOException
+     *             if reading the stats.json file fails
+     */
+    public static FrontendManifest get(VaadinService service)
+            throws IOException {
+        VaadinContext context = service.getContext();
+        ManifestHolder holder = context.getAttribute(ManifestHolder.class,
+                ManifestHolder::new);
+        if (holder == null) {
+            // The context can't store attributes, so nothing can be reused
+            holder = new ManifestHolder();
+        }
+
+        synchronized (holder) {
+            FrontendManifest manifest = holder.manifest;
+            if (manifest != null && isUpToDate(manifest, service)) {
+                return manifest;
+            }
+
+            String content = FrontendUtils.getStatsContent(service);
+            if (content == null) {
+                return null;
+            }
+            String contentHash = BundleParser.getHashFromStatistics(content);
+            if (manifest == null || !manifest.hash.equals(contentHash)) {
+                manifest = new FrontendManifest(contentHash, content);
+                holder.manifest = manifest;
+            }
+            return manifest;
+        }
+    }
+
+    /**
+     * Checks whether the manifest of the given service has not been loaded
+     * yet or may be out of date, so that the next {@link #get(VaadinService)}
+     * call reads stats.json.
+     *
+     * @param service
+     *            the Vaadin service, not {@code null}
+     * @return {@code true} if stats.json is read by the next call to
+     *         {@link #get(VaadinService)}, {@code false} otherwise
+     * @throws IOException
+     *             if requesting the stats hash from the dev server fails
+     */
+    public static boolean isLoadNeeded(VaadinService service)
+            throws IOException {
+        ManifestHolder holder = service.getContext()
+                .getAttribute(ManifestHolder.class);
+        if (holder == null) {
+            return true;
+        }
+        synchronized (holder) {
+            return holder.manifest == null
+                    || !isUpToDate(holder.manifest, service);
+        }
+    }
+
+    /**
+     * Gets the assets of each webpack chunk for the given service. When the
+     * webpack dev server is used, the assets are requested from it directly,
+     * otherwise they are read from the manifest.
+     *
+     * @param service
+     *            the Vaadin service, not {@code null}
+     * @return the assets by chunk name in the stats.json order, or
+     *         {@code null} if stats.json or the assets are not available
+     * @throws IOException
+     *             if reading the stats.json file fails
+     */
+    public static Map<String, List<String>> getAssetsByChunkName(
+            VaadinService service) throws IOException {
+        if (usesDevServer(service.getDeploymentConfiguration())) {
+            String assets = FrontendUtils.getStatsAssetsByChunkName(service);
+            return assets == null ? null : parseAssetsByChunkName(assets);
+        }
+        FrontendManifest manifest = get(service);
+        return manifest == null ? null : manifest.getAssetsByChunkName();
+    }
+
+    /**
+     * Gets the hash of the stats.json file this manifest was loaded from.
+     *
+     * @return the stats hash
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the assets of each webpack chunk.
+     *
+     * @return the assets by chunk name in the stats.json order, or
+     *         {@code null} if the stats file contains no chunk assets
+     */
+    public Map<String, List<String>> getAssetsByChunkName() {
+        return assetsByChunkName;
+    }
+
+    /**
+     * Gets the source of the module with the given URL.
+     *
+     * @param url
+     *            the module URL, e.g. {@code ./view/my-view.js}
+     * @return the source of the module, or {@code null} if not found
+     */
+    public String getModuleSource(String url) {
+        String source = moduleSources.computeIfAbsent(url, key -> {
+            String found = BundleParser.getSourceFromStatistics(key,
+                    getStats());
+            return found == null ? NO_SOURCE : found;
+        });
+        return NO_SOURCE.equals(source) ? null : source;
+    }
+
+    private synchronized JsonObject getStats() {
+        if (stats == null) {
+            stats = BundleParser.parseJsonStatistics(statsContent);
+            // Only the parsed version is needed from now on
+            statsContent = null;
+        }
+        return stats;
+    }
+
+    private static Map<String, List<String>> parseAssetsByChunkName(
+            String assetsJson) {
+        JsonObject chunks = Json.parse(assetsJson);
+        Map<String, List<String>> assets = new LinkedHashMap<>();
+        for (String key : chunks.keys()) {
+            if (chunks.get(key).getType().equals(JsonType.ARRAY)) {
+                JsonArray chunkArray = chunks.getArray(key);
+                List<String> chunkAssets = new ArrayList<>(
+                        chunkArray.length());
+                for (int i = 0; i < chunkArray.length(); i++) {
+                    chunkAssets.add(chunkArray.getString(i));
+                }
+                assets.put(key, Collections.unmodifiableList(chunkAssets));
+            } else {
+                assets.put(key,
+                        Collections.singletonList(chunks.getString(key)));
+            }
+        }
+        return Collections.unmodifiableMap(assets);
+    }
+
+    private static boolean isUpToDate(FrontendManifest manifest,
+            VaadinService service) throws IOException {
+        DeploymentConfiguration config = service.getDeploymentConfiguration();
+        if (config.isProductionMode()) {
+            // Neither a bundled nor an external stats file changes without a
+            // redeploy in production
+            return true;
+        }
+        if (usesDevServer(config)) {
+            return manifest.hash.equals(FrontendUtils.getStatsHash(service));
+        }
+        // A bundled stats file never changes, an external one is validated by
+        // its content hash in development mode
+        return !config.isStatsExternal();
+    }
+
+    private static boolean usesDevServer(DeploymentConfiguration config) {
+        return !config.isProductionMode() && config.enableDevServer();
+    }
+}
@@ -822,7 +822,20 @@ public class FrontendUtils {
         if(resourceAsStream == null) {
             return null;
         }
-        try (Scanner scan = new Scanner(resourceAsStream,
+        return scanAssetsByChunkName(resourceAsStream);
+    }
+
+    /**
+     * Reads the given stats.json stream only until the assetsByChunkName json
+     * has been found and returns that as a json object string.
+     *
+     * @param statsStream
+     *            the stats.json contents
+     * @return json for assetsByChunkName object in stats.json or {@code null}
+     *         if content not found.
+     */
+    static String scanAssetsByChunkName(InputStream statsStream) {
+        try (Scanner scan = new Scanner(statsStream,
                 StandardCharsets.UTF_8.name())) {
             StringBuilder assets = new StringBuilder();
             assets.append("{");
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.shared;
+
+import java.io.Serializable;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * Encodes RPC invocations sent from the client to the server in a compact
+ * positional format and decodes them back.
+ * <p>
+ * A compact invocation is a JSON array {@code [type, mask, values...]}, where
+ * {@code type} is the numeric code of the RPC type and {@code values} are the
+ * values of the invocation properties in a fixed order defined for each type.
+ * Bit {@code i} of {@code mask} is set if the {@code i}th property of the type
+ * is present, since the handlers distinguish between missing properties and
+ * properties with a <code>null</code> value. Invocations of types without a
+ * compact layout are sent as JSON objects, so a message may contain both
+ * formats. The server reads the properties of compact invocations in place
+ * with {@link #get(JsonArray, String)} instead of decoding them.
+ * <p>
+ * This class is used on both the server and the client side.
+ *
+ * @author Vaadin Ltd
+ * @since 3.0
+ */
+public final class CompactRpcCodec implements Serializable {
+
+    // The index of a type is its numeric code
+    private static final String[] TYPES = { JsonConstants.RPC_TYPE_EVENT,
+            JsonConstants.RPC_TYPE_NAVIGATION, JsonConstants.RPC_TYPE_MAP_SYNC,
+            JsonConstants.RPC_PUBLISHED_SERVER_EVENT_HANDLER,
+            JsonConstants.RPC_ATTACH_EXISTING_ELEMENT,
+            JsonConstants.RPC_ATTACH_EXISTING_ELEMENT_BY_ID,
+            JsonConstants.RPC_TYPE_CHANNEL };
+
+    private static final String[][] LAYOUTS = {
+            { JsonConstants.RPC_NODE, JsonConstants.RPC_EVENT_TYPE,
+                    JsonConstants.RPC_EVENT_DATA },
+            { JsonConstants.RPC_NAVIGATION_LOCATION,
+                    JsonConstants.RPC_NAVIGATION_STATE,
+                    JsonConstants.RPC_NAVIGATION_ROUTERLINK },
+            { JsonConstants.RPC_NODE, JsonConstants.RPC_FEATURE,
+                    JsonConstants.RPC_PROPERTY,
+                    JsonConstants.RPC_PROPERTY_VALUE },
+            { JsonConstants.RPC_NODE,
+                    JsonConstants.RPC_TEMPLATE_EVENT_METHOD_NAME,
+                    JsonConstants.RPC_TEMPLATE_EVENT_ARGS,
+                    JsonConstants.RPC_TEMPLATE_EVENT_PROMISE },
+            { JsonConstants.RPC_NODE, JsonConstants.RPC_ATTACH_REQUESTED_ID,
+                    JsonConstants.RPC_ATTACH_ASSIGNED_ID,
+                    JsonConstants.RPC_ATTACH_TAG_NAME,
+                    JsonConstants.RPC_ATTACH_INDEX },
+            { JsonConstants.RPC_NODE, JsonConstants.RPC_ATTACH_REQUESTED_ID,
+                    JsonConstants.RPC_ATTACH_ASSIGNED_ID,
+                    JsonConstants.RPC_ATTACH_ID },
+            { JsonConstants.RPC_NODE, JsonConstants.RPC_CHANNEL,
+                    JsonConstants.RPC_CHANNEL_ARGUMENTS } };
+
+    private CompactRpcCodec() {
+        // Only static helpers here
+    }
+
+    /**
+     * Encodes the given invocation in the compact format if its type has a
+     * compact layout and all its properties are part of the layout.
+     *
+     * @param invocation
+     *            the invocation to encode, not {@code null}
+     * @return the compact invocation, or the given invocation if it cannot be
+     *         encoded
+     */
+    public static JsonValue encode(JsonObject invocation) {
+        int code = indexOf(TYPES,
+                invocation.getString(JsonConstants.RPC_TYPE));
+        if (code < 0) {
+            return invocation;
+        }
+        String[] keys = LAYOUTS[code];
+        for (String key : invocation.keys()) {
+            if (!JsonConstants.RPC_TYPE.equals(key) && indexOf(keys, key) < 0) {
+                // The property would be lost
+                return invocation;
+            }
+        }
+
+        JsonArray compact = Json.createArray();
+        compact.set(0, code);
+        int mask = 0;
+        int index = 2;
+        for (int i = 0; i < keys.length; i++) {
+            if (invocation.hasKey(keys[i])) {
+                mask |= 1 << i;
+                compact.set(index++, invocation.get(keys[i]));
+            }
+        }
+        compact.set(1, mask);
+        return compact;
+    }
+
+    /**
+     * Decodes an invocation in the compact format into the JSON object
+     * format.
+     *
+     * @param invocation
+     *            the compact invocation, not {@code null}
+     * @return the invocation as a JSON object
+     * @throws IllegalArgumentException
+     *             if the type code of the invocation is unknown
+     */
+    public static JsonObject decode(JsonArray invocation) {
+        int code = getCode(invocation);
+        String[] keys = LAYOUTS[code];
+        int mask = (int) invocation.getNumber(1);
+
+        JsonObject json = Json.createObject();
+        json.put(JsonConstants.RPC_TYPE, TYPES[code]);
+        int index = 2;
+        for (int i = 0; i < keys.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                json.put(keys[i], invocation.get(index++));
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Gets the RPC type of an invocation in the compact format.
+     *
+     * @param invocation
+     *            the compact invocation, not {@code null}
+     * @return the RPC type, not {@code null}
+     * @throws IllegalArgumentException
+     *             if the type code of the invocation is unknown
+     */
+    public static String getType(JsonArray invocation) {
+        return TYPES[getCode(invocation)];
+    }
+
+    /**
+     * Gets the value of a property of an invocation in the compact format
+     * without decoding the whole invocation.
+     *
+     * @param invocation
+     *            the compact invocation, not {@code null}
+     * @param property
+     *            the name of the property in the JSON object format, not
+     *            {@code null}
+     * @return the value of the property, or {@code null} if the invocation
+     *         doesn't have the property
+     * @throws IllegalArgumentException
+     *             if the type code of the invocation is unknown
+     */
+    public static JsonValue get(JsonArray invocation, String property) {
+        int i = indexOf(LAYOUTS[getCode(invocation)], property);
+        int mask = (int) invocation.getNumber(1);
+        if (i < 0 || (mask & (1 << i)) == 0) {
+            return null;
+        }
+        // Values are stored only for the properties that are present
+        return invocation.get(2 + Integer.bitCount(mask & ((1 << i) - 1)));
+    }
+
+    private static int getCode(JsonArray invocation) {
+        int code = (int) invocation.getNumber(0);
+        if (code < 0 || code >= TYPES.length) {
+            throw new IllegalArgumentException(
+                    "Unsupported compact RPC type: " + code);
+        }
+        return code;
+    }
+
+    private static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
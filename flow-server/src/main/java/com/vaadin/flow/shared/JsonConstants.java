@@ -124,6 +124,72 @@ public class JsonConstants implements Serializable {
      */
     public static final String CHANGE_PUT_NODE_VALUE = "nodeValue";
 
+    /**
+     * Key in a UIDL response holding the map key table of changes written in
+     * the compact format. Each compact change is an array starting with the
+     * node id and one of the {@code CHANGE_COMPACT_*} type codes, and map keys
+     * are written as indices into the key table.
+     */
+    public static final String UIDL_KEY_CHANGE_KEYS = "changeKeys";
+
+    /**
+     * Compact change code for attaching nodes: {@code [node, code]}.
+     */
+    public static final int CHANGE_COMPACT_ATTACH = 0;
+
+    /**
+     * Compact change code for detaching nodes: {@code [node, code]}.
+     */
+    public static final int CHANGE_COMPACT_DETACH = 1;
+
+    /**
+     * Compact change code for empty changes:
+     * {@code [node, code, feature, isList]}.
+     */
+    public static final int CHANGE_COMPACT_NOOP = 2;
+
+    /**
+     * Compact change code for map put changes with a value:
+     * {@code [node, code, feature, key, value]}.
+     */
+    public static final int CHANGE_COMPACT_PUT = 3;
+
+    /**
+     * Compact change code for map put changes with a node value:
+     * {@code [node, code, feature, key, nodeId]}.
+     */
+    public static final int CHANGE_COMPACT_PUT_NODE = 4;
+
+    /**
+     * Compact change code for map remove changes:
+     * {@code [node, code, feature, key]}.
+     */
+    public static final int CHANGE_COMPACT_REMOVE = 5;
+
+    /**
+     * Compact change code for list splices adding values:
+     * {@code [node, code, feature, index, values]}.
+     */
+    public static final int CHANGE_COMPACT_SPLICE_ADD = 6;
+
+    /**
+     * Compact change code for list splices adding nodes:
+     * {@code [node, code, feature, index, nodeIds]}.
+     */
+    public static final int CHANGE_COMPACT_SPLICE_ADD_NODES = 7;
+
+    /**
+     * Compact change code for list splices removing one item:
+     * {@code [node, code, feature, index]}.
+     */
+    public static final int CHANGE_COMPACT_SPLICE_REMOVE = 8;
+
+    /**
+     * Compact change code for list clear changes:
+     * {@code [node, code, feature]}.
+     */
+    public static final int CHANGE_COMPACT_CLEAR = 9;
+
     /**
      * Key holding the type in of messages sent from the client.
      */
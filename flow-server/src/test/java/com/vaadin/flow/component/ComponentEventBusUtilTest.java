@@ -23,6 +23,9 @@ import org.junit.Test;
 import com.vaadin.flow.component.ComponentTest.TestComponent;
 import com.vaadin.flow.internal.ReflectionCache;
 
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
 public class ComponentEventBusUtilTest {
 
     @DomEvent("dom-event")
@@ -104,4 +107,27 @@ public class ComponentEventBusUtilTest {
                     exception.getMessage());
         }
     }
+
+    @Test
+    public void domEventFactory_createsEventFromEventData() throws Throwable {
+        DomEventFactory factory = ComponentEventBusUtil
+                .getDomEventFactory(MappedToDomEvent.class);
+        Assert.assertNotNull(factory);
+
+        JsonObject eventData = Json.createObject();
+        eventData.put("event.someData", 42);
+        eventData.put("event.moreData", "foo");
+        eventData.put("event.primitiveBoolean", true);
+
+        TestComponent component = new TestComponent();
+        MappedToDomEvent event = (MappedToDomEvent) factory.create(component,
+                eventData);
+
+        Assert.assertSame(component, event.getSource());
+        Assert.assertTrue(event.isFromClient());
+        Assert.assertEquals(42, event.getSomeData());
+        Assert.assertEquals("foo", event.getMoreData());
+        Assert.assertTrue(event.getPrimitiveBoolean());
+        Assert.assertNull(event.getObjectBoolean());
+    }
 }
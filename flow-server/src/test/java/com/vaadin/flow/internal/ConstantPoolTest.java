@@ -74,4 +74,31 @@ public class ConstantPoolTest {
         Assert.assertNotEquals(constantId, otherId);
         Assert.assertTrue(constantPool.hasNewConstants());
     }
+
+    @Test
+    public void internSameValue_sameInstance() {
+        JsonObject json = Json.createObject();
+        json.put("foo", "bar");
+        ConstantPoolKey reference = ConstantPoolKey.intern(json);
+
+        JsonObject otherJson = Json.createObject();
+        otherJson.put("foo", "bar");
+
+        Assert.assertSame(reference, ConstantPoolKey.intern(otherJson));
+        Assert.assertEquals(new ConstantPoolKey(otherJson).getId(),
+                reference.getId());
+    }
+
+    @Test
+    public void manyValues_allRegisteredOnce() {
+        for (int i = 0; i < 1000; i++) {
+            constantPool.getConstantId(new ConstantPoolKey(Json.create(i)));
+        }
+        Assert.assertEquals(1000, constantPool.dumpConstants().keys().length);
+
+        for (int i = 0; i < 1000; i++) {
+            constantPool.getConstantId(new ConstantPoolKey(Json.create(i)));
+        }
+        Assert.assertFalse(constantPool.hasNewConstants());
+    }
 }
@@ -356,6 +356,102 @@ public class StateTreeTest {
         Assert.assertSame(grandChild, tree.getNodeById(grandChildId));
     }
 
+    @Test
+    public void manyNodesAttachedAndDetached_nodesFoundById_idsNotReused() {
+        ElementChildrenList children = tree.getRootNode()
+                .getFeature(ElementChildrenList.class);
+        List<StateNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            StateNode node = new StateNode(ElementChildrenList.class);
+            children.add(i, node);
+            nodes.add(node);
+        }
+        for (int i = 198; i >= 0; i -= 2) {
+            children.remove(i);
+        }
+
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            StateNode node = nodes.get(i);
+            ids.add(node.getId());
+            if (i % 2 == 0) {
+                Assert.assertNull(tree.getNodeById(node.getId()));
+            } else {
+                Assert.assertSame(node, tree.getNodeById(node.getId()));
+            }
+        }
+
+        StateNode node = new StateNode(ElementChildrenList.class);
+        children.add(0, node);
+        Assert.assertFalse("The id of a detached node should not be reused",
+                ids.contains(node.getId()));
+        Assert.assertSame(node, tree.getNodeById(node.getId()));
+    }
+
+    @Test
+    public void dirtyNodeMovedToOtherTree_collectedByOtherTree() {
+        StateNode node = StateNodeTest.createEmptyNode();
+        StateNodeTest.setParent(node, tree.getRootNode());
+        Assert.assertTrue(tree.collectDirtyNodes().contains(node));
+
+        node.removeFromTree();
+
+        StateTree anotherTree = new StateTree(new UI().getInternals(),
+                ElementChildrenList.class);
+        StateNodeTest.setParent(node, anotherTree.getRootNode());
+
+        Assert.assertFalse(tree.collectDirtyNodes().contains(node));
+        Assert.assertTrue(anotherTree.collectDirtyNodes().contains(node));
+    }
+
+    @Test
+    public void featureCounts_updatedOnAttachDetachAndInitialization() {
+        int nodeCount = tree.getNodeCount();
+        Integer initialCount = tree.getFeatureCounts()
+                .get(ElementAttributeMap.class);
+
+        StateNode node = new StateNode(ElementChildrenList.class,
+                ElementAttributeMap.class);
+        ElementChildrenList children = tree.getRootNode()
+                .getFeature(ElementChildrenList.class);
+        children.add(0, node);
+
+        Assert.assertEquals(nodeCount + 1, tree.getNodeCount());
+        Assert.assertEquals(initialCount,
+                tree.getFeatureCounts().get(ElementAttributeMap.class));
+
+        node.getFeature(ElementAttributeMap.class);
+        Assert.assertEquals(
+                Integer.valueOf(
+                        initialCount == null ? 1 : initialCount + 1),
+                tree.getFeatureCounts().get(ElementAttributeMap.class));
+
+        children.remove(0);
+        Assert.assertEquals(nodeCount, tree.getNodeCount());
+        Assert.assertEquals(initialCount,
+                tree.getFeatureCounts().get(ElementAttributeMap.class));
+    }
+
+    @Test
+    public void featureCounts_nodeAttachedBeforeFirstRequest_countedOnce() {
+        StateNode node = new StateNode(ElementChildrenList.class,
+                ElementAttributeMap.class);
+        node.getFeature(ElementAttributeMap.class);
+        ElementChildrenList children = tree.getRootNode()
+                .getFeature(ElementChildrenList.class);
+        children.add(0, node);
+
+        Integer count = tree.getFeatureCounts()
+                .get(ElementAttributeMap.class);
+        Assert.assertNotNull(count);
+
+        children.remove(0);
+        Integer countAfterDetach = tree.getFeatureCounts()
+                .get(ElementAttributeMap.class);
+        Assert.assertEquals(count.intValue() - 1,
+                countAfterDetach == null ? 0 : countAfterDetach.intValue());
+    }
+
     @Test
     public void detachedNodeGarbageCollected() throws InterruptedException {
         StateNode child = new StateNode(ElementChildrenList.class);
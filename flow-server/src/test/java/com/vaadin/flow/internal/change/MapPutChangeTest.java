@@ -19,6 +19,7 @@ package com.vaadin.flow.internal.change;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateNodeTest;
 import com.vaadin.flow.internal.change.MapPutChange;
@@ -29,6 +30,7 @@ import com.vaadin.flow.internal.nodefeature.NodeMap;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 import elemental.json.JsonType;
 import elemental.json.JsonValue;
@@ -55,6 +57,71 @@ public class MapPutChangeTest {
                 json.getString(JsonConstants.CHANGE_PUT_VALUE));
     }
 
+    @Test
+    public void testCompactJson() {
+        ChangeKeyTable keys = new ChangeKeyTable();
+        MapPutChange change = new MapPutChange(feature, "some", "string");
+        StateNode value = StateNodeTest.createEmptyNode("value");
+        MapPutChange nodeChange = new MapPutChange(feature, "some", value);
+
+        JsonArray json = (JsonArray) change.toCompactJson(null, keys);
+        JsonArray nodeJson = (JsonArray) nodeChange.toCompactJson(null, keys);
+
+        Assert.assertEquals(change.getNode().getId(), (int) json.getNumber(0));
+        Assert.assertEquals(JsonConstants.CHANGE_COMPACT_PUT,
+                (int) json.getNumber(1));
+        Assert.assertEquals(NodeFeatureRegistry.getId(feature.getClass()),
+                (int) json.getNumber(2));
+        Assert.assertEquals(0, (int) json.getNumber(3));
+        Assert.assertEquals("string", json.getString(4));
+
+        Assert.assertEquals(JsonConstants.CHANGE_COMPACT_PUT_NODE,
+                (int) nodeJson.getNumber(1));
+        Assert.assertEquals(0, (int) nodeJson.getNumber(3));
+        Assert.assertEquals(value.getId(), (int) nodeJson.getNumber(4));
+
+        Assert.assertEquals(1, keys.size());
+        Assert.assertEquals("some", keys.toJson().getString(0));
+    }
+
+    @Test
+    public void testCompactJson_noCompactFormat_objectFormatUsed() {
+        NodeChange change = new NodeChange(feature.getNode()) {
+            @Override
+            protected void populateJson(JsonObject json,
+                    ConstantPool constantPool) {
+                json.put(JsonConstants.CHANGE_TYPE, "custom");
+            }
+        };
+
+        JsonValue json = change.toCompactJson(null, new ChangeKeyTable());
+
+        Assert.assertSame(JsonType.OBJECT, json.getType());
+        Assert.assertEquals("custom", ((JsonObject) json)
+                .getString(JsonConstants.CHANGE_TYPE));
+    }
+
+    @Test
+    public void testCompactJson_featureChangeWithoutCompactFormat_objectFormatUsed() {
+        NodeChange change = new NodeFeatureChange(feature) {
+            @Override
+            protected void populateJson(JsonObject json,
+                    ConstantPool constantPool) {
+                super.populateJson(json, constantPool);
+                json.put(JsonConstants.CHANGE_TYPE, "custom");
+            }
+        };
+
+        JsonValue json = change.toCompactJson(null, new ChangeKeyTable());
+
+        Assert.assertSame(JsonType.OBJECT, json.getType());
+        Assert.assertEquals("custom", ((JsonObject) json)
+                .getString(JsonConstants.CHANGE_TYPE));
+        Assert.assertEquals(NodeFeatureRegistry.getId(feature.getClass()),
+                (int) ((JsonObject) json)
+                        .getNumber(JsonConstants.CHANGE_FEATURE));
+    }
+
     @Test
     public void testJsonValueTypes() {
         JsonValue stringValue = getValue("string");
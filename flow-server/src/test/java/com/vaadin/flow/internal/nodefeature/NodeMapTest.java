@@ -361,6 +361,23 @@ public class NodeMapTest
         Assert.assertTrue(nodeMap.usesSingleMap());
     }
 
+    @Test
+    public void remove_singleValue_emptyAndReusable() {
+        nodeMap.put("foo", "bar");
+
+        Assert.assertNull(nodeMap.remove("baz"));
+        Assert.assertTrue(nodeMap.usesSingleMap());
+        Assert.assertEquals("bar", nodeMap.remove("foo"));
+        Assert.assertFalse(nodeMap.usesSingleMap());
+        Assert.assertFalse(nodeMap.contains("foo"));
+        Assert.assertEquals(0, nodeMap.keySet().size());
+
+        nodeMap.put("baz", "qux");
+
+        Assert.assertTrue(nodeMap.usesSingleMap());
+        Assert.assertEquals("qux", nodeMap.get("baz"));
+    }
+
     @Test
     public void streamSingleNullValue() {
         nodeMap.put("foo", null);
@@ -372,4 +389,37 @@ public class NodeMapTest
                     "Should not happen, but forEachChild shouldn't explode either");
         });
     }
+
+    @Test
+    public void put_fewValues_useArrayMap() {
+        for (int i = 0; i < 8; i++) {
+            nodeMap.put(KEY + i, "value" + i);
+        }
+
+        Assert.assertTrue(nodeMap.usesArrayMap());
+        for (int i = 0; i < 8; i++) {
+            Assert.assertEquals("value" + i, nodeMap.get(KEY + i));
+        }
+        Assert.assertEquals(8, nodeMap.keySet().size());
+        Assert.assertTrue(nodeMap.keySet().contains(KEY + 7));
+
+        nodeMap.remove(KEY + 3);
+
+        Assert.assertFalse(nodeMap.contains(KEY + 3));
+        Assert.assertEquals("value4", nodeMap.get(KEY + 4));
+        Assert.assertEquals(7, nodeMap.keySet().size());
+    }
+
+    @Test
+    public void put_manyValues_useHashMap() {
+        for (int i = 0; i < 9; i++) {
+            nodeMap.put(KEY + i, "value" + i);
+        }
+
+        Assert.assertFalse(nodeMap.usesSingleMap());
+        Assert.assertFalse(nodeMap.usesArrayMap());
+        for (int i = 0; i < 9; i++) {
+            Assert.assertEquals("value" + i, nodeMap.get(KEY + i));
+        }
+    }
 }
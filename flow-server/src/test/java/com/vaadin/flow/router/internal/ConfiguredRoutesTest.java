@@ -8,6 +8,9 @@ import org.junit.Test;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.router.BeforeEvent;
+import com.vaadin.flow.router.HasUrlParameter;
+import com.vaadin.flow.router.RouteMatch;
 import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.server.startup.RouteTarget;
 
@@ -70,10 +73,54 @@ public class ConfiguredRoutesTest {
                 immutable.getParentLayouts("", BaseTarget.class));
     }
 
+    @Test
+    public void getRouteMatch_longestMatchingPathIsFound() {
+        ConfigureRoutes mutable = new ConfigureRoutes();
+        mutable.setRoute("", BaseTarget.class);
+        mutable.setRoute("foo", ParameterTarget.class);
+        mutable.setRoute("foo/bar", BaseTarget.class);
+
+        ConfiguredRoutes immutable = new ConfiguredRoutes(mutable);
+
+        for (ConfiguredRoutes configuration : Arrays.asList(mutable,
+                immutable)) {
+            RouteMatch match = configuration
+                    .getRouteMatch(Arrays.asList("foo", "bar"));
+            Assert.assertEquals("foo/bar", match.getPath());
+            Assert.assertEquals(BaseTarget.class, match.getTarget());
+            Assert.assertTrue(match.getSegments().isEmpty());
+
+            match = configuration.getRouteMatch(Arrays.asList("foo", "baz"));
+            Assert.assertEquals("foo", match.getPath());
+            Assert.assertEquals(ParameterTarget.class, match.getTarget());
+            Assert.assertEquals(Collections.singletonList("baz"),
+                    match.getSegments());
+
+            match = configuration.getRouteMatch(Collections.singletonList(""));
+            Assert.assertEquals("", match.getPath());
+            Assert.assertEquals(BaseTarget.class, match.getTarget());
+
+            Assert.assertNull("Root route doesn't take parameters",
+                    configuration.getRouteMatch(
+                            Collections.singletonList("other")));
+            Assert.assertNull("Parameter route takes only one parameter",
+                    configuration.getRouteMatch(
+                            Arrays.asList("foo", "baz", "qux")));
+        }
+    }
+
     @Tag("div")
     public static class BaseTarget extends Component {
     }
 
+    @Tag("div")
+    public static class ParameterTarget extends Component
+            implements HasUrlParameter<String> {
+        @Override
+        public void setParameter(BeforeEvent event, String parameter) {
+        }
+    }
+
     @Tag("div")
     public static class ParentTarget extends Component implements RouterLayout {
     }
@@ -115,6 +115,12 @@ public class MockServletServiceSessionSetup {
             super.modifyIndexHtmlResponse(response);
         }
 
+        @Override
+        public boolean hasIndexHtmlRequestListeners() {
+            return !indexHtmlRequestListeners.isEmpty()
+                    || super.hasIndexHtmlRequestListeners();
+        }
+
         @Override
         public VaadinContext getContext() {
             if (context != null) {
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class SessionMemoryMonitorTest {
+
+    private SessionMemoryMonitor monitor = new SessionMemoryMonitor("test",
+            1000);
+
+    @Test
+    public void update_limitExceededOnlyWhenCrossingLimit() {
+        VaadinSession session = Mockito.mock(VaadinSession.class);
+
+        Assert.assertFalse(monitor.update(session, footprint(500)));
+        Assert.assertTrue(monitor.update(session, footprint(1500)));
+        Assert.assertFalse(monitor.update(session, footprint(2000)));
+        Assert.assertEquals(1, monitor.getSessionsOverLimitCount());
+
+        Assert.assertFalse(monitor.update(session, footprint(800)));
+        Assert.assertEquals(0, monitor.getSessionsOverLimitCount());
+        Assert.assertTrue(monitor.update(session, footprint(1200)));
+
+        Assert.assertEquals(2, monitor.getLimitExceededCount());
+    }
+
+    @Test
+    public void update_statisticsAggregatedOverSessions() {
+        VaadinSession session1 = Mockito.mock(VaadinSession.class);
+        VaadinSession session2 = Mockito.mock(VaadinSession.class);
+
+        monitor.update(session1, footprint(300));
+        monitor.update(session2, footprint(500));
+
+        Assert.assertEquals(2, monitor.getSessionCount());
+        Assert.assertEquals(800, monitor.getTotalEstimatedSize());
+        Assert.assertEquals(500, monitor.getLargestEstimatedSize());
+
+        monitor.remove(session2);
+
+        Assert.assertEquals(1, monitor.getSessionCount());
+        Assert.assertEquals(300, monitor.getLargestEstimatedSize());
+    }
+
+    private static SessionMemoryFootprint footprint(long estimatedSize) {
+        SessionMemoryFootprint footprint = Mockito
+                .mock(SessionMemoryFootprint.class);
+        Mockito.when(footprint.getEstimatedSize()).thenReturn(estimatedSize);
+        return footprint;
+    }
+}
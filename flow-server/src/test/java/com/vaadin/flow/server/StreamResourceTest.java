@@ -16,12 +16,19 @@
 package com.vaadin.flow.server;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import javax.servlet.ServletContext;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.function.ContentTypeResolver;
@@ -29,6 +36,9 @@ import com.vaadin.flow.server.StreamResource;
 
 public class StreamResourceTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void getDefaultContentTypeResolver() {
         StreamResource resource = new StreamResource("foo",
@@ -62,6 +72,39 @@ public class StreamResourceTest {
         assertContentType(resource, resource.getContentTypeResolver());
     }
 
+    @Test
+    public void fileResource_lengthAndLastModifiedFromFile()
+            throws IOException {
+        File file = temporaryFolder.newFile("foo.txt");
+        Files.write(file.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+
+        StreamResource resource = new StreamResource("foo", file);
+        resource.setContentLength(1);
+
+        Assert.assertEquals(file, resource.getFile().get());
+        Assert.assertEquals(7, resource.getContentLength());
+        Assert.assertEquals(file.lastModified(), resource.getLastModified());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        resource.getWriter().accept(out, null);
+        Assert.assertEquals("content",
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void streamResource_lengthAndLastModifiedUnknownByDefault() {
+        StreamResource resource = new StreamResource("foo",
+                () -> makeEmptyStream());
+
+        Assert.assertFalse(resource.getFile().isPresent());
+        Assert.assertEquals(-1, resource.getContentLength());
+        Assert.assertEquals(-1, resource.getLastModified());
+
+        resource.setContentLength(10).setLastModified(20);
+        Assert.assertEquals(10, resource.getContentLength());
+        Assert.assertEquals(20, resource.getLastModified());
+    }
+
     private void assertContentType(StreamResource resource,
             ContentTypeResolver resolver) {
         ServletContext context = Mockito.mock(ServletContext.class);
@@ -22,6 +22,9 @@ import javax.servlet.http.HttpSessionBindingEvent;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -230,6 +233,38 @@ public class VaadinServiceTest {
                 "Original value", CurrentInstance.get(String.class));
     }
 
+    @Test
+    public void accessCoalescingWindow_tasksRunInOneDrain()
+            throws Exception {
+        Properties initParameters = new Properties();
+        initParameters.setProperty(
+                Constants.SERVLET_PARAMETER_ACCESS_COALESCING_WINDOW, "100");
+        VaadinServlet servlet = new VaadinServlet();
+        servlet.init(new MockServletConfig(initParameters));
+        VaadinService service = servlet.getService();
+
+        MockVaadinSession session = new MockVaadinSession(service);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(service.accessSession(session, () -> {
+            }));
+        }
+        for (Future<Void> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        // Wait for the drain to release the lock
+        session.lock();
+        session.unlock();
+        service.destroy();
+
+        SessionAccessMetrics metrics = service.getSessionAccessMetrics();
+        Assert.assertEquals(1, metrics.getDrainCount());
+        Assert.assertEquals(3, metrics.getTaskCount());
+        Assert.assertEquals(3, metrics.getMaxQueueDepth());
+        Assert.assertEquals(3.0, metrics.getAverageTasksPerDrain(), 0);
+        Assert.assertTrue(metrics.getAverageLockWaitNanos() > 0);
+    }
+
     @Test
     public void testBootstrapListenersCreation() throws ServiceException {
         // in this test the actual behavior of the listeners is not evaluated.
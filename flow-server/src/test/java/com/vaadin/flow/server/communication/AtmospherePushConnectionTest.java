@@ -19,13 +19,22 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.concurrent.Future;
 
 import org.atmosphere.cpr.AtmosphereResource;
+import org.atmosphere.cpr.AtmosphereResourceEventListener;
+import org.atmosphere.cpr.Broadcaster;
 import org.easymock.EasyMock;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.MockServletServiceSessionSetup;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
 import com.vaadin.flow.server.communication.AtmospherePushConnection.State;
 
@@ -55,4 +64,55 @@ public class AtmospherePushConnectionTest {
 
         Assert.assertEquals(State.DISCONNECTED, connection.getState());
     }
+
+    @Test
+    public void pushBackpressure_pushesMergedUntilMessageDelivered()
+            throws Exception {
+        MockServletServiceSessionSetup mocks = new MockServletServiceSessionSetup();
+        mocks.getDeploymentConfiguration().setApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_PUSH_BACKPRESSURE, "true");
+        VaadinSession session = mocks.getSession();
+        session.lock();
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+
+        AtmosphereResource resource = Mockito.mock(AtmosphereResource.class);
+        Broadcaster broadcaster = Mockito.mock(Broadcaster.class);
+        Future<Object> inFlight = Mockito.mock(Future.class);
+        Mockito.when(resource.getBroadcaster()).thenReturn(broadcaster);
+        Mockito.when(broadcaster.broadcast(Matchers.anyString(),
+                Matchers.eq(resource))).thenReturn(inFlight);
+
+        AtmospherePushConnection connection = new AtmospherePushConnection(ui);
+        connection.connect(resource);
+        ArgumentCaptor<AtmosphereResourceEventListener> listener = ArgumentCaptor
+                .forClass(AtmosphereResourceEventListener.class);
+        Mockito.verify(resource).addEventListener(listener.capture());
+
+        connection.push();
+        ui.getElement().setAttribute("foo", "bar");
+        connection.push();
+        ui.getElement().setAttribute("foo", "baz");
+        connection.push();
+
+        Mockito.verify(broadcaster, Mockito.times(1))
+                .broadcast(Matchers.anyString(), Matchers.eq(resource));
+        Assert.assertEquals(2, connection.getMergedPushCount());
+        Assert.assertTrue(connection.getOutstandingMessageSize() > 0);
+
+        listener.getValue().onBroadcast(null);
+        // Run the access task pushing the held back changes
+        session.unlock();
+        session.lock();
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(broadcaster, Mockito.times(2))
+                .broadcast(message.capture(), Matchers.eq(resource));
+        Assert.assertTrue(message.getValue().contains("baz"));
+        Assert.assertEquals(0, connection.getDroppedMessageCount());
+
+        connection.connectionLost();
+        Assert.assertEquals(1, connection.getDroppedMessageCount());
+        session.unlock();
+    }
 }
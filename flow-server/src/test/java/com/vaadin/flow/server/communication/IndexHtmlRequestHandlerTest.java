@@ -126,6 +126,53 @@ public class IndexHtmlRequestHandlerTest {
                 indexHtml.contains("<base href=\"./..\""));
     }
 
+    @Test
+    public void serveIndexHtml_productionMode_templateOutputEqualsDocumentOutput()
+            throws IOException {
+        deploymentConfiguration.setProductionMode(true);
+
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/some/path"), response);
+        String templateHtml = responseOutput
+                .toString(StandardCharsets.UTF_8.name());
+
+        // A listener needs the document, so the template is not used
+        service.addIndexHtmlRequestListener(evt -> {
+        });
+        responseOutput.reset();
+        new IndexHtmlRequestHandler().synchronizedHandleRequest(session,
+                createVaadinRequest("/some/path"), response);
+        String documentHtml = responseOutput
+                .toString(StandardCharsets.UTF_8.name());
+
+        Assert.assertEquals(documentHtml, templateHtml);
+    }
+
+    @Test
+    public void serveIndexHtml_productionMode_templateIsReusedWithRequestBaseHref()
+            throws IOException {
+        deploymentConfiguration.setProductionMode(true);
+
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/"), response);
+        String indexHtml = responseOutput
+                .toString(StandardCharsets.UTF_8.name());
+        Assert.assertTrue("Response should have correct base href",
+                indexHtml.contains("<base href=\".\""));
+
+        responseOutput.reset();
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/some/path"), response);
+        indexHtml = responseOutput.toString(StandardCharsets.UTF_8.name());
+        Assert.assertTrue("Response should have correct base href",
+                indexHtml.contains("<base href=\"./..\""));
+        Assert.assertTrue(
+                "Response should have content from the index.html template",
+                indexHtml.contains("index.html template content"));
+        Assert.assertFalse("Response should not contain slot placeholders",
+                indexHtml.contains("vaadin-slot-"));
+    }
+
     @Test
     public void canHandleRequest_requestWithRootPath_handleRequest() {
         boolean canHandleRequest = indexHtmlRequestHandler
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.server.VaadinService;
+
+public class InlineDependencyCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private VaadinService service = Mockito.mock(VaadinService.class);
+
+    private AtomicInteger loads = new AtomicInteger();
+
+    private SerializableFunction<String, String> loader = url -> {
+        loads.incrementAndGet();
+        return "contents of " + url;
+    };
+
+    @Test
+    public void productionMode_contentsLoadedOnce() {
+        InlineDependencyCache cache = new InlineDependencyCache(true, 1000);
+
+        Assert.assertEquals("contents of foo.js",
+                cache.getContents("foo.js", service, loader));
+        Assert.assertEquals("contents of foo.js",
+                cache.getContents("foo.js", service, loader));
+
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals("contents of foo.js".length(), cache.getSize());
+    }
+
+    @Test
+    public void sizeExceeded_leastRecentlyUsedEvicted() {
+        // Room for two entries only
+        InlineDependencyCache cache = new InlineDependencyCache(true, 40);
+
+        cache.getContents("a.js", service, loader);
+        cache.getContents("b.js", service, loader);
+        // Make a.js the most recently used one
+        cache.getContents("a.js", service, loader);
+        cache.getContents("c.js", service, loader);
+        Assert.assertEquals(3, loads.get());
+
+        cache.getContents("a.js", service, loader);
+        Assert.assertEquals(3, loads.get());
+
+        cache.getContents("b.js", service, loader);
+        Assert.assertEquals(4, loads.get());
+        Assert.assertTrue(cache.getSize() <= cache.getMaxSize());
+    }
+
+    @Test
+    public void contentsLargerThanCache_notCached() {
+        InlineDependencyCache cache = new InlineDependencyCache(true, 5);
+
+        cache.getContents("a.js", service, loader);
+        cache.getContents("a.js", service, loader);
+
+        Assert.assertEquals(2, loads.get());
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void devMode_resourceNotAvailable_notCached() {
+        InlineDependencyCache cache = new InlineDependencyCache(false, 1000);
+
+        cache.getContents("http://example.com/a.js", service, loader);
+        cache.getContents("http://example.com/a.js", service, loader);
+
+        Assert.assertEquals(2, loads.get());
+        Assert.assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void devMode_fileChanged_contentsReloaded() throws IOException {
+        File file = temporaryFolder.newFile("a.js");
+        FileUtils.write(file, "foo", StandardCharsets.UTF_8);
+        Mockito.when(service.getResource("a.js"))
+                .thenReturn(file.toURI().toURL());
+
+        InlineDependencyCache cache = new InlineDependencyCache(false, 1000);
+
+        cache.getContents("a.js", service, loader);
+        cache.getContents("a.js", service, loader);
+        Assert.assertEquals(1, loads.get());
+
+        Assert.assertTrue(file.setLastModified(file.lastModified() + 2000));
+        cache.getContents("a.js", service, loader);
+        Assert.assertEquals(2, loads.get());
+    }
+}
@@ -21,10 +21,18 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletResponse;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
+import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.server.InputStreamFactory;
@@ -32,6 +40,7 @@ import com.vaadin.flow.server.MockServletConfig;
 import com.vaadin.flow.server.MockVaadinSession;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
+import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServlet;
 import com.vaadin.flow.server.VaadinServletRequest;
@@ -45,6 +54,9 @@ public class StreamResourceHandlerTest {
     private VaadinServletRequest request;
     private VaadinServletResponse response;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Before
     public void setUp() throws ServletException {
         ServletConfig servletConfig = new MockServletConfig();
@@ -110,4 +122,79 @@ public class StreamResourceHandlerTest {
         Mockito.verify(response)
                 .setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
     }
+
+    @Test
+    public void fileResource_rangeRequest_partialContentIsWritten()
+            throws IOException {
+        StreamResource res = new StreamResource("readme.md", createFile());
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=2-5");
+        Mockito.when(request.getDateHeader(Mockito.anyString()))
+                .thenReturn(-1L);
+        VaadinResponse vaadinResponse = Mockito.mock(VaadinResponse.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Mockito.when(vaadinResponse.getOutputStream()).thenReturn(out);
+
+        handler.handleRequest(session, request, vaadinResponse, res);
+
+        Mockito.verify(vaadinResponse)
+                .setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        Mockito.verify(vaadinResponse).setHeader("Content-Range",
+                "bytes 2-5/10");
+        Mockito.verify(vaadinResponse).setHeader("Content-Length", "4");
+        Assert.assertEquals("2345",
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void fileResource_rangeOutsideOfContent_rangeNotSatisfiable()
+            throws IOException {
+        StreamResource res = new StreamResource("readme.md", createFile());
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=20-");
+        Mockito.when(request.getDateHeader(Mockito.anyString()))
+                .thenReturn(-1L);
+        VaadinResponse vaadinResponse = Mockito.mock(VaadinResponse.class);
+
+        handler.handleRequest(session, request, vaadinResponse, res);
+
+        Mockito.verify(vaadinResponse).setStatus(
+                HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        Mockito.verify(vaadinResponse).setHeader("Content-Range",
+                "bytes */10");
+        Mockito.verify(vaadinResponse, Mockito.never()).getOutputStream();
+    }
+
+    @Test
+    public void resourceWithLengthAndLastModified_matchingETag_notModified()
+            throws IOException {
+        StreamResource res = new StreamResource("readme.md",
+                (StreamResourceWriter) (stream, session) -> stream
+                        .write(new byte[10]));
+        res.setContentLength(10).setLastModified(1000);
+        Mockito.when(request.getDateHeader(Mockito.anyString()))
+                .thenReturn(-1L);
+        VaadinResponse vaadinResponse = Mockito.mock(VaadinResponse.class);
+        Mockito.when(vaadinResponse.getOutputStream())
+                .thenReturn(new ByteArrayOutputStream());
+
+        handler.handleRequest(session, request, vaadinResponse, res);
+        ArgumentCaptor<String> eTag = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(vaadinResponse).setHeader(Mockito.eq("ETag"),
+                eTag.capture());
+
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn("\"other\", " + eTag.getValue());
+        vaadinResponse = Mockito.mock(VaadinResponse.class);
+        handler.handleRequest(session, request, vaadinResponse, res);
+
+        Mockito.verify(vaadinResponse)
+                .setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        Mockito.verify(vaadinResponse, Mockito.never()).getOutputStream();
+    }
+
+    private File createFile() throws IOException {
+        File file = temporaryFolder.newFile("readme.md");
+        Files.write(file.toPath(),
+                "0123456789".getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.zip.DeflaterOutputStream;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class UidlCompressionTest {
+
+    private UidlCompression compression = new UidlCompression(true, 10);
+
+    @Test
+    public void compressionEnabled_statisticsRegisteredWithJmxUntilDestroy()
+            throws Exception {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                Constants.SERVLET_PARAMETER_UIDL_COMPRESSION, "true");
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        service.init();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(
+                "com.vaadin.flow:type=UidlCompression,service="
+                        + ObjectName.quote(
+                                String.valueOf(service.getServiceName())));
+        try {
+            UidlCompression.get(service).compress("data".getBytes(UTF_8));
+
+            Assert.assertEquals(1L,
+                    server.getAttribute(name, "CompressedCount"));
+        } finally {
+            service.destroy();
+        }
+        Assert.assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void compress_decompressesToOriginal() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.append("{\"node\":").append(i).append(",\"type\":\"put\"}");
+        }
+        String json = builder.toString();
+
+        byte[] compressed = compression.compress(json.getBytes(UTF_8));
+
+        Assert.assertEquals(json,
+                UidlResponseOutputStreamTest.decompress(toStream(compressed)));
+        Assert.assertTrue(compressed.length < json.length());
+    }
+
+    @Test
+    public void compress_deflaterReused_eachResultComplete()
+            throws IOException {
+        byte[] first = compression.compress("first".getBytes(UTF_8));
+        byte[] second = compression.compress("second".getBytes(UTF_8));
+
+        Assert.assertEquals("first",
+                UidlResponseOutputStreamTest.decompress(toStream(first)));
+        Assert.assertEquals("second",
+                UidlResponseOutputStreamTest.decompress(toStream(second)));
+    }
+
+    @Test
+    public void outputStream_finishDoesNotCloseTarget() throws IOException {
+        ByteArrayOutputStream target = Mockito
+                .spy(new ByteArrayOutputStream());
+        DeflaterOutputStream stream = compression.createOutputStream(target);
+        stream.write("data".getBytes(UTF_8));
+        stream.finish();
+
+        Mockito.verify(target, Mockito.never()).close();
+        Assert.assertEquals("data",
+                UidlResponseOutputStreamTest.decompress(target));
+    }
+
+    @Test
+    public void statistics() {
+        Assert.assertEquals(1, compression.getCompressionRatio(), 0);
+
+        byte[] data = new byte[1000];
+        byte[] compressed = compression.compress(data);
+
+        Assert.assertEquals(1, compression.getCompressedCount());
+        Assert.assertEquals(1000, compression.getUncompressedBytes());
+        Assert.assertEquals(compressed.length,
+                compression.getCompressedBytes());
+        Assert.assertEquals(compressed.length / 1000.0,
+                compression.getCompressionRatio(), 0.0001);
+    }
+
+    @Test
+    public void isAccepted_dependsOnAcceptEncodingAndConfiguration() {
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getHeader("Accept-Encoding"))
+                .thenReturn("gzip, deflate, br");
+
+        Assert.assertTrue(compression.isAccepted(request));
+        Assert.assertFalse(
+                new UidlCompression(false, 10).isAccepted(request));
+
+        Mockito.when(request.getHeader("Accept-Encoding"))
+                .thenReturn("gzip;q=0");
+        Assert.assertFalse(compression.isAccepted(request));
+    }
+
+    private static ByteArrayOutputStream toStream(byte[] data)
+            throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(data);
+        return stream;
+    }
+}
@@ -17,22 +17,34 @@
 
 package com.vaadin.flow.server.communication;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Matchers;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.server.DefaultDeploymentConfiguration;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.server.SynchronizedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServletService;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
 import com.vaadin.flow.shared.ApplicationConstants;
 
 public class UidlRequestHandlerTest {
@@ -99,4 +111,127 @@ public class UidlRequestHandlerTest {
                 responseContent);
     }
 
+    @Test
+    public void handleRequest_messageReadBeforeSessionLocked()
+            throws IOException {
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getDeploymentConfiguration()).thenReturn(
+                new DefaultDeploymentConfiguration(getClass(),
+                        new Properties()));
+        VaadinSession session = Mockito.mock(VaadinSession.class);
+        Mockito.when(session.getService()).thenReturn(service);
+        Mockito.when(service.findUI(request)).thenReturn(null);
+
+        Mockito.when(request.getService()).thenReturn(service);
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(RequestType.UIDL.getIdentifier());
+        Mockito.when(request.getReader()).thenReturn(new BufferedReader(
+                new StringReader("{\"" + ApplicationConstants.SERVER_SYNC_ID
+                        + "\":0,\"" + ApplicationConstants.CLIENT_TO_SERVER_ID
+                        + "\":0,\"" + ApplicationConstants.RPC_INVOCATIONS
+                        + "\":[]}")));
+
+        Assert.assertTrue(handler.handleRequest(session, request, response));
+
+        InOrder inOrder = Mockito.inOrder(request, session);
+        inOrder.verify(request).getReader();
+        inOrder.verify(session).lock();
+        inOrder.verify(session).unlock();
+        inOrder.verify(request).setAttribute(
+                Matchers.eq(SynchronizedRequestHandler.LOCK_HOLD_TIME_ATTRIBUTE),
+                Matchers.any(Long.class));
+    }
+
+    @Test
+    public void handleRequest_synchronizedHandleRequestOverridden_overrideCalledWithSessionLocked()
+            throws IOException {
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getDeploymentConfiguration()).thenReturn(
+                new DefaultDeploymentConfiguration(getClass(),
+                        new Properties()));
+        VaadinSession session = Mockito.mock(VaadinSession.class);
+        Mockito.when(session.getService()).thenReturn(service);
+        Mockito.when(service.findUI(request)).thenReturn(null);
+
+        Mockito.when(request.getService()).thenReturn(service);
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(RequestType.UIDL.getIdentifier());
+        Mockito.when(request.getReader()).thenReturn(new BufferedReader(
+                new StringReader("{\"" + ApplicationConstants.SERVER_SYNC_ID
+                        + "\":0,\"" + ApplicationConstants.CLIENT_TO_SERVER_ID
+                        + "\":0,\"" + ApplicationConstants.RPC_INVOCATIONS
+                        + "\":[]}")));
+
+        AtomicBoolean locked = new AtomicBoolean();
+        Mockito.doAnswer(invocation -> {
+            locked.set(true);
+            return null;
+        }).when(session).lock();
+        List<Boolean> lockedWhenHandled = new ArrayList<>();
+        handler = new UidlRequestHandler() {
+            @Override
+            public boolean synchronizedHandleRequest(VaadinSession session,
+                    VaadinRequest request, VaadinResponse response)
+                    throws IOException {
+                lockedWhenHandled.add(locked.get());
+                return super.synchronizedHandleRequest(session, request,
+                        response);
+            }
+        };
+
+        Assert.assertTrue(handler.handleRequest(session, request, response));
+
+        Assert.assertEquals(Collections.singletonList(true),
+                lockedWhenHandled);
+        InOrder inOrder = Mockito.inOrder(request, session);
+        inOrder.verify(request).getReader();
+        inOrder.verify(session).lock();
+    }
+
+    @Test
+    public void handleRequest_handleRpcOverridden_messageReadByOverride()
+            throws IOException {
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getDeploymentConfiguration()).thenReturn(
+                new DefaultDeploymentConfiguration(getClass(),
+                        new Properties()));
+        VaadinSession session = Mockito.mock(VaadinSession.class);
+        Mockito.when(session.getService()).thenReturn(service);
+        UI ui = Mockito.mock(UI.class);
+        Mockito.when(service.findUI(request)).thenReturn(ui);
+
+        Mockito.when(request.getService()).thenReturn(service);
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(RequestType.UIDL.getIdentifier());
+
+        AtomicBoolean locked = new AtomicBoolean();
+        Mockito.doAnswer(invocation -> {
+            locked.set(true);
+            return null;
+        }).when(session).lock();
+        List<Boolean> lockedWhenHandled = new ArrayList<>();
+        handler = new UidlRequestHandler() {
+            @Override
+            protected ServerRpcHandler createRpcHandler() {
+                return new ServerRpcHandler() {
+                    @Override
+                    public void handleRpc(UI ui, Reader reader,
+                            VaadinRequest request)
+                            throws InvalidUIDLSecurityKeyException {
+                        lockedWhenHandled.add(locked.get());
+                        throw new InvalidUIDLSecurityKeyException();
+                    }
+                };
+            }
+        };
+
+        Assert.assertTrue(handler.handleRequest(session, request, response));
+
+        Assert.assertEquals(Collections.singletonList(true),
+                lockedWhenHandled);
+        Mockito.verify(request, Mockito.never()).getReader();
+    }
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.shared.JsonConstants;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class UidlResponseOutputStreamTest {
+
+    private VaadinResponse response;
+    private ByteArrayOutputStream responseContent;
+
+    @Before
+    public void setup() throws IOException {
+        response = Mockito.mock(VaadinResponse.class);
+        responseContent = new ByteArrayOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(responseContent);
+    }
+
+    @Test
+    public void belowThreshold_nothingWrittenUntilFinished()
+            throws IOException {
+        UidlResponseOutputStream stream = new UidlResponseOutputStream(
+                response, 10, null);
+        stream.write("12345".getBytes(UTF_8));
+
+        Assert.assertFalse(stream.isCommitted());
+        Mockito.verify(response, Mockito.never()).getOutputStream();
+
+        stream.finish();
+
+        Assert.assertEquals("12345", responseContent.toString("UTF-8"));
+        Mockito.verify(response).setContentLength(5);
+        Mockito.verify(response)
+                .setContentType(JsonConstants.JSON_CONTENT_TYPE);
+    }
+
+    @Test
+    public void aboveThreshold_committedAndWrittenThrough()
+            throws IOException {
+        UidlResponseOutputStream stream = new UidlResponseOutputStream(
+                response, 3, null);
+        stream.write("12345".getBytes(UTF_8));
+
+        Assert.assertTrue(stream.isCommitted());
+        Assert.assertEquals("12345", responseContent.toString("UTF-8"));
+
+        stream.write('6');
+        stream.finish();
+
+        Assert.assertEquals("123456", responseContent.toString("UTF-8"));
+        Mockito.verify(response, Mockito.never())
+                .setContentLength(Mockito.anyInt());
+    }
+
+    @Test
+    public void discard_bufferedDataNotWritten() throws IOException {
+        UidlResponseOutputStream stream = new UidlResponseOutputStream(
+                response, 10, null);
+        stream.write("12345".getBytes(UTF_8));
+        stream.discard();
+        stream.write("67".getBytes(UTF_8));
+        stream.finish();
+
+        Assert.assertEquals("67", responseContent.toString("UTF-8"));
+    }
+
+    @Test
+    public void compressionBelowThreshold_notCompressed() throws IOException {
+        UidlResponseOutputStream stream = new UidlResponseOutputStream(
+                response, 10, new UidlCompression(true, 6));
+        stream.write("12345".getBytes(UTF_8));
+        stream.finish();
+
+        Assert.assertEquals("12345", responseContent.toString("UTF-8"));
+        Mockito.verify(response, Mockito.never())
+                .setHeader("Content-Encoding", "gzip");
+    }
+
+    @Test
+    public void compressionAboveThreshold_bufferedResponseCompressed()
+            throws IOException {
+        UidlCompression compression = new UidlCompression(true, 3);
+        UidlResponseOutputStream stream = new UidlResponseOutputStream(
+                response, 10, compression);
+        stream.write("12345".getBytes(UTF_8));
+        stream.finish();
+
+        Assert.assertEquals("12345", decompress(responseContent));
+        Mockito.verify(response).setHeader("Content-Encoding", "gzip");
+        Mockito.verify(response).setContentLength(responseContent.size());
+        Assert.assertEquals(1, compression.getCompressedCount());
+    }
+
+    @Test
+    public void compressionAboveCommitThreshold_streamedResponseCompressed()
+            throws IOException {
+        UidlResponseOutputStream stream = new UidlResponseOutputStream(
+                response, 3, new UidlCompression(true, 3));
+        stream.write("12345".getBytes(UTF_8));
+
+        Assert.assertTrue(stream.isCommitted());
+
+        stream.write('6');
+        stream.finish();
+
+        Assert.assertEquals("123456", decompress(responseContent));
+        Mockito.verify(response).setHeader("Content-Encoding", "gzip");
+        Mockito.verify(response, Mockito.never())
+                .setContentLength(Mockito.anyInt());
+    }
+
+    @Test
+    public void closeWithoutFinish_deflaterReturnedToPool()
+            throws IOException {
+        UidlCompression compression = new UidlCompression(true, 3);
+        UidlResponseOutputStream stream = new UidlResponseOutputStream(
+                response, 3, compression);
+        stream.write("12345".getBytes(UTF_8));
+        int written = responseContent.size();
+
+        Assert.assertEquals(0, compression.getPooledDeflaterCount());
+
+        stream.close();
+
+        Assert.assertEquals(1, compression.getPooledDeflaterCount());
+        Assert.assertEquals(written, responseContent.size());
+        Assert.assertEquals(0, compression.getCompressedCount());
+    }
+
+    @Test
+    public void closeAfterFinish_deflaterReleasedOnce() throws IOException {
+        UidlCompression compression = new UidlCompression(true, 3);
+        UidlResponseOutputStream stream = new UidlResponseOutputStream(
+                response, 3, compression);
+        stream.write("12345".getBytes(UTF_8));
+        stream.finish();
+        stream.close();
+
+        Assert.assertEquals("12345", decompress(responseContent));
+        Assert.assertEquals(1, compression.getPooledDeflaterCount());
+    }
+
+    static String decompress(ByteArrayOutputStream compressed)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(compressed.toByteArray()))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toString("UTF-8");
+    }
+}
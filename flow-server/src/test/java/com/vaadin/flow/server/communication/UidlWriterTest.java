@@ -17,6 +17,7 @@ package com.vaadin.flow.server.communication;
 
 import javax.servlet.http.HttpServletRequest;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -47,6 +48,7 @@ import com.vaadin.flow.server.MockServletServiceSessionSetup;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
 
@@ -283,6 +285,53 @@ public class UidlWriterTest {
                 response.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
     }
 
+    @Test
+    public void writeUidl_streamedResponseContainsChangesAndDependencies()
+            throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        UidlWriter uidlWriter = new UidlWriter();
+
+        ui.add(new ActualComponent());
+        ui.getPage().executeJs("console.log($0)", "foo");
+
+        StringWriter writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, false, writer);
+        JsonObject response = Json.parse(writer.toString());
+
+        assertTrue(response.hasKey(ApplicationConstants.SERVER_SYNC_ID));
+        assertTrue(response.hasKey(ApplicationConstants.CLIENT_TO_SERVER_ID));
+        assertFalse(response.hasKey(ApplicationConstants.RESYNCHRONIZE_ID));
+        assertTrue(response.getArray("changes").length() > 0);
+        assertEquals(1,
+                response.getArray(JsonConstants.UIDL_KEY_EXECUTE).length());
+
+        Map<String, JsonObject> dependenciesMap = getDependenciesMap(response);
+        assertDependency(CSS_STYLE_NAME, CSS_STYLE_NAME, dependenciesMap);
+
+        // Nothing has changed, so nothing but the ids should be written
+        writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, false, writer);
+        response = Json.parse(writer.toString());
+
+        assertFalse(response.hasKey("changes"));
+        assertFalse(response.hasKey(JsonConstants.UIDL_KEY_EXECUTE));
+        assertFalse(response.hasKey(LoadMode.EAGER.name()));
+    }
+
+    @Test
+    public void writeUidl_resynchronizationRequested_responseFieldContainsResynchronize()
+            throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        UidlWriter uidlWriter = new UidlWriter();
+
+        StringWriter writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, true, writer);
+        JsonObject response = Json.parse(writer.toString());
+
+        assertTrue("Response resynchronize field is set to true",
+                response.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
+    }
+
     private void assertInlineDependencies(List<JsonObject> inlineDependencies) {
         assertThat("Should have an inline dependency", inlineDependencies,
                 hasSize(1));
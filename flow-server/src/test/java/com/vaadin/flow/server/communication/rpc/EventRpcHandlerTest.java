@@ -24,9 +24,11 @@ import com.vaadin.flow.component.ComponentTest.TestComponent;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.shared.CompactRpcCodec;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 public class EventRpcHandlerTest {
@@ -61,6 +63,27 @@ public class EventRpcHandlerTest {
         Assert.assertEquals(123, invocationData.get());
     }
 
+    @Test
+    public void compactElementEventData_handledWithoutDecoding() {
+        TestComponent c = new TestComponent();
+        Element element = c.getElement();
+        UI ui = new UI();
+        ui.add(c);
+        AtomicInteger invocationData = new AtomicInteger(0);
+
+        element.addEventListener("test-event", e -> invocationData
+                .addAndGet((int) e.getEventData().getNumber("nr")));
+        JsonObject eventData = Json.createObject();
+        eventData.put("nr", 123);
+        JsonObject invocation = createElementEventInvocation(element,
+                "test-event", eventData);
+        invocation.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
+
+        new EventRpcHandler().handleCompact(ui,
+                (JsonArray) CompactRpcCodec.encode(invocation));
+        Assert.assertEquals(123, invocationData.get());
+    }
+
     private static JsonObject createElementEventInvocation(Element element,
             String eventType, JsonObject eventData) {
         StateNode node = element.getNode();
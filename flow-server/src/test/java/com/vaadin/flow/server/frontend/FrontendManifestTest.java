@@ -0,0 +1,145 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.VaadinContext;
+import com.vaadin.flow.server.VaadinService;
+
+import static com.vaadin.flow.server.Constants.SERVLET_PARAMETER_STATISTICS_JSON;
+import static com.vaadin.flow.server.Constants.STATISTICS_JSON_DEFAULT;
+import static com.vaadin.flow.server.Constants.VAADIN_SERVLET_RESOURCES;
+
+public class FrontendManifestTest {
+
+    private static final String STATS = "{\n"
+            + "  \"hash\": \"64bb80639ef116681818\",\n"
+            + "  \"assetsByChunkName\" :{\n"
+            + "    \"index\": \"build/index-1111.cache.js\",\n"
+            + "    \"bundle\": [\n"
+            + "      \"build/bundle.js.map\",\n"
+            + "      \"build/bundle.js\"\n" + "    ]\n" + "  },\n"
+            + "  \"modules\": [\n" + "    {\n"
+            + "      \"name\": \"./my-view.js\",\n"
+            + "      \"source\": \"my view source\"\n" + "    }\n" + "  ]\n"
+            + "}";
+
+    private VaadinService service;
+    private DeploymentConfiguration configuration;
+    private ClassLoader classLoader;
+
+    @Before
+    public void setup() {
+        service = Mockito.mock(VaadinService.class);
+        configuration = Mockito.mock(DeploymentConfiguration.class);
+        classLoader = Mockito.mock(ClassLoader.class);
+        VaadinContext context = Mockito.mock(VaadinContext.class);
+        Map<Class<?>, Object> attributes = new HashMap<>();
+
+        Mockito.when(service.getClassLoader()).thenReturn(classLoader);
+        Mockito.when(service.getContext()).thenReturn(context);
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(configuration);
+        Mockito.when(configuration.isProductionMode()).thenReturn(true);
+        Mockito.when(configuration.getStringProperty(
+                SERVLET_PARAMETER_STATISTICS_JSON,
+                VAADIN_SERVLET_RESOURCES + STATISTICS_JSON_DEFAULT))
+                .thenReturn(VAADIN_SERVLET_RESOURCES + STATISTICS_JSON_DEFAULT);
+        Mockito.when(context.getAttribute(Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> attributes.computeIfAbsent(
+                        (Class<?>) invocation.getArguments()[0],
+                        key -> ((Supplier<?>) invocation.getArguments()[1])
+                                .get()));
+        Mockito.when(context.getAttribute(Mockito.<Class<Object>> any()))
+                .thenAnswer(invocation -> attributes
+                        .get(invocation.getArguments()[0]));
+        Mockito.when(classLoader.getResourceAsStream(
+                VAADIN_SERVLET_RESOURCES + STATISTICS_JSON_DEFAULT))
+                .thenAnswer(invocation -> new ByteArrayInputStream(
+                        STATS.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void productionMode_manifestLoadedOnce() throws IOException {
+        FrontendManifest manifest = FrontendManifest.get(service);
+
+        Assert.assertEquals("64bb80639ef116681818", manifest.getHash());
+        Assert.assertSame(manifest, FrontendManifest.get(service));
+        Mockito.verify(classLoader, Mockito.times(1)).getResourceAsStream(
+                VAADIN_SERVLET_RESOURCES + STATISTICS_JSON_DEFAULT);
+    }
+
+    @Test
+    public void productionMode_externalStats_manifestNotReloaded()
+            throws IOException {
+        Assert.assertTrue(FrontendManifest.isLoadNeeded(service));
+        FrontendManifest manifest = FrontendManifest.get(service);
+
+        Mockito.when(configuration.isStatsExternal()).thenReturn(true);
+
+        Assert.assertFalse(FrontendManifest.isLoadNeeded(service));
+        Assert.assertSame(manifest, FrontendManifest.get(service));
+        Mockito.verify(configuration, Mockito.never()).getExternalStatsUrl();
+    }
+
+    @Test
+    public void assetsByChunkName_stringAndArrayValuesIndexed()
+            throws IOException {
+        Map<String, List<String>> assets = FrontendManifest
+                .getAssetsByChunkName(service);
+
+        Assert.assertEquals(2, assets.size());
+        Assert.assertEquals(
+                Collections.singletonList("build/index-1111.cache.js"),
+                assets.get("index"));
+        Assert.assertEquals(2, assets.get("bundle").size());
+        Assert.assertEquals("build/bundle.js", assets.get("bundle").get(1));
+    }
+
+    @Test
+    public void moduleSource_foundByModuleUrl() throws IOException {
+        FrontendManifest manifest = FrontendManifest.get(service);
+
+        Assert.assertEquals("my view source",
+                manifest.getModuleSource("./my-view.js"));
+        Assert.assertEquals("my view source",
+                manifest.getModuleSource("./frontend/my-view"));
+        Assert.assertNull(manifest.getModuleSource("./other-view.js"));
+    }
+
+    @Test
+    public void noStatsFile_manifestIsNull() throws IOException {
+        Mockito.when(classLoader.getResourceAsStream(Mockito.anyString()))
+                .thenReturn(null);
+
+        Assert.assertNull(FrontendManifest.get(service));
+        Assert.assertNull(FrontendManifest.getAssetsByChunkName(service));
+    }
+}
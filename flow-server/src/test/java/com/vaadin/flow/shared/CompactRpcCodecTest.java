@@ -0,0 +1,118 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.shared;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
+
+public class CompactRpcCodecTest {
+
+    @Test
+    public void mapSync_encodedPositionally_nullValueKept() {
+        JsonObject invocation = Json.createObject();
+        invocation.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_MAP_SYNC);
+        invocation.put(JsonConstants.RPC_NODE, 3);
+        invocation.put(JsonConstants.RPC_FEATURE, 1);
+        invocation.put(JsonConstants.RPC_PROPERTY, "value");
+        invocation.put(JsonConstants.RPC_PROPERTY_VALUE, Json.createNull());
+
+        JsonValue encoded = CompactRpcCodec.encode(invocation);
+
+        Assert.assertEquals("[2,15,3,1,\"value\",null]", encoded.toJson());
+
+        JsonObject decoded = CompactRpcCodec.decode((JsonArray) encoded);
+        Assert.assertEquals(invocation.toJson(), decoded.toJson());
+    }
+
+    @Test
+    public void navigation_missingState_notAddedWhenDecoding() {
+        JsonObject invocation = Json.createObject();
+        invocation.put(JsonConstants.RPC_TYPE,
+                JsonConstants.RPC_TYPE_NAVIGATION);
+        invocation.put(JsonConstants.RPC_NAVIGATION_LOCATION, "foo/bar");
+        invocation.put(JsonConstants.RPC_NAVIGATION_ROUTERLINK, true);
+
+        JsonValue encoded = CompactRpcCodec.encode(invocation);
+
+        Assert.assertEquals("[1,5,\"foo/bar\",true]", encoded.toJson());
+
+        JsonObject decoded = CompactRpcCodec.decode((JsonArray) encoded);
+        Assert.assertFalse(
+                decoded.hasKey(JsonConstants.RPC_NAVIGATION_STATE));
+        Assert.assertEquals(invocation.toJson(), decoded.toJson());
+    }
+
+    @Test
+    public void unknownProperty_notEncoded() {
+        JsonObject invocation = Json.createObject();
+        invocation.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
+        invocation.put(JsonConstants.RPC_NODE, 1);
+        invocation.put(JsonConstants.RPC_EVENT_TYPE, "click");
+        invocation.put("extra", "value");
+
+        Assert.assertSame(invocation, CompactRpcCodec.encode(invocation));
+    }
+
+    @Test
+    public void unknownPropertyAndMissingLayoutProperty_notEncoded() {
+        JsonObject invocation = Json.createObject();
+        invocation.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
+        invocation.put(JsonConstants.RPC_NODE, 1);
+        invocation.put("extra", "value");
+
+        Assert.assertSame(invocation, CompactRpcCodec.encode(invocation));
+    }
+
+    @Test
+    public void typeWithoutLayout_notEncoded() {
+        JsonObject invocation = Json.createObject();
+        invocation.put(JsonConstants.RPC_TYPE, "custom");
+        invocation.put(JsonConstants.RPC_NODE, 1);
+
+        JsonValue encoded = CompactRpcCodec.encode(invocation);
+
+        Assert.assertEquals(JsonType.OBJECT, encoded.getType());
+    }
+
+    @Test
+    public void get_valuesReadInPlace_missingPropertyNull() {
+        JsonArray invocation = Json.parse("[1,5,\"foo/bar\",true]");
+
+        Assert.assertEquals(JsonConstants.RPC_TYPE_NAVIGATION,
+                CompactRpcCodec.getType(invocation));
+        Assert.assertEquals("foo/bar", CompactRpcCodec
+                .get(invocation, JsonConstants.RPC_NAVIGATION_LOCATION)
+                .asString());
+        Assert.assertNull(CompactRpcCodec.get(invocation,
+                JsonConstants.RPC_NAVIGATION_STATE));
+        Assert.assertTrue(CompactRpcCodec
+                .get(invocation, JsonConstants.RPC_NAVIGATION_ROUTERLINK)
+                .asBoolean());
+        Assert.assertNull(
+                CompactRpcCodec.get(invocation, JsonConstants.RPC_NODE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decode_unknownType_throws() {
+        CompactRpcCodec.decode(Json.parse("[99,0]"));
+    }
+}